@@ -1,14 +1,14 @@
 package entities;
 
 import java.applet.AudioClip;
-import java.awt.Graphics;
-import java.awt.Point;
 import java.awt.image.BufferedImage;
 
 import enums.ItemState;
 import items.Item;
 import main.Game;
 import map.Chunk;
+import map.ChunkMember;
+import map.RenderSnapshot;
 
 /**
  * Abstract Entity class for all entities in Project Z.
@@ -17,7 +17,7 @@ import map.Chunk;
  * @since 1.0
  * @version 1.0
  */
-public abstract class Entity implements Comparable<Entity> {
+public abstract class Entity implements Comparable<Entity>, ChunkMember {
 
 	/**
 	 * The height of the entity in pixels.
@@ -29,7 +29,11 @@ public abstract class Entity implements Comparable<Entity> {
 	 */
 	protected int width;
 
-	protected Point position;
+	/**
+	 * The coordinates of the entity in the map in pixels.
+	 */
+	protected int x;
+	protected int y;
 
 	/**
 	 * The rotation of the entity in radians.
@@ -38,6 +42,10 @@ public abstract class Entity implements Comparable<Entity> {
 	protected int relativeDistance;
 
 	protected int health;
+
+	/**
+	 * The entity's inventory. Only created once the entity is given an item.
+	 */
 	protected Inventory inventory;
 	protected boolean solid;
 
@@ -47,6 +55,38 @@ public abstract class Entity implements Comparable<Entity> {
 	protected Game game;
 	protected Chunk[][] chunkMap;
 
+	/**
+	 * The slot the entity occupies in its chunk's list (-1 if it is not in a
+	 * chunk).
+	 */
+	private int chunkIndex = -1;
+
+	/**
+	 * The chunk whose list the entity is in (null if it is not in a chunk).
+	 */
+	private Chunk chunk;
+
+	/**
+	 * The entity's handle in its map's entity registry.
+	 */
+	private int handle = EntityRegistry.NO_HANDLE;
+
+	/**
+	 * The point the entity was drawn around and its rotation on the last tick
+	 * it was captured, where it is drawn moving from in the next snapshot.
+	 */
+	private int capturedX;
+	private int capturedY;
+	private double capturedRotation;
+	private long capturedTick = -1;
+
+	/**
+	 * The point the entity is drawn moving from on the last tick it was
+	 * captured.
+	 */
+	private int capturedFromX;
+	private int capturedFromY;
+
 	/**
 	 * Constructs a new Entity object.
 	 * 
@@ -54,21 +94,23 @@ public abstract class Entity implements Comparable<Entity> {
 	 *            the height of the entity in pixels.
 	 * @param width
 	 *            the width of the entity in pixels.
-	 * @param position
-	 *            the coordinates of the entity in the map in terms of pixels.
+	 * @param x
+	 *            the x coordinate of the entity in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the entity in the map in pixels.
 	 * @param solid
 	 *            whether or not the entity is solid.
 	 * @param game
 	 *            the game to add the entity to.
 	 */
-	public Entity(int height, int width, Point position, boolean solid, Game game) {
+	public Entity(int height, int width, int x, int y, boolean solid, Game game) {
 		this.height = height;
 		this.width = width;
-		this.position = position;
+		this.x = x;
+		this.y = y;
 		this.rotation = 0;
 
 		this.health = 100;
-		this.inventory = new Inventory();
 		this.solid = solid;
 
 		this.game = game;
@@ -81,8 +123,10 @@ public abstract class Entity implements Comparable<Entity> {
 	 *            the height of the entity in pixels.
 	 * @param width
 	 *            the width of the entity in pixels.
-	 * @param position
-	 *            the coordinates of the entity in the map in terms of pixels.
+	 * @param x
+	 *            the x coordinate of the entity in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the entity in the map in pixels.
 	 * @param rotation
 	 *            the rotation of the entity in radians.
 	 * @param health
@@ -96,15 +140,15 @@ public abstract class Entity implements Comparable<Entity> {
 	 * @param game
 	 *            the game to add the entity to.
 	 */
-	public Entity(int height, int width, Point position, double rotation, int health, boolean solid,
+	public Entity(int height, int width, int x, int y, double rotation, int health, boolean solid,
 			BufferedImage[] images, AudioClip[] clips, Game game) {
 		this.height = height;
 		this.width = width;
-		this.position = position;
+		this.x = x;
+		this.y = y;
 		this.rotation = rotation;
 
 		this.health = health;
-		this.inventory = new Inventory();
 		this.solid = solid;
 
 		this.images = images;
@@ -124,16 +168,18 @@ public abstract class Entity implements Comparable<Entity> {
 
 	public void damage(int health) {
 		// Decrease the entity's health by the amount of damage
-		this.health -= health;
+		this.setHealth(this.getHealth() - health);
 
 		// Once the entity's health reaches zero, drop all of the items in the
 		// entity's inventory in the position of the entity
 		// Remove the entity from the chunk
-		if (this.health <= 0) {
+		if (this.getHealth() <= 0) {
 			for (int item = 0; item < Inventory.NO_OF_ITEMS; item++) {
 				this.dropItem(item);
 			}
-			this.chunkMap[this.position.x / 512][this.position.y / 512].remove(this);
+			if (this.chunk != null) {
+				this.chunk.destroy(this);
+			}
 		}
 
 		// Notify the world that the entity has been damaged in order to render
@@ -147,7 +193,7 @@ public abstract class Entity implements Comparable<Entity> {
 	 * @return whether or not the entity's inventory is full.
 	 */
 	public boolean isFull() {
-		return this.inventory.getNoOfItems() == Inventory.NO_OF_ITEMS;
+		return this.inventory != null && this.inventory.getNoOfItems() == Inventory.NO_OF_ITEMS;
 	}
 
 	/**
@@ -161,7 +207,7 @@ public abstract class Entity implements Comparable<Entity> {
 	 */
 	public int addItem(Item item) {
 		item.setState(ItemState.INVENTORY);
-		return this.inventory.add(item);
+		return this.getInventory().add(item);
 	}
 
 	/**
@@ -173,6 +219,9 @@ public abstract class Entity implements Comparable<Entity> {
 	 *         was not removed (meaning the Item was not found).
 	 */
 	public int removeItem(Item item) {
+		if (this.inventory == null) {
+			return -1;
+		}
 		return this.inventory.remove(item);
 	}
 
@@ -184,6 +233,9 @@ public abstract class Entity implements Comparable<Entity> {
 	 * @return the item in the item number's slot. Returns null if it is empty.
 	 */
 	public Item getItem(int itemNo) {
+		if (this.inventory == null) {
+			return null;
+		}
 		return this.inventory.get(itemNo);
 	}
 
@@ -204,15 +256,32 @@ public abstract class Entity implements Comparable<Entity> {
 	public void dropItem(int itemNo) {
 		Item item = getItem(itemNo);
 		if (item != null) {
-			item.setPosition(new Point(this.position.x, this.position.y));
+			item.setPosition(this.getX(), this.getY());
 			item.setState(ItemState.DROPPED);
 			this.removeItem(item);
-			this.chunkMap[this.position.x / 512][this.position.y / 512].add(item);
+			this.game.getDisplay().getGameScreen().getWorld().getMap().addItem(item);
 		}
 	}
 
-	public Point getPosition() {
-		return this.position;
+	public int getX() {
+		return this.x;
+	}
+
+	public int getY() {
+		return this.y;
+	}
+
+	/**
+	 * Moves the entity to a new position.
+	 * 
+	 * @param x
+	 *            the new x coordinate in pixels.
+	 * @param y
+	 *            the new y coordinate in pixels.
+	 */
+	public void setPosition(int x, int y) {
+		this.x = x;
+		this.y = y;
 	}
 
 	public int getHealth() {
@@ -224,6 +293,9 @@ public abstract class Entity implements Comparable<Entity> {
 	}
 
 	public Inventory getInventory() {
+		if (this.inventory == null) {
+			this.inventory = new Inventory();
+		}
 		return this.inventory;
 	}
 
@@ -251,6 +323,30 @@ public abstract class Entity implements Comparable<Entity> {
 		return this.game;
 	}
 
+	public int getHandle() {
+		return this.handle;
+	}
+
+	void setHandle(int handle) {
+		this.handle = handle;
+	}
+
+	public Chunk getChunk() {
+		return this.chunk;
+	}
+
+	public void setChunk(Chunk chunk) {
+		this.chunk = chunk;
+	}
+
+	public int getChunkIndex() {
+		return this.chunkIndex;
+	}
+
+	public void setChunkIndex(int chunkIndex) {
+		this.chunkIndex = chunkIndex;
+	}
+
 	public Chunk[][] getChunkMap() {
 		return chunkMap;
 	}
@@ -259,5 +355,62 @@ public abstract class Entity implements Comparable<Entity> {
 		this.chunkMap = chunkMap;
 	}
 
-	public abstract void render(Graphics g);
+	/**
+	 * Sets the point that the entity's next records in a snapshot are drawn
+	 * around. The entity is drawn moving from where it was captured in the
+	 * previous snapshot, unless it was not captured then or moved too far.
+	 * 
+	 * @param snapshot
+	 *            the snapshot being filled.
+	 * @param pivotX
+	 *            the x coordinate of the point in the map in pixels.
+	 * @param pivotY
+	 *            the y coordinate of the point in the map in pixels.
+	 * @param rotation
+	 *            the rotation around the point in radians.
+	 */
+	protected void captureMotion(RenderSnapshot snapshot, int pivotX, int pivotY, double rotation) {
+		if (snapshot.follows(this.capturedTick)
+				&& RenderSnapshot.isStep(this.capturedX, this.capturedY, pivotX, pivotY)) {
+			snapshot.setMotion(this.capturedX, this.capturedY, this.capturedRotation, pivotX, pivotY, rotation);
+			this.capturedFromX = this.capturedX;
+			this.capturedFromY = this.capturedY;
+		} else {
+			snapshot.setMotion(pivotX, pivotY, rotation, pivotX, pivotY, rotation);
+			this.capturedFromX = pivotX;
+			this.capturedFromY = pivotY;
+		}
+		this.capturedX = pivotX;
+		this.capturedY = pivotY;
+		this.capturedRotation = rotation;
+		this.capturedTick = snapshot.getTick();
+	}
+
+	/**
+	 * Sets the point that the next records of a snapshot are drawn around to
+	 * the entity's top left corner, moving the same way as the entity was
+	 * drawn on this tick. Keeps what is drawn over the entity (such as its
+	 * damage indicators) in step with it.
+	 * 
+	 * @param snapshot
+	 *            the snapshot being filled.
+	 */
+	public void captureFollowing(RenderSnapshot snapshot) {
+		int x = this.getX();
+		int y = this.getY();
+		if (this.capturedTick == snapshot.getTick()) {
+			snapshot.setMotion(x - (this.capturedX - this.capturedFromX), y - (this.capturedY - this.capturedFromY),
+					0, x, y, 0);
+		} else {
+			snapshot.setMotion(x, y, 0, x, y, 0);
+		}
+	}
+
+	/**
+	 * Adds the entity to the snapshot of the tick to be drawn.
+	 * 
+	 * @param snapshot
+	 *            the snapshot being filled.
+	 */
+	public abstract void capture(RenderSnapshot snapshot);
 }
\ No newline at end of file
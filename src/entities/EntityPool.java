@@ -0,0 +1,61 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Pool of entities that are no longer in use and can be reset and reused
+ * instead of allocating new ones.<br>
+ * The pool only keeps the entities; callers take an entity with
+ * {@link #obtain()}, reset it themselves (or construct a new one when the
+ * pool is empty) and give it back with {@link #free(Entity)} once nothing
+ * refers to it anymore.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Zombie
+ * @since 1.0
+ * @version 1.0
+ */
+public class EntityPool<T extends Entity> {
+	private Object[] entities;
+	private int size;
+
+	/**
+	 * Constructs a new empty EntityPool object.
+	 */
+	public EntityPool() {
+		this.entities = new Object[64];
+		this.size = 0;
+	}
+
+	/**
+	 * Takes an entity out of the pool.
+	 *
+	 * @return the entity. Returns null if the pool is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public T obtain() {
+		if (this.size == 0) {
+			return null;
+		}
+		T entity = (T) this.entities[--this.size];
+		this.entities[this.size] = null;
+		return entity;
+	}
+
+	/**
+	 * Gives an entity back to the pool.
+	 *
+	 * @param entity
+	 *            the entity that is no longer in use.
+	 */
+	public void free(T entity) {
+		if (this.size == this.entities.length) {
+			this.entities = Arrays.copyOf(this.entities, this.size * 2);
+		}
+		this.entities[this.size++] = entity;
+	}
+
+	public int size() {
+		return this.size;
+	}
+}
@@ -0,0 +1,136 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Registry that gives every entity in a map a 32-bit handle.<br>
+ * The lower 20 bits of a handle are the entity's slot in the registry and the
+ * upper 12 bits are the slot's generation. Releasing a handle increases its
+ * slot's generation, so old copies of the handle no longer resolve to an
+ * entity even after the slot is reused. Handles are never 0, which is used
+ * for entities that have not been registered.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Entity
+ * @since 1.0
+ * @version 1.0
+ */
+public class EntityRegistry {
+	/**
+	 * The handle of entities that have not been registered.
+	 */
+	public static final int NO_HANDLE = 0;
+
+	private static final int INDEX_BITS = 20;
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+	private static final int GENERATION_MASK = (1 << (32 - INDEX_BITS)) - 1;
+
+	private Entity[] entities;
+	private int[] generations;
+	private int size;
+
+	/**
+	 * Slots that have been released and can be reused.
+	 */
+	private int[] freeSlots;
+	private int noOfFreeSlots;
+
+	/**
+	 * Constructs a new empty EntityRegistry object.
+	 */
+	public EntityRegistry() {
+		this.entities = new Entity[256];
+		this.generations = new int[256];
+		this.freeSlots = new int[64];
+	}
+
+	/**
+	 * Registers an entity and gives it a handle.
+	 *
+	 * @param entity
+	 *            the entity to register.
+	 * @return the entity's handle.
+	 */
+	public int register(Entity entity) {
+		int slot;
+		if (this.noOfFreeSlots > 0) {
+			slot = this.freeSlots[--this.noOfFreeSlots];
+		} else {
+			if (this.size > INDEX_MASK) {
+				throw new IllegalStateException("Too many entities registered");
+			}
+			if (this.size == this.entities.length) {
+				this.entities = Arrays.copyOf(this.entities, this.size * 2);
+				this.generations = Arrays.copyOf(this.generations, this.size * 2);
+			}
+			slot = this.size++;
+			this.generations[slot] = 1;
+		}
+		this.entities[slot] = entity;
+
+		int handle = (this.generations[slot] << INDEX_BITS) | slot;
+		entity.setHandle(handle);
+		return handle;
+	}
+
+	/**
+	 * Releases an entity's handle so that it no longer resolves to the entity.
+	 *
+	 * @param handle
+	 *            the handle to release.
+	 */
+	public void release(int handle) {
+		if (!isValid(handle)) {
+			return;
+		}
+		int slot = handle & INDEX_MASK;
+		this.entities[slot].setHandle(NO_HANDLE);
+		this.entities[slot] = null;
+
+		// Skip generation 0 so that handles are never 0
+		int generation = (this.generations[slot] + 1) & GENERATION_MASK;
+		this.generations[slot] = generation == 0 ? 1 : generation;
+
+		if (this.noOfFreeSlots == this.freeSlots.length) {
+			this.freeSlots = Arrays.copyOf(this.freeSlots, this.noOfFreeSlots * 2);
+		}
+		this.freeSlots[this.noOfFreeSlots++] = slot;
+	}
+
+	/**
+	 * Gets the entity that a handle refers to.
+	 *
+	 * @param handle
+	 *            the handle of the entity.
+	 * @return the entity. Returns null if the handle has been released.
+	 */
+	public Entity get(int handle) {
+		if (!isValid(handle)) {
+			return null;
+		}
+		return this.entities[handle & INDEX_MASK];
+	}
+
+	/**
+	 * Checks if a handle still refers to an entity.
+	 *
+	 * @param handle
+	 *            the handle to check.
+	 * @return whether or not the handle has not been released.
+	 */
+	public boolean isValid(int handle) {
+		int slot = handle & INDEX_MASK;
+		return handle != NO_HANDLE && slot < this.size
+				&& this.generations[slot] == ((handle >>> INDEX_BITS) & GENERATION_MASK)
+				&& this.entities[slot] != null;
+	}
+
+	/**
+	 * Gets the number of entities registered.
+	 *
+	 * @return the number of entities.
+	 */
+	public int getNoOfEntities() {
+		return this.size - this.noOfFreeSlots;
+	}
+}
@@ -0,0 +1,94 @@
+package entities;
+
+import java.util.Stack;
+
+import utilities.Node;
+
+/**
+ * Groups the zombies that hear the same noise into hordes.<br>
+ * The first zombie that hears the noise in an area becomes the leader of a
+ * horde and plans the only path to the noise. Zombies that hear the noise
+ * within {@link Zombie#HORDE_RADIUS} of a leader follow that leader instead
+ * of planning a path of their own, so a group of zombies costs one path
+ * search instead of one per zombie.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Zombie#follow(Zombie)
+ * @since 1.0
+ * @version 1.0
+ */
+public class HordeElection {
+	private Zombie[] leaders;
+	private int noOfLeaders;
+
+	/**
+	 * Constructs a new empty HordeElection object.
+	 */
+	public HordeElection() {
+		this.leaders = new Zombie[8];
+		this.noOfLeaders = 0;
+	}
+
+	/**
+	 * Makes a zombie that heard the noise follow a leader elected earlier
+	 * for the same noise, if one is close enough. Zombies that already follow
+	 * a leader heading to the noise stay in their horde.
+	 *
+	 * @param zombie
+	 *            the zombie that heard the noise.
+	 * @param targetX
+	 *            the column of the tile the noise was made on.
+	 * @param targetY
+	 *            the row of the tile the noise was made on.
+	 * @return whether or not the zombie is in a horde heading to the noise.
+	 *         If it is not, it should plan its own path and be added with
+	 *         {@link #addLeader(Zombie)}.
+	 */
+	public boolean join(Zombie zombie, int targetX, int targetY) {
+		Zombie leader = zombie.getLeader();
+		if (leader != null && leader.getSlot() >= 0) {
+			Stack<Node> path = leader.getPath();
+			if (!path.isEmpty() && path.get(0).locationX == targetX && path.get(0).locationY == targetY) {
+				return true;
+			}
+		}
+
+		int x = zombie.getX();
+		int y = zombie.getY();
+		for (int i = 0; i < this.noOfLeaders; i++) {
+			long dx = this.leaders[i].getX() - x;
+			long dy = this.leaders[i].getY() - y;
+			if (dx * dx + dy * dy <= (long) Zombie.HORDE_RADIUS * Zombie.HORDE_RADIUS) {
+				zombie.follow(this.leaders[i]);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds a zombie that planned its own path to the noise as the leader of a
+	 * new horde.
+	 *
+	 * @param zombie
+	 *            the new leader.
+	 */
+	public void addLeader(Zombie zombie) {
+		if (this.noOfLeaders == this.leaders.length) {
+			Zombie[] leaders = new Zombie[this.noOfLeaders * 2];
+			System.arraycopy(this.leaders, 0, leaders, 0, this.noOfLeaders);
+			this.leaders = leaders;
+		}
+		this.leaders[this.noOfLeaders++] = zombie;
+	}
+
+	/**
+	 * Forgets the leaders of the last noise.
+	 */
+	public void clear() {
+		for (int i = 0; i < this.noOfLeaders; i++) {
+			this.leaders[i] = null;
+		}
+		this.noOfLeaders = 0;
+	}
+}
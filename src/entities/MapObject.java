@@ -1,11 +1,10 @@
 package entities;
 
 import java.applet.AudioClip;
-import java.awt.Graphics;
-import java.awt.Point;
 import java.awt.image.BufferedImage;
 
 import main.Game;
+import map.RenderSnapshot;
 
 /**
  * Abstract MapObject class for objects inside a map in Project Z.
@@ -22,9 +21,10 @@ public abstract class MapObject extends Entity {
 	 *            the height of the map object in pixels.
 	 * @param width
 	 *            the width of the map object in pixels.
-	 * @param position
-	 *            the coordinate of the map object in the map in terms of
-	 *            pixels.
+	 * @param x
+	 *            the x coordinate of the map object in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the map object in the map in pixels.
 	 * @param rotation
 	 *            the rotation of the map object (in radians).
 	 * @param health
@@ -41,10 +41,10 @@ public abstract class MapObject extends Entity {
 	 *            the type of map object that this map object is (e.g. rubble,
 	 *            corpse, etc.)
 	 */
-	public MapObject(int height, int width, Point position, double rotation, int health, boolean solid,
+	public MapObject(int height, int width, int x, int y, double rotation, int health, boolean solid,
 			BufferedImage[] images, AudioClip[] clips, Game game) {
-		super(height, width, position, rotation, health, solid, images, clips, game);
+		super(height, width, x, y, rotation, health, solid, images, clips, game);
 	}
 
-	public abstract void render(Graphics g);
+	public abstract void capture(RenderSnapshot snapshot);
 }
\ No newline at end of file
@@ -1,13 +1,12 @@
 package entities;
 
 import java.applet.AudioClip;
-import java.awt.Point;
 import java.awt.image.BufferedImage;
-import java.util.Iterator;
 import java.util.Stack;
 
 import main.Game;
 import map.Map;
+import map.WorldQuery;
 import utilities.Node;
 
 /**
@@ -27,7 +26,17 @@ public abstract class Mob extends Entity {
 	protected boolean left;
 	protected boolean right;
 	protected Map map;
-	protected Stack<Node> path = new Stack<Node>();
+	protected Stack<Node> path;
+
+	/**
+	 * Alerts the zombies found by noise queries. Only created once the mob
+	 * makes its first noise.
+	 */
+	private WorldQuery.ZombieVisitor noiseListener;
+	private HordeElection horde;
+	private int noiseX;
+	private int noiseY;
+	private boolean noiseFromPlayer;
 
 	/**
 	 * Constructs a new Mob object.
@@ -36,8 +45,10 @@ public abstract class Mob extends Entity {
 	 *            the height of the mob in pixels.
 	 * @param width
 	 *            the width of the mob in pixels.
-	 * @param position
-	 *            the coordinates of the mob in the map in terms of pixels.
+	 * @param x
+	 *            the x coordinate of the mob in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the mob in the map in pixels.
 	 * @param solid
 	 *            whether or not the mob is solid.
 	 * @param game
@@ -45,15 +56,15 @@ public abstract class Mob extends Entity {
 	 * @param map
 	 *            the game to add the mob to.
 	 */
-	public Mob(int height, int width, Point position, boolean solid, Game game, Map map) {
-		super(height, width, position, solid, game);
+	public Mob(int height, int width, int x, int y, boolean solid, Game game, Map map) {
+		super(height, width, x, y, solid, game);
 		this.map = map;
 		this.setChunkMap(map.getChunkMap());
 	}
 
-	public Mob(int height, int width, Point position, double rotation, int health, boolean solid,
+	public Mob(int height, int width, int x, int y, double rotation, int health, boolean solid,
 			BufferedImage[] images, AudioClip[] clips, Game game, Map map) {
-		super(height, width, position, rotation, health, solid, images, clips, game);
+		super(height, width, x, y, rotation, health, solid, images, clips, game);
 		this.map = map;
 		this.setChunkMap(map.getChunkMap());
 	}
@@ -67,34 +78,68 @@ public abstract class Mob extends Entity {
 	 *            if sound is made by player
 	 */
 	public void makeNoise(int range, boolean player) {
-		int chunkX = Math.max(this.position.x / 512, 2);
-		int chunkY = Math.max(this.position.y / 512, 2);
-		// Cycle througha 5x5 chunk area around the player
-		for (int x = chunkX - 2; x < Math.min(chunkX + 3, this.map.getWidth() / 16); x++) {
-			for (int y = chunkY - 2; y < Math.min(chunkY + 3, this.map.getHeight() / 16); y++) {
-				if (x < 100 && y < 100) {
-					for (Iterator<Zombie> iterator = this.chunkMap[x][y].getZombies().iterator(); iterator.hasNext();) {
-						Zombie zombie = iterator.next();
-						// Alert zombie if within radius and made by player on
-						// if it does not have a path already
-						if (Math.pow(this.position.x - zombie.position.x, 2)
-								+ Math.pow(this.position.y - zombie.position.y, 2) < range * range) {
-							if (player) {
-								zombie.setPath(this.map.getPathFinder().findPath(zombie.getPath(),
-										(zombie.position.x + 16) / 32, (zombie.position.y + 16) / 32,
-										(this.position.x + 16) / 32, (this.position.y + 16) / 32));
-							} else if (!this.path.isEmpty()) {
-								zombie.setPath(this.map.getPathFinder().findPath(zombie.getPath(),
-										(zombie.position.x) / 32, (zombie.position.y) / 32, this.path.get(0).locationX,
-										this.path.get(0).locationY));
-							}
-						}
-					}
+		// Zombies only pass on noises when they are following a path
+		if (!player && this.getPath().isEmpty()) {
+			return;
+		}
+
+		// Create the listener the first time this mob makes a noise
+		if (this.noiseListener == null) {
+			this.noiseListener = new WorldQuery.ZombieVisitor() {
+				public void visit(Zombie zombie) {
+					alert(zombie);
 				}
+			};
+			this.horde = new HordeElection();
+		}
+
+		this.noiseX = this.getX();
+		this.noiseY = this.getY();
+		this.noiseFromPlayer = player;
+		// Noises made by the player also attract the zombies far away
+		if (player) {
+			this.map.getBackgroundSimulation().recordNoise(this.noiseX, this.noiseY, range);
+		}
+		this.map.getWorldQuery().forEachZombieWithin(this.noiseX, this.noiseY, range, this.noiseListener);
+		this.horde.clear();
+	}
+
+	/**
+	 * Alerts a zombie that heard the noise currently being made by this mob.
+	 * 
+	 * @param zombie
+	 *            the zombie to alert.
+	 */
+	private void alert(Zombie zombie) {
+		int zombieX = zombie.getX();
+		int zombieY = zombie.getY();
+		// Send the zombie towards the player as part of a horde, or make it
+		// join the horde of the zombie that made the noise
+		if (this.noiseFromPlayer) {
+			int targetX = (this.noiseX + 16) / 32;
+			int targetY = (this.noiseY + 16) / 32;
+			if (this.horde.join(zombie, targetX, targetY)) {
+				return;
+			}
+			zombie.setPath(this.map.getPathFinder().findPath(zombie.getPath(), (zombieX + 16) / 32,
+					(zombieY + 16) / 32, targetX, targetY));
+			if (!zombie.getPath().isEmpty()) {
+				this.horde.addLeader(zombie);
 			}
+		} else if (zombie != this) {
+			// Only zombies with a path make noises that are not the player's
+			zombie.follow((Zombie) this);
 		}
 	}
 
+	public Stack<Node> getPath() {
+		return this.path;
+	}
+
+	public void setPath(Stack<Node> path) {
+		this.path = path;
+	}
+
 	public int getMovementSpeed() {
 		return this.movementSpeed;
 	}
@@ -7,23 +7,27 @@ import items.Melee;
 import items.Throwable;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.awt.geom.AffineTransform;
+import java.awt.RenderingHints;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Line2D;
-import java.util.ArrayList;
+import java.awt.image.BufferedImage;
 import java.util.PriorityQueue;
+import java.util.Stack;
 
 import main.Game;
+import map.EntityList;
 import map.Map;
+import map.RenderSnapshot;
 import map.World;
 import utilities.Assets;
 import utilities.GameCamera;
 import utilities.KeyHandler;
 import utilities.MouseHandler;
+import utilities.Node;
+import utilities.ImageLoader;
 import enums.GameState.State;
 import enums.ItemState;
 
@@ -41,13 +45,30 @@ public class Player extends Mob {
 	public static final int MIN_STAMINA = MAX_STAMINA / 10;
 	public static final int SPRINT_COST = Player.MAX_STAMINA / 300;
 
+	/**
+	 * The flash drawn when the player shoots.
+	 */
+	private static final BufferedImage MUZZLE_FLASH = createMuzzleFlash();
+
 	private int stamina;
 	private boolean exhausted;
 	private int selectedItemNumber = 0;
 	private Item selectedItem;
 	private int skinNo;
+
+	/**
+	 * The area the player takes up in the map in terms of pixels.
+	 */
 	private Rectangle hitbox;
 
+	/**
+	 * Scratch objects returned by the player's queries. Each call overwrites
+	 * the result of the previous call, so they do not allocate.
+	 */
+	private final Point center = new Point();
+	private final Point impact = new Point();
+	private final PriorityQueue<Entity> hits = new PriorityQueue<Entity>();
+
 	private World world;
 	private short[][] tiles;
 	private GameCamera camera;
@@ -79,8 +100,10 @@ public class Player extends Mob {
 	/**
 	 * Constructs a new Player object.
 	 * 
-	 * @param position
-	 *            the coordinates of the player in the map in terms of pixels.
+	 * @param x
+	 *            the x coordinate of the player in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the player in the map in pixels.
 	 * @param inventory
 	 *            the starting inventory of the player. If null is entered, the
 	 *            player will spawn with a default inventory.
@@ -93,8 +116,8 @@ public class Player extends Mob {
 	 * @param skinNo
 	 *            a number representing the player's skin.
 	 */
-	public Player(Point position, Inventory inventory, boolean solid, Game game, Map map, int skinNo) {
-		super(32, 32, position, solid, game, map);
+	public Player(int x, int y, Inventory inventory, boolean solid, Game game, Map map, int skinNo) {
+		super(32, 32, x, y, solid, game, map);
 
 		if (inventory != null) {
 			this.inventory = inventory;
@@ -122,6 +145,8 @@ public class Player extends Mob {
 		}
 
 		this.skinNo = skinNo;
+		this.path = new Stack<Node>();
+		this.hitbox = new Rectangle();
 		this.movementSpeed = getBaseMovementSpeed();
 		this.stamina = Player.MAX_STAMINA;
 
@@ -136,11 +161,13 @@ public class Player extends Mob {
 	/**
 	 * Gets the player's center coordinate relative to the game camera.
 	 * 
-	 * @return the player's center coordinate.
+	 * @return the player's center coordinate. The point is reused by the next
+	 *         call.
 	 */
 	public Point getPlayerCenter() {
-		return new Point((int) (this.getPosition().getX() - camera.getxOffset() + this.width / 2),
-				(int) (this.getPosition().getY() - camera.getyOffset()) + this.height / 2);
+		this.center.setLocation((int) (this.getX() - camera.getxOffset() + this.width / 2),
+				(int) (this.getY() - camera.getyOffset()) + this.height / 2);
+		return this.center;
 	}
 
 	@Override
@@ -169,12 +196,12 @@ public class Player extends Mob {
 
 		// Check if the player's inventory is not full
 		// Make sure that the player is close enough to the item (32 pixels)
-		if (hoverItem != null && !this.isFull() && Point.distance(this.position.getX(), this.position.getY(),
-				hoverItem.getPosition().getX(), hoverItem.getPosition().getY()) <= 32) {
+		if (hoverItem != null && !this.isFull() && Point.distance(this.x, this.y,
+				hoverItem.getX(), hoverItem.getY()) <= 32) {
 			// Remove the item from the chunk that the item was in
 			// Add the item to the player's inventory
 			hoverItem.setState(ItemState.INVENTORY);
-			this.chunkMap[hoverItem.getPosition().x / 512][hoverItem.getPosition().y / 512].remove(hoverItem);
+			this.map.removeItem(hoverItem);
 			this.addItem(hoverItem);
 		}
 	}
@@ -215,92 +242,73 @@ public class Player extends Mob {
 	}
 
 	@Override
-	public void render(Graphics g) {
-		Graphics2D g2D = (Graphics2D) g;
-
-		// Store the original transform of the graphics variable
-		AffineTransform originalTransform = g2D.getTransform();
-
+	public void capture(RenderSnapshot snapshot) {
 		// Calculate the angle of the mouse
-		double angle = Math.atan2(((position.getY()) + 16 - camera.getyOffset()) - mouse.getMouseLocation().getY(),
-				(position.getX() + 16 - camera.getxOffset()) - mouse.getMouseLocation().getX()) - Math.PI / 2;
+		double angle = Math.atan2(((this.y) + 16 - camera.getyOffset()) - mouse.getMouseLocation().getY(),
+				(this.x + 16 - camera.getxOffset()) - mouse.getMouseLocation().getX()) - Math.PI / 2;
+		double rotation = angle;
 
 		// Render the selected item if the player is holding one
 		this.selectedItem = this.getItem(selectedItemNumber);
-		if (selectedItem != null) {
+		if (selectedItem instanceof Melee && this.swinging) {
 			// If the player is swinging their melee weapon, animate it
 			// depending on its swing speed, angle and tick
-			if (selectedItem instanceof Melee && this.swinging) {
-				long difference = this.game.getTickCount() - this.swingTick;
-				if (difference <= ((Melee) selectedItem).getSwingSpeed()) {
-					g2D.rotate(
-							this.swingAngle - this.swingAngleRange
-									+ (this.swingAngleRange * 2 / difference * ((Melee) selectedItem).getSwingSpeed()
-											* 1.0),
-							position.getX() - camera.getxOffset() + 16, position.getY() - camera.getyOffset() + 16);
-					g2D.drawImage(selectedItem.getImages()[0], (int) (this.getPosition().x - camera.getxOffset() + 10),
-							(int) (this.getPosition().y - camera.getyOffset() - 10), null);
-				} else {
-					// If the current tick difference is past the swing speed,
-					// stop swinging and rotate the graphics variable to the
-					// mouse angle and draw the selected item
-					this.swinging = false;
-					g2D.rotate(angle, position.getX() - camera.getxOffset() + 16,
-							position.getY() - camera.getyOffset() + 16);
-					g2D.drawImage(selectedItem.getImages()[0], (int) (this.getPosition().x - camera.getxOffset() + 10),
-							(int) (this.getPosition().y - camera.getyOffset() - 10), null);
-				}
+			long difference = this.game.getTickCount() - this.swingTick;
+			if (difference <= ((Melee) selectedItem).getSwingSpeed()) {
+				rotation = this.swingAngle - this.swingAngleRange
+						+ (this.swingAngleRange * 2 / difference * ((Melee) selectedItem).getSwingSpeed() * 1.0);
 			} else {
-				// If the player is not swinging, rotate the graphics variable
-				// to the mouse's angle
-				g2D.rotate(angle, position.getX() - camera.getxOffset() + 16,
-						position.getY() - camera.getyOffset() + 16);
-				if (selectedItem instanceof Firearm) {
-					// If the player is holding a firearm, render the holding
-					// gun sprite
-					g2D.drawImage(this.getItem(selectedItemNumber).getImages()[2],
-							(int) (this.getPosition().x - camera.getxOffset() + 10),
-							(int) (this.getPosition().y - camera.getyOffset() - 10), null);
-					// If the player is shooting their gun, draw a muzzle flash
-					// and stop shooting
-					if (this.shooting) {
-						g2D.setColor(new Color(255, 255, 0));
-						g2D.fillOval((int) (this.getPosition().x - camera.getxOffset() + 25),
-								(int) (this.getPosition().y - camera.getyOffset() - 18), 6, 12);
-						this.shooting = false;
-					}
-				} else {
-					// If the item does not match either special case above,
-					// render it in the player's hand normally
-					g2D.drawImage(this.getItem(selectedItemNumber).getImages()[0],
-							(int) (this.getPosition().x - camera.getxOffset() + 10),
-							(int) (this.getPosition().y - camera.getyOffset() - 10), null);
-				}
+				// If the current tick difference is past the swing speed,
+				// stop swinging and draw the selected item at the mouse
+				// angle
+				this.swinging = false;
 			}
-		} else {
-			// If the player is not holding an item, render the camera depending
-			// on the mouse's angle anyway
-			g2D.rotate(angle, position.getX() - camera.getxOffset() + 16, position.getY() - camera.getyOffset() + 16);
 		}
 
-		// Draw the player
-		g2D.drawImage(this.getImages()[skinNo], (int) (this.getPosition().x - camera.getxOffset()),
-				(int) (this.getPosition().y - camera.getyOffset()), null);
+		// The player and the item in their hand rotate around the player's
+		// centre. Items are held 6 pixels left of and 26 pixels above the
+		// centre
+		captureMotion(snapshot, this.x + 16, this.y + 16, rotation);
+		if (selectedItem instanceof Firearm) {
+			// If the player is holding a firearm, render the holding gun
+			// sprite
+			snapshot.addSprite(selectedItem.getImages()[2], -6, -26);
+			// If the player is shooting their gun, draw a muzzle flash
+			// and stop shooting
+			if (this.shooting) {
+				snapshot.addSprite(MUZZLE_FLASH, 9, -34);
+				this.shooting = false;
+			}
+		} else if (selectedItem != null) {
+			// Otherwise, render the item in the player's hand normally
+			snapshot.addSprite(selectedItem.getImages()[0], -6, -26);
+		}
 
-		// Reset the transform of the graphics variable to its original
-		// transform
-		g2D.setTransform(originalTransform);
+		// Draw the player facing the same way as their item
+		snapshot.addSprite(this.getImages()[skinNo], -16, -16);
 
 		// If the player is holding a throwable, render a circle showing its
 		// range
-		if (this.getItem(selectedItemNumber) != null && selectedItem instanceof Throwable) {
-			Throwable throwable = ((Throwable) selectedItem);
-			g2D.drawOval((int) (this.getPlayerCenter().x - throwable.getRange()),
-					(int) (this.getPlayerCenter().y - throwable.getRange()), 2 * throwable.getRange(),
-					2 * throwable.getRange());
+		if (selectedItem instanceof Throwable) {
+			snapshot.addCircle(((Throwable) selectedItem).getRange());
 		}
 	}
 
+	/**
+	 * Draws the flash shown when the player shoots.
+	 * 
+	 * @return the image of the flash.
+	 */
+	private static BufferedImage createMuzzleFlash() {
+		BufferedImage image = ImageLoader.createCompatibleImage(6, 12);
+		Graphics2D g2D = image.createGraphics();
+		g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2D.setColor(new Color(255, 255, 0));
+		g2D.fillOval(0, 0, 6, 12);
+		g2D.dispose();
+		return image;
+	}
+
 	public void update() {
 		this.world = this.game.getDisplay().getGameScreen().getWorld();
 
@@ -389,28 +397,24 @@ public class Player extends Mob {
 		}
 
 		// Player movement
-		this.getPosition().setLocation(this.getPosition().getX(), this.getPosition().getY() + yMove());
-		this.getPosition().setLocation(this.getPosition().getX() + xMove(), this.getPosition().getY());
+		this.y += yMove();
+		this.x += xMove();
 
 		// This stops the player from getting stuck
-		int row = (int) ((((this.getPosition().y - camera.getyOffset()) / 32.0)));
-		int col = (int) ((this.getPosition().x - camera.getxOffset()) / 32);
-		if (world.getSolid()[row][col] != null && yMove() == 0 && xMove() == 0 && key.isRight() && key.isLeft()
-				&& key.isUp() && key.isDown()) {
-			if (hitbox.intersects(world.getSolid()[row][col])) {
-				this.getPosition().setLocation(this.getPosition().getX(), this.getPosition().getY() + 32);
-			}
+		if (key.isRight() && key.isLeft() && key.isUp() && key.isDown() && this.map.getTileCollision()
+				.overlapsSolid(this.x, this.y, Assets.TILE_WIDTH, Assets.TILE_HEIGHT)) {
+			this.y += 32;
 		}
 
 		// Maps sure that the player stays inside the map
-		if (position.getX() < 0)
-			position.setLocation(0, position.getY());
-		else if (position.getX() > Assets.TILE_WIDTH * (world.getWidth() - 1))
-			position.setLocation(Assets.TILE_WIDTH * (world.getWidth() - 1), position.getY());
-		if (position.getY() < 0)
-			position.setLocation(position.getX(), 0);
-		else if (position.getY() + 32 > Assets.TILE_HEIGHT * (world.getHeight() - 1))
-			position.setLocation(position.getX(), Assets.TILE_HEIGHT * (world.getHeight() - 1) - 32);
+		if (this.x < 0)
+			this.x = 0;
+		else if (this.x > Assets.TILE_WIDTH * (world.getWidth() - 1))
+			this.x = Assets.TILE_WIDTH * (world.getWidth() - 1);
+		if (this.y < 0)
+			this.y = 0;
+		else if (this.y + 32 > Assets.TILE_HEIGHT * (world.getHeight() - 1))
+			this.y = Assets.TILE_HEIGHT * (world.getHeight() - 1) - 32;
 
 		// Centers the camera on the player
 		this.camera.centerOnEntity(this);
@@ -428,6 +432,7 @@ public class Player extends Mob {
 		}
 
 		// Checks if the player has reached the check point
+		hitbox.setBounds(this.x, this.y, Assets.TILE_WIDTH, Assets.TILE_HEIGHT);
 		if (world.getFlag() != null) {
 			if (world.getFlag().intersects(hitbox)) {
 				game.getState().setState(State.FINISH, false);
@@ -449,39 +454,9 @@ public class Player extends Mob {
 		if (key.isRight()) {
 			xMove = this.movementSpeed;
 		}
-		// Creates the player hit box
-		hitbox = new Rectangle((int) (this.position.getX() - camera.getxOffset()) + xMove,
-				(int) (this.position.getY() - camera.getyOffset()), Assets.TILE_WIDTH, Assets.TILE_HEIGHT);
-		int row = (int) ((((this.getPosition().y - camera.getyOffset()) / 32.0)));
-		int col = (int) ((this.getPosition().x - camera.getxOffset()) / 32);
-		if (xMove > 0) { // Moving right
-			if (row != 0)
-				row -= 1;
-			// Checks if the player collides with anythings
-			for (int i = row; i < world.getSolid().length; i++) {
-				for (int j = col; j < world.getSolid()[0].length; j++) {
-					if (world.getSolid()[i][j] != null) {
-						if (hitbox.intersects(world.getSolid()[i][j])) {
-							return 0;
-						}
-					}
-				}
-			}
-		} else if (xMove < 0) { // Moving Left
-			if (row != 0)
-				row -= 1;
-			// Checks if the player collides with anythings
-			for (int i = row; i < world.getSolid().length; i++) {
-				for (int j = col; j >= 0; j--) {
-					if (world.getSolid()[i][j] != null) {
-						if (hitbox.intersects(world.getSolid()[i][j])) {
-							return 0;
-						}
-					}
-				}
-			}
-		}
-		return xMove;
+		// Stops the player at the first solid tile in the way
+		return this.map.getTileCollision().sweepX(this.x, this.y, Assets.TILE_WIDTH,
+				Assets.TILE_HEIGHT, xMove);
 	}
 
 	/**
@@ -498,39 +473,9 @@ public class Player extends Mob {
 		if (this.game.getDisplay().getKeyHandler().isDown()) {
 			yMove = this.movementSpeed;
 		}
-		// Creates the player hit box
-		hitbox = new Rectangle((int) (this.position.getX() - camera.getxOffset()),
-				(int) (this.position.getY() - camera.getyOffset() + yMove), Assets.TILE_WIDTH, Assets.TILE_HEIGHT);
-		int row = (int) (((this.getPosition().y - camera.getyOffset()) / 32));
-		int col = (int) (((this.getPosition().x - camera.getxOffset()) / 32.0));
-		if (yMove < 0) { // Moving up
-			if (col != 0)
-				col -= 1;
-			// Checks if the player collides with anythings
-			for (int i = row; i >= 0; i--) {
-				for (int j = col; j < world.getSolid()[0].length; j++) {
-					if (world.getSolid()[i][j] != null) {
-						if (hitbox.intersects(world.getSolid()[i][j])) {
-							return 0;
-						}
-					}
-				}
-			}
-		} else if (yMove > 0) { // Moving down
-			if (col != 0)
-				col -= 1;
-			// Checks if the player collides with anythings
-			for (int i = row; i < world.getSolid().length; i++) {
-				for (int j = col; j < world.getSolid()[0].length; j++) {
-					if (world.getSolid()[i][j] != null) {
-						if (hitbox.intersects(world.getSolid()[i][j])) {
-							return 0;
-						}
-					}
-				}
-			}
-		}
-		return yMove;
+		// Stops the player at the first solid tile in the way
+		return this.map.getTileCollision().sweepY(this.x, this.y, Assets.TILE_WIDTH,
+				Assets.TILE_HEIGHT, yMove);
 	}
 
 	/**
@@ -538,7 +483,7 @@ public class Player extends Mob {
 	 * 
 	 * @param line
 	 *            the trajectory of throw.
-	 * @return the point of impact.
+	 * @return the point of impact. The point is reused by the next call.
 	 */
 	public Point calculatePointOfImpact(Line2D.Double line) {
 		if (tiles == null) {
@@ -553,12 +498,12 @@ public class Player extends Mob {
 			// Cycle through each pixel on the line and check if it hit a solid
 			// block
 			for (int i = 0; i < Math.abs(line.x2 - line.x1); i++) {
-				int tileX = (this.position.x + i) / 32;
-				int tileY = ((int) (this.position.y + (i * slope))) / 32;
+				int tileX = (this.x + i) / 32;
+				int tileY = ((int) (this.y + (i * slope))) / 32;
 				if (!(tileX < 0 || tileY < 0 || tileX > (tiles.length - 1) || tileY > (tiles[0].length - 1))) {
 					if ((tiles[tileX][tileY] & (1 << 14)) != 0) {
-						int hitX = this.position.x + i;
-						int hitY = (int) (this.position.y + (i * slope));
+						int hitX = this.x + i;
+						int hitY = (int) (this.y + (i * slope));
 						// Shift point out of the wall
 						if (hitY > line.getY1()) {
 							hitY -= 32;
@@ -566,7 +511,8 @@ public class Player extends Mob {
 						if (hitX > line.getX1()) {
 							hitX -= 32;
 						}
-						return new Point(hitX, hitY);
+						this.impact.setLocation(hitX, hitY);
+						return this.impact;
 					}
 				}
 			}
@@ -575,14 +521,14 @@ public class Player extends Mob {
 			for (int i = 0; i > -Math.abs(line.x2 - line.x1); i--) {
 				// Cycle through each pixel on the line and check if it hit a
 				// solid block
-				int tileX = (this.position.x + i) / 32;
-				int tileY = ((int) (this.position.y + (i * slope))) / 32;
+				int tileX = (this.x + i) / 32;
+				int tileY = ((int) (this.y + (i * slope))) / 32;
 
 				if (!(tileX < 0 || tileY < 0 || tileX > (tiles.length - 1) || tileY > (tiles[0].length - 1))) {
-					if ((tiles[(this.position.x + i) / 32][((int) (this.position.y + (i * slope))) / 32]
+					if ((tiles[(this.x + i) / 32][((int) (this.y + (i * slope))) / 32]
 							& (1 << 14)) != 0) {
-						int hitX = this.position.x + i;
-						int hitY = (int) (this.position.y + (i * slope));
+						int hitX = this.x + i;
+						int hitY = (int) (this.y + (i * slope));
 						// Shift point out of the wall
 						if (hitY > line.getY1()) {
 							hitY -= 32;
@@ -590,13 +536,15 @@ public class Player extends Mob {
 						if (hitX > line.getX1()) {
 							hitX -= 32;
 						}
-						return new Point(hitX, hitY);
+						this.impact.setLocation(hitX, hitY);
+						return this.impact;
 					}
 				}
 			}
 		}
 		// If no collisions detected return the second point of the line
-		return new Point((int) line.x2, (int) line.y2);
+		this.impact.setLocation((int) line.x2, (int) line.y2);
+		return this.impact;
 	}
 
 	/**
@@ -606,11 +554,13 @@ public class Player extends Mob {
 	 *            the trajectory of bullet.
 	 * @param range
 	 *            the range of bullet.
-	 * @return a queue of hit entities sorted by distance.
+	 * @return a queue of hit entities sorted by distance. The queue is reused
+	 *         by the next call.
 	 */
 	public PriorityQueue<Entity> projectileTracer(Line2D.Double line, int range) {
 		// Queue of hit entities
-		PriorityQueue<Entity> entitiesCollided = new PriorityQueue<Entity>();
+		PriorityQueue<Entity> entitiesCollided = this.hits;
+		entitiesCollided.clear();
 
 		// Distance of bullet travel
 		double maxDistance = range;
@@ -627,8 +577,8 @@ public class Player extends Mob {
 			// Cycle through each pixel on the line and check if it hit a solid
 			// block
 			for (int i = 0; i < range; i++) {
-				int tileX = (this.position.x + i) / 32;
-				int tileY = ((int) (this.position.y + (i * slope))) / 32;
+				int tileX = (this.x + i) / 32;
+				int tileY = ((int) (this.y + (i * slope))) / 32;
 				if (!(tileX < 0 || tileY < 0 || tileX > (tiles.length - 1) || tileY > (tiles[0].length - 1))) {
 					// Set max distance of bullet
 					if ((tiles[tileX][tileY] & (1 << 14)) != 0) {
@@ -642,11 +592,11 @@ public class Player extends Mob {
 			// Cycle through each pixel on the line and check if it hit a solid
 			// block
 			for (int i = 0; i > -range; i--) {
-				int tileX = (this.position.x + i) / 32;
-				int tileY = ((int) (this.position.y + (i * slope))) / 32;
+				int tileX = (this.x + i) / 32;
+				int tileY = ((int) (this.y + (i * slope))) / 32;
 				if (!(tileX < 0 || tileY < 0 || tileX > (tiles.length - 1) || tileY > (tiles[0].length - 1))) {
 					// Set max distance of bullet
-					if ((tiles[(this.position.x + i) / 32][((int) (this.position.y + (i * slope))) / 32]
+					if ((tiles[(this.x + i) / 32][((int) (this.y + (i * slope))) / 32]
 							& (1 << 14)) != 0) {
 						maxDistance = (Math.sqrt(Math.pow(i, 2) + Math.pow((i * slope), 2)));
 						break;
@@ -656,21 +606,26 @@ public class Player extends Mob {
 		}
 
 		// Find chunk player is in
-		int chunkX = Math.max(this.position.x / 512, 3);
-		int chunkY = Math.max(this.position.y / 512, 3);
-
-		// Cycle through a 7x7 chunk area around the player to check for
-		// collsions
-		for (int x = chunkX - 3; x < Math.min(chunkX + 4, map.getWidth() / 16); x++) {
-			for (int y = chunkY - 3; y < Math.min(chunkY + 4, map.getWidth() / 16); y++) {
+		int radius = map.getSimulationBudget().getRadius() + 1;
+		int chunkX = Math.max(this.x / 512, radius);
+		int chunkY = Math.max(this.y / 512, radius);
+
+		// Cycle through the simulated chunks around the player and the ring of
+		// chunks around them to check for collsions
+		for (int x = chunkX - radius; x < Math.min(chunkX + radius + 1, map.getWidth() / 16); x++) {
+			for (int y = chunkY - radius; y < Math.min(chunkY + radius + 1, map.getWidth() / 16); y++) {
+				// Skip chunks without zombies
+				if (!getChunkMap()[x][y].hasZombies()) {
+					continue;
+				}
 				// Cycle through zombies
-				ArrayList<Zombie> zombies = getChunkMap()[x][y].getZombies();
+				EntityList<Zombie> zombies = getChunkMap()[x][y].getZombies();
 				for (int zombie = 0; zombie < zombies.size(); zombie++) {
 					Zombie currentZombie = zombies.get(zombie);
 					// If in bullets path add to the list of hit entities
-					if (line.intersects(currentZombie.getPosition().x, currentZombie.getPosition().y, 32, 32)) {
-						double distance = Point.distance(this.position.x, this.position.y,
-								currentZombie.getPosition().x, currentZombie.getPosition().y);
+					if (line.intersects(currentZombie.getX(), currentZombie.getY(), 32, 32)) {
+						double distance = Point.distance(this.x, this.y,
+								currentZombie.getX(), currentZombie.getY());
 						if (distance < maxDistance) {
 							currentZombie.setRelativeDistance((int) distance);
 							entitiesCollided.add(currentZombie);
@@ -697,18 +652,25 @@ public class Player extends Mob {
 		int noOfEnemies = 0;
 
 		// Check a 3x3 block of chunks around the player
-		int chunkX = Math.max(this.position.x / 512, 1);
-		int chunkY = Math.max(this.position.y / 512, 1);
+		int chunkX = Math.max(this.x / 512, 1);
+		int chunkY = Math.max(this.y / 512, 1);
 		for (int x = chunkX - 1; x < Math.min(chunkX + 2, map.getWidth() / 16); x++) {
 			for (int y = chunkY - 1; y < Math.min(chunkY + 2, map.getWidth() / 16); y++) {
+				// Skip chunks with nothing to hit
+				if (getChunkMap()[x][y].isEmpty()) {
+					continue;
+				}
+
 				// Go through each zombie in the chunk and check if it intersect
 				// the arc
 				// If it does, damage the zombie and add 1 to the number of
 				// enemies hit
-				ArrayList<Zombie> zombies = getChunkMap()[x][y].getZombies();
-				for (int zombie = 0; zombie < zombies.size(); zombie++) {
+				// Iterate backwards since killed zombies are removed from the
+				// chunk
+				EntityList<Zombie> zombies = getChunkMap()[x][y].getZombies();
+				for (int zombie = zombies.size() - 1; zombie >= 0; zombie--) {
 					Zombie currentZombie = zombies.get(zombie);
-					if (arc.intersects(currentZombie.getPosition().x, currentZombie.getPosition().y, 32, 32)) {
+					if (arc.intersects(currentZombie.getX(), currentZombie.getY(), 32, 32)) {
 						currentZombie.damage(damage);
 						noOfEnemies++;
 					}
@@ -718,10 +680,10 @@ public class Player extends Mob {
 				// intersect the arc
 				// If it does, damage the entity and add 1 to the number of
 				// enemies hit
-				ArrayList<Entity> entities = getChunkMap()[x][y].getSolidEntities();
-				for (int entity = 0; entity < entities.size(); entity++) {
+				EntityList<Entity> entities = getChunkMap()[x][y].getSolidEntities();
+				for (int entity = entities.size() - 1; entity >= 0; entity--) {
 					Entity currentEntity = entities.get(entity);
-					if (arc.intersects(currentEntity.getPosition().x, currentEntity.getPosition().y, 32, 32)) {
+					if (arc.intersects(currentEntity.getX(), currentEntity.getY(), 32, 32)) {
 						currentEntity.damage(damage);
 						noOfEnemies++;
 					}
@@ -1,29 +1,75 @@
 package entities;
 
 import java.applet.AudioClip;
-import java.awt.Color;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
-import java.awt.Point;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.util.Random;
 import java.util.Stack;
 
 import main.Game;
 import map.Map;
+import map.RenderSnapshot;
+import map.SpatialHash;
 import utilities.Node;
 
 /**
- * Subclass of Mob that represents a zombie enemy in Project Z.
+ * Subclass of Mob that represents a zombie enemy in Project Z.<br>
+ * A zombie is a lightweight view of its slot in the map's {@link ZombieStore},
+ * which holds its position, movement, health and path.
  * 
  * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
  * @see Mob
+ * @see ZombieStore
+ * @see map.ActiveSet
+ * @see map.CrowdSimulation
  * @since 1.0
  * @version 1.0
  */
 public class Zombie extends Mob {
 	public static final int MOVEMENT_SPEED = 1;
 
+	/**
+	 * The radius (in pixels) that zombies check for the player and other
+	 * zombies to collide with.
+	 */
+	public static final int CONTACT_RADIUS = 34;
+
+	/**
+	 * The radius (in pixels) around the player that dormant zombies are woken
+	 * up in.
+	 */
+	public static final int WAKE_RADIUS = 128;
+
+	/**
+	 * The radius (in pixels) around the leader of a horde that zombies hearing
+	 * the same noise join the horde in.
+	 */
+	public static final int HORDE_RADIUS = 96;
+
+	/**
+	 * The squared distance (in pixels) inside which a zombie does not move any
+	 * closer to another zombie.
+	 */
+	private static final int SEPARATION = 1100;
+
+	/**
+	 * The radius (in pixels) that zombies check for other zombies they could
+	 * walk into, which covers the separation and the furthest that two
+	 * zombies can move towards each other in a tick.
+	 */
+	private static final int MOVE_RADIUS = CONTACT_RADIUS + 10;
+
+	/**
+	 * The distance (in pixels) from the leader that followers stop walking
+	 * towards it at.
+	 */
+	private static final int FOLLOW_DISTANCE = 40;
+
+	/**
+	 * The distance (in pixels) from the leader that followers split off from
+	 * the horde at.
+	 */
+	private static final int SPLIT_RADIUS = 192;
+
 	/**
 	 * The damage that a zombie deals to a player. Scales as level increases
 	 * (start at 5, increases by 5 per level).
@@ -35,16 +81,139 @@ public class Zombie extends Mob {
 	 * increases by 50 per level).
 	 */
 	public static int zombieHealth = 100;
-	private int zombieVariant;
 	private Player player;
-	private int targetX;
-	private int targetY;
+	private ZombieStore store;
+
+	/**
+	 * The zombie's slot in the map's zombie store (-1 once the zombie has been
+	 * killed).
+	 */
+	private int slot;
+
+	private boolean collideUp;
+	private boolean collideDown;
+	private boolean collideRight;
+	private boolean collideLeft;
+
+	/**
+	 * The state of the zombie's current move: the chunk it started the tick
+	 * in, whether zombies in other chunks are being checked, whether one was
+	 * found while they are not, and the moves that would take it too close
+	 * to another zombie (1 for the whole move, 2 for only the horizontal part
+	 * and 4 for only the vertical part).
+	 */
+	private int moveChunkX;
+	private int moveChunkY;
+	private boolean movingAcrossChunks;
+	private boolean nearOtherChunk;
+	private int blockedMoves;
+
+	/**
+	 * Pushes the zombie away from the player and other zombies found near the
+	 * zombie. Created once per zombie so that contact checks do not allocate.
+	 * Only the zombie's own state is changed; effects on the entities found
+	 * are recorded as intents and carried out by {@link #act()}.
+	 */
+	private final SpatialHash.Visitor contact = new SpatialHash.Visitor() {
+		public void visit(Entity entity, int entityX, int entityY) {
+			if (entity == Zombie.this) {
+				return;
+			}
+			int dx = entityX - store.x[slot];
+			int dy = entityY - store.y[slot];
+			if (entity == player) {
+				if (dx * dx + dy * dy >= 1000) {
+					return;
+				}
+				store.intents[slot] |= ZombieStore.INTENT_HIT_PLAYER;
+			} else if (dx * dx + dy * dy >= 1100 || entity.getHealth() <= 0) {
+				// Zombies killed earlier in the tick are still in the grid
+				return;
+			} else if (!((Zombie) entity).isAwake()) {
+				// Wake up the other zombie so that it moves apart as well
+				store.intents[slot] |= ZombieStore.INTENT_WAKE_OTHERS;
+			}
+			// If the entity is below
+			if (dy > 0) {
+				up = true;
+				collideDown = true;
+			}
+			// If the entity is above
+			if (dy < 0) {
+				down = true;
+				collideUp = true;
+			}
+			// If the entity is right
+			if (dx > 0) {
+				left = true;
+				collideRight = true;
+			}
+			// If the entity is left
+			if (dx < 0) {
+				right = true;
+				collideLeft = true;
+			}
+		}
+	};
+
+	/**
+	 * Finds the moves that would take the zombie too close to the zombies
+	 * near it. Zombies in other chunks are only read when every chunk has
+	 * moved, since they may be moving on other threads until then.
+	 */
+	private final SpatialHash.Visitor mover = new SpatialHash.Visitor() {
+		public void visit(Entity entity, int entityX, int entityY) {
+			if (entity == Zombie.this || entity == player || entity.getHealth() <= 0) {
+				return;
+			}
+			if (!movingAcrossChunks
+					&& (Math.floorDiv(entityX, 512) != moveChunkX || Math.floorDiv(entityY, 512) != moveChunkY)) {
+				nearOtherChunk = true;
+				return;
+			}
+			int otherSlot = ((Zombie) entity).slot;
+			int otherX = store.x[otherSlot];
+			int otherY = store.y[otherSlot];
+			int x = store.x[slot];
+			int y = store.y[slot];
+			int velocityX = store.velocityX[slot];
+			int velocityY = store.velocityY[slot];
+			long dx = otherX - x;
+			long dy = otherY - y;
+			long distance = dx * dx + dy * dy;
+			if (closesIn(x + velocityX, y + velocityY, otherX, otherY, distance)) {
+				blockedMoves |= 1;
+			}
+			if (closesIn(x + velocityX, y, otherX, otherY, distance)) {
+				blockedMoves |= 2;
+			}
+			if (closesIn(x, y + velocityY, otherX, otherY, distance)) {
+				blockedMoves |= 4;
+			}
+		}
+	};
+
+	/**
+	 * Wakes up the dormant zombies that this zombie touched.
+	 */
+	private final SpatialHash.Visitor waker = new SpatialHash.Visitor() {
+		public void visit(Entity entity, int entityX, int entityY) {
+			int dx = entityX - (store.x[slot] - store.velocityX[slot]);
+			int dy = entityY - (store.y[slot] - store.velocityY[slot]);
+			if (entity != Zombie.this && entity != player && dx * dx + dy * dy < 1100 && entity.getHealth() > 0) {
+				((Zombie) entity).wake();
+			}
+		}
+	};
 
 	/**
-	 * Constructs a new Zombie object.
+	 * Constructs a new Zombie object and adds its state to the map's zombie
+	 * store.
 	 * 
-	 * @param position
-	 *            the coordinates of the zombie in the map in terms of pixels.
+	 * @param x
+	 *            the x coordinate of the zombie in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the zombie in the map in pixels.
 	 * @param health
 	 *            the total health of the zombie.
 	 * @param images
@@ -58,241 +227,631 @@ public class Zombie extends Mob {
 	 * @param imgNo
 	 *            a number representing the zombie's skin.
 	 */
-	public Zombie(Point position, int health, BufferedImage[] images, AudioClip[] clips, Game game, Map map,
+	public Zombie(int x, int y, int health, BufferedImage[] images, AudioClip[] clips, Game game, Map map,
 			int imgNo) {
-		super(32, 32, position, 0, Zombie.zombieHealth, true, images, clips, game, map);
-		this.rotation = Math.random() * (2 * Math.PI);
-		this.rotation = Math.random() * (2 * Math.PI);
-		this.zombieVariant = imgNo;
+		super(32, 32, x, y, 0, Zombie.zombieHealth, true, images, clips, game, map);
 
+		this.store = map.getZombieStore();
+		this.slot = this.store.add(this, x, y, Zombie.zombieHealth, randomMovementSpeed(map.getRandom()), imgNo,
+				map.getRandom().nextDouble() * (2 * Math.PI));
+	}
+
+	/**
+	 * Resets a zombie taken from the game's zombie pool so that it can be
+	 * added to a map like a newly constructed zombie.
+	 * 
+	 * @param x
+	 *            the x coordinate of the zombie in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the zombie in the map in pixels.
+	 * @param imgNo
+	 *            a number representing the zombie's skin.
+	 * @param map
+	 *            the map to add the zombie to.
+	 */
+	public void reset(int x, int y, int imgNo, Map map) {
+		this.map = map;
+		this.setChunkMap(map.getChunkMap());
+		this.x = x;
+		this.y = y;
+		this.rotation = 0;
 		this.health = Zombie.zombieHealth;
-		if (Math.random() < .05) {
-			this.movementSpeed = Zombie.MOVEMENT_SPEED * 2;
-		} else if (Math.random() < 0.01) {
-			this.movementSpeed = Zombie.MOVEMENT_SPEED * 3;
-		} else {
-			this.movementSpeed = Zombie.MOVEMENT_SPEED;
+		this.relativeDistance = 0;
+		this.inventory = null;
+		this.player = null;
+		this.up = false;
+		this.down = false;
+		this.left = false;
+		this.right = false;
+
+		// Forget the previous map's handle and chunk
+		this.setHandle(EntityRegistry.NO_HANDLE);
+		this.setChunk(null);
+		this.setChunkIndex(-1);
+
+		this.store = map.getZombieStore();
+		this.slot = this.store.add(this, x, y, Zombie.zombieHealth, randomMovementSpeed(map.getRandom()), imgNo,
+				map.getRandom().nextDouble() * (2 * Math.PI));
+	}
+
+	/**
+	 * Picks a movement speed for a new zombie. Most zombies move at the normal
+	 * speed, but a few are two or three times as fast.
+	 * 
+	 * @param random
+	 *            the random number generator of the zombie's map.
+	 * @return the movement speed in pixels per tick.
+	 */
+	private static int randomMovementSpeed(Random random) {
+		if (random.nextDouble() < .05) {
+			return Zombie.MOVEMENT_SPEED * 2;
+		} else if (random.nextDouble() < 0.01) {
+			return Zombie.MOVEMENT_SPEED * 3;
 		}
+		return Zombie.MOVEMENT_SPEED;
 	}
 
 	/**
-	 * Updates zombie's position based on current path
+	 * First phase of an update: follows the zombie's path and decides how the
+	 * zombie will move and what it will do.<br>
+	 * Only the zombie's own state is written, and other entities are only seen
+	 * through the positions in the map's contact grid, so every zombie can
+	 * sense at the same time on different threads.
 	 */
-	public void update() {
+	public void sense() {
 		if (player == null)
 			player = this.game.getDisplay().getGameScreen().getWorld().getPlayer();
 
+		ZombieStore store = this.store;
+		int slot = this.slot;
+		store.intents[slot] = 0;
+
 		// Reset movement
-		this.setDown(false);
-		this.setUp(false);
-		this.setRight(false);
-		this.setLeft(false);
+		this.up = false;
+		this.down = false;
+		this.right = false;
+		this.left = false;
 
 		// Reset collisions
-		boolean collideUp = false;
-		boolean collideDown = false;
-		boolean collideRight = false;
-		boolean collideLeft = false;
-
-		// Get the current chunk
-		int chunkX = this.position.x / 512;
-		int chunkY = this.position.y / 512;
-		
+		this.collideUp = false;
+		this.collideDown = false;
+		this.collideRight = false;
+		this.collideLeft = false;
+
+		// Get the current position
+		int x = store.x[slot];
+		int y = store.y[slot];
+
 		// Follow the path
-		if (!this.getPath().isEmpty()) {
+		Stack<Node> path = store.paths[slot];
+		if (!path.isEmpty()) {
 			// If path contains null, clear path
-			if (this.path.peek() == null) {
-				{
-					this.path.clear();
-					targetX = 0;
-					targetY = 0;
-				}
+			if (path.peek() == null) {
+				path.clear();
+				store.targetX[slot] = 0;
+				store.targetY[slot] = 0;
 			} else {
 				// Set pixel coordinate of next node in the path
-				targetX = path.peek().locationX * 32;
-				targetY = path.peek().locationY * 32;
+				store.targetX[slot] = path.peek().locationX * 32;
+				store.targetY[slot] = path.peek().locationY * 32;
 				// If zombie reached node location pop off node and read in next
 				// node
-				if ((this.getPosition().x == targetX) && (this.getPosition().y == targetY)) {
+				if (x == store.targetX[slot] && y == store.targetY[slot]) {
 					path.pop();
 				} else {
 					// Set zombie's desired movement based on rellative position
 					// to target
-					if (this.getPosition().y > targetY)
-						this.setUp(true);
-					else if (this.getPosition().y < targetY)
-						this.setDown(true);
-					if (this.getPosition().x > targetX)
-						this.setLeft(true);
-					else if (this.getPosition().x < targetX)
-						this.setRight(true);
-
+					if (y > store.targetY[slot])
+						this.up = true;
+					else if (y < store.targetY[slot])
+						this.down = true;
+					if (x > store.targetX[slot])
+						this.left = true;
+					else if (x < store.targetX[slot])
+						this.right = true;
 				}
 			}
 		}
+		// Followers walk towards their leader instead of following a path.
+		// The leader only moves during the move phase, so its position can
+		// be read here
+		Zombie leader = store.leaders[slot];
+		if (leader != null && path.isEmpty() && leader.slot >= 0) {
+			int leaderX = store.x[leader.slot];
+			int leaderY = store.y[leader.slot];
+			long leaderDX = leaderX - x;
+			long leaderDY = leaderY - y;
+			if (leaderDX * leaderDX + leaderDY * leaderDY > (long) FOLLOW_DISTANCE * FOLLOW_DISTANCE) {
+				store.targetX[slot] = leaderX;
+				store.targetY[slot] = leaderY;
+				if (y > leaderY)
+					this.up = true;
+				else if (y < leaderY)
+					this.down = true;
+				if (x > leaderX)
+					this.left = true;
+				else if (x < leaderX)
+					this.right = true;
+			}
+		}
+
 		// Set the zombie's rotation towards the target
+		int targetX = store.targetX[slot];
+		int targetY = store.targetY[slot];
 		if (targetX != 0 && targetY != 0) {
-			double dx = this.position.x - targetX, dy = this.position.y - targetY;
+			double dx = x - targetX, dy = y - targetY;
 			if (dx == 0)
 				if (dy == 0)
-					this.rotation = 0;
+					store.rotation[slot] = 0;
 				else if (dy > 0)
-					this.rotation = Math.PI / 2;
+					store.rotation[slot] = Math.PI / 2;
 				else
-					this.rotation = Math.PI * 3 / 2;
+					store.rotation[slot] = Math.PI * 3 / 2;
 			else if (dy == 0)
 				if (dx > 0)
-					this.rotation = 0;
+					store.rotation[slot] = 0;
 				else
-					this.rotation = Math.PI;
+					store.rotation[slot] = Math.PI;
 			else if (dx < 0)
-				this.rotation = Math.atan(dy / dx) + Math.PI;
+				store.rotation[slot] = Math.atan(dy / dx) + Math.PI;
 			else if (dy < 0)
-				this.rotation = Math.atan(dy / dx) + (2 * Math.PI);
+				store.rotation[slot] = Math.atan(dy / dx) + (2 * Math.PI);
 			else
-				this.rotation = Math.atan(dy / dx);
+				store.rotation[slot] = Math.atan(dy / dx);
 		}
 
-		// Collide with the player by moving zombie sway from player
-		if ((Math.pow(player.getPosition().x - this.position.x, 2)
-				+ Math.pow(player.getPosition().y - this.position.y, 2)) < 1000) {
-			player.damage(Zombie.damage);
-			// If player is below
-			if (player.getPosition().y > this.position.y) {
-				this.up = true;
-				collideDown = true;
-			}
-			// If player is above
-			if (player.getPosition().y < this.position.y) {
-				this.down = true;
-				collideUp = true;
-			}
-			// If player is right
-			if (player.getPosition().x > this.position.x) {
-				this.left = true;
-				collideRight = true;
-			}
-			// If player is below
-			if (player.getPosition().x < this.position.x) {
-				this.right = true;
-				collideLeft = true;
-			}
+		// Collide with the player and other zombies by moving the zombie away
+		// from them, which also keeps the followers of a horde apart
+		this.map.getMobHash().forEachWithin(x, y, Zombie.CONTACT_RADIUS, this.contact);
+
+		// Decide the zombie's movement based on previous checks with collide
+		// overwriting movement
+		int speed = store.speed[slot];
+		int velocityX = 0;
+		int velocityY = 0;
+		if (this.up && !this.collideUp) {
+			velocityY -= speed;
 		}
-		// Collide with other zombies by moving zombie sway from player
-		for (int x = Math.max(chunkX - 1, 0); x < Math.min(chunkX + 2, map.getWidth() / 16); x++) {
-			for (int y = Math.max(chunkY - 1, 0); y < Math.min(chunkY + 1, map.getHeight() / 16); y++) {
-				for (int i = 0; i < getChunkMap()[x][y].getZombies().size(); i++) {
-					if (1 < getChunkMap()[x][y].getZombies().size()) {
-						Zombie checkZombie = getChunkMap()[x][y].getZombies().get(i);
-						if ((Math.pow(checkZombie.getPosition().x - this.position.x, 2)
-								+ Math.pow(checkZombie.getPosition().y - this.position.y, 2)) < 1100) {
-							// If player is below
-							if (checkZombie.getPosition().y > this.position.y) {
-								this.up = true;
-								collideDown = true;
-							}
-							// If player is above
-							if (checkZombie.getPosition().y < this.position.y) {
-								this.down = true;
-								collideUp = true;
-							}
-							// If player is right
-							if (checkZombie.getPosition().x > this.position.x) {
-								this.left = true;
-								collideRight = true;
-							}
-							// If player is left
-							if (checkZombie.getPosition().x < this.position.x) {
-								this.right = true;
-								collideLeft = true;
-							}
-						}
-
-					}
-				}
+		if (this.down && !this.collideDown) {
+			velocityY += speed;
+		}
+		if (this.left && !this.collideLeft) {
+			velocityX -= speed;
+		}
+		if (this.right && !this.collideRight) {
+			velocityX += speed;
+		}
+		store.velocityX[slot] = velocityX;
+		store.velocityY[slot] = velocityY;
+
+		// Zombie makes a noise when moving to alert other zombies
+		if ((this.right || this.left || this.up || this.down) && isThinking()) {
+			store.intents[slot] |= ZombieStore.INTENT_NOISE;
+		}
+
+		// Go dormant once the zombie has nowhere to go, is not in a horde, is
+		// not being pushed and the player is not nearby
+		if (path.isEmpty() && leader == null && velocityX == 0 && velocityY == 0) {
+			long playerDX = this.player.getX() - x;
+			long playerDY = this.player.getY() - y;
+			if (playerDX * playerDX + playerDY * playerDY >= (long) Zombie.WAKE_RADIUS * Zombie.WAKE_RADIUS) {
+				store.intents[slot] |= ZombieStore.INTENT_SLEEP;
 			}
 		}
+	}
 
-		// Change zombie's coordinates based on previous checks with collide
-		// overwriting movement
+	/**
+	 * Second phase of an update: moves the zombie by the movement decided in
+	 * {@link #sense()}, sliding along or stopping short of the zombies it
+	 * would walk into. The zombies of a chunk must move one after another in
+	 * the order of the active set, each checking the positions that the
+	 * zombies before it moved to. Only zombies in the same chunk are read or
+	 * written, so different chunks can move at the same time on different
+	 * threads. A zombie near a zombie in another chunk stays where it is
+	 * until {@link #moveAcrossChunks()}. If the zombie leaves its chunk, it is
+	 * moved to the correct chunk once every zombie has been updated (see
+	 * ActiveSet).
+	 */
+	public void move() {
+		resolveMove(false);
+	}
+
+	/**
+	 * Moves the zombie if it was left where it was by {@link #move()} because
+	 * it was near a zombie in another chunk. Must be run on one thread, in
+	 * the same order every tick, once every chunk has moved.
+	 */
+	public void moveAcrossChunks() {
+		if ((this.store.intents[this.slot] & ZombieStore.INTENT_MOVE_LATER) != 0) {
+			resolveMove(true);
+		}
+	}
 
-		// Move up
-		if (this.up && !collideUp) {
-			this.getPosition().setLocation(this.getPosition().getX(), this.getPosition().getY() - this.movementSpeed);
+	/**
+	 * Moves the zombie by as much of its movement as does not take it too
+	 * close to another zombie, and records the movement made as its velocity.
+	 * 
+	 * @param acrossChunks
+	 *            whether zombies in other chunks can be checked. If not and
+	 *            one is near, the zombie is left to move later.
+	 */
+	private void resolveMove(boolean acrossChunks) {
+		ZombieStore store = this.store;
+		int slot = this.slot;
+		int velocityX = store.velocityX[slot];
+		int velocityY = store.velocityY[slot];
+		if (velocityX == 0 && velocityY == 0) {
+			return;
+		}
+		int x = store.x[slot];
+		int y = store.y[slot];
+		this.moveChunkX = Math.floorDiv(x, 512);
+		this.moveChunkY = Math.floorDiv(y, 512);
+		this.movingAcrossChunks = acrossChunks;
+		this.nearOtherChunk = false;
+		this.blockedMoves = 0;
+		this.map.getMobHash().forEachWithin(x, y, MOVE_RADIUS, this.mover);
+		if (this.nearOtherChunk) {
+			store.intents[slot] |= ZombieStore.INTENT_MOVE_LATER;
+			return;
 		}
-		// Move down
-		if (this.down && !collideDown) {
-			this.getPosition().setLocation(this.getPosition().getX(), this.getPosition().getY() + this.movementSpeed);
+
+		// Take the whole move if it is clear, otherwise slide along whichever
+		// axis is clear
+		if ((this.blockedMoves & 1) != 0) {
+			if (velocityX != 0 && (this.blockedMoves & 2) == 0) {
+				velocityY = 0;
+			} else if (velocityY != 0 && (this.blockedMoves & 4) == 0) {
+				velocityX = 0;
+			} else {
+				velocityX = 0;
+				velocityY = 0;
+			}
 		}
-		// Move right
-		if (this.left && !collideLeft) {
-			this.getPosition().setLocation(this.getPosition().getX() - this.movementSpeed, this.getPosition().getY());
+		store.velocityX[slot] = velocityX;
+		store.velocityY[slot] = velocityY;
+		store.x[slot] = x + velocityX;
+		store.y[slot] = y + velocityY;
+	}
+
+	/**
+	 * Checks if moving to a position would take a zombie too close to another
+	 * zombie.
+	 * 
+	 * @param x
+	 *            the x coordinate moved to.
+	 * @param y
+	 *            the y coordinate moved to.
+	 * @param otherX
+	 *            the x coordinate of the other zombie.
+	 * @param otherY
+	 *            the y coordinate of the other zombie.
+	 * @param distance
+	 *            the squared distance between the zombies before the move.
+	 * @return whether the move ends inside the separation and closer than the
+	 *         zombies were before. Zombies that already overlap can still
+	 *         move apart.
+	 */
+	private static boolean closesIn(int x, int y, int otherX, int otherY, long distance) {
+		long dx = otherX - x;
+		long dy = otherY - y;
+		long moved = dx * dx + dy * dy;
+		return moved < SEPARATION && moved < distance;
+	}
+
+	/**
+	 * Last phase of an update: carries out the intents decided in
+	 * {@link #sense()} that affect other entities. Must be run on one thread,
+	 * in the same order every tick.
+	 */
+	public void act() {
+		ZombieStore store = this.store;
+		int slot = this.slot;
+		int intents = store.intents[slot];
+
+		if ((intents & ZombieStore.INTENT_HIT_PLAYER) != 0) {
+			this.player.damage(Zombie.damage);
 		}
-		// Move left
-		if (this.right && !collideRight) {
-			this.getPosition().setLocation(this.getPosition().getX() + this.movementSpeed, this.getPosition().getY());
+		if ((intents & ZombieStore.INTENT_WAKE_OTHERS) != 0) {
+			// Search from the position the zombie sensed from
+			this.map.getMobHash().forEachWithin(store.x[slot] - store.velocityX[slot],
+					store.y[slot] - store.velocityY[slot], Zombie.CONTACT_RADIUS, this.waker);
 		}
-		// Zombie makes a noise when moving to alert other zombies
-		if (this.right || this.left || this.up || this.down) {
+		if ((intents & ZombieStore.INTENT_NOISE) != 0) {
 			makeNoise(100, false);
 		}
-		// If zombie is no longer in the same chunk move zombie to correct chunk
-		if (chunkX != this.position.x / 512 || chunkY != this.position.y / 512) {
-			getChunkMap()[chunkX][chunkY].removeZombie(this);
-			chunkX = this.position.x / 512;
-			chunkY = this.position.y / 512;
-			if (!(chunkX > getChunkMap().length - 1 || chunkY > getChunkMap()[0].length - 1 || chunkX < 0
-					|| chunkY < 0))
-				getChunkMap()[chunkX][chunkY].addZombie(this);
+		// Followers only check on their horde, which may find them a new
+		// path, when they think
+		if (store.leaders[slot] != null && isThinking()) {
+			keepUpWithHorde();
+		}
+		// Another zombie's noise may have given this zombie a path or a horde
+		// since it decided to sleep
+		if ((intents & ZombieStore.INTENT_SLEEP) != 0 && store.paths[slot].isEmpty()
+				&& store.leaders[slot] == null) {
+			store.sleep(slot);
+		}
+	}
+
+	/**
+	 * Checks if the zombie thinks this tick. Under load zombies only think
+	 * every few ticks, spread out by their handle. Thinking is when a zombie
+	 * passes its noise on and checks on its horde. Zombies still collide with
+	 * the player and each other every tick.
+	 * 
+	 * @return whether or not the zombie thinks this tick.
+	 */
+	private boolean isThinking() {
+		return (this.game.getTickCount() + this.getHandle()) % this.map.getSimulationBudget().getThinkInterval() == 0;
+	}
+
+	/**
+	 * Updates the horde that the zombie follows. The zombie moves up to the
+	 * leader of its leader if its leader joined another horde, leaves the
+	 * horde once the leader has been killed or has arrived, and splits off
+	 * into a horde of its own with a path to the same place once it falls too
+	 * far behind.
+	 */
+	private void keepUpWithHorde() {
+		ZombieStore store = this.store;
+		int slot = this.slot;
+		Zombie leader = store.leaders[slot];
+		if (leader.slot < 0) {
+			store.leaders[slot] = null;
+			return;
+		}
+		if (store.leaders[leader.slot] != null) {
+			store.leaders[slot] = store.leaders[leader.slot];
+			return;
+		}
+
+		Stack<Node> leaderPath = store.paths[leader.slot];
+		if (leaderPath.isEmpty()) {
+			store.leaders[slot] = null;
+			return;
+		}
+		long dx = store.x[leader.slot] - store.x[slot];
+		long dy = store.y[leader.slot] - store.y[slot];
+		if (dx * dx + dy * dy > (long) SPLIT_RADIUS * SPLIT_RADIUS) {
+			store.leaders[slot] = null;
+			setPath(this.map.getPathFinder().findPath(store.paths[slot], (store.x[slot] + 16) / 32,
+					(store.y[slot] + 16) / 32, leaderPath.get(0).locationX, leaderPath.get(0).locationY));
 		}
 	}
 
+	/**
+	 * Makes the zombie follow the leader of a horde instead of planning a
+	 * path of its own. The zombie forgets its path and wakes up.
+	 * 
+	 * @param leader
+	 *            the leader of the horde, or a zombie in the horde.
+	 */
+	public void follow(Zombie leader) {
+		if (this.slot < 0 || leader.slot < 0) {
+			return;
+		}
+		// Follow the leader at the head of the horde
+		while (this.store.leaders[leader.slot] != null) {
+			leader = this.store.leaders[leader.slot];
+		}
+		if (leader == this) {
+			return;
+		}
+		this.store.paths[this.slot].clear();
+		this.store.leaders[this.slot] = leader;
+		this.store.wake(this.slot);
+	}
+
+	/**
+	 * Gets the leader of the horde that the zombie follows.
+	 * 
+	 * @return the leader. Returns null if the zombie is not following anyone.
+	 */
+	public Zombie getLeader() {
+		if (this.slot < 0) {
+			return null;
+		}
+		return this.store.leaders[this.slot];
+	}
+
+	/**
+	 * Wakes up the zombie so that it is updated every tick.
+	 */
+	public void wake() {
+		if (this.slot >= 0) {
+			this.store.wake(this.slot);
+		}
+	}
+
+	/**
+	 * Moves the zombie straight to a new position, as done by the background
+	 * simulation. The zombie forgets its path and goes dormant. The caller is
+	 * responsible for moving the zombie into the right chunk.
+	 * 
+	 * @param x
+	 *            the new x coordinate in pixels.
+	 * @param y
+	 *            the new y coordinate in pixels.
+	 */
+	public void relocate(int x, int y) {
+		this.store.x[this.slot] = x;
+		this.store.y[this.slot] = y;
+		this.store.velocityX[this.slot] = 0;
+		this.store.velocityY[this.slot] = 0;
+		this.store.targetX[this.slot] = 0;
+		this.store.targetY[this.slot] = 0;
+		this.store.paths[this.slot].clear();
+		this.store.leaders[this.slot] = null;
+		this.store.sleep(this.slot);
+	}
+
+	public boolean isAwake() {
+		return this.slot >= 0 && this.store.isAwake(this.slot);
+	}
+
 	@Override
 	public void damage(int health) {
+		// Zombies that have already been killed cannot be damaged again
+		if (this.slot < 0) {
+			return;
+		}
 		super.damage(health);
 
-		if (this.health <= 0) {
-			this.chunkMap[this.position.x / 512][this.position.y / 512]
-					.add(new Corpse(position, rotation, images, game, map));
+		if (this.getHealth() <= 0) {
+			// Stamp the corpse onto the ground of the map
+			int x = this.getX();
+			int y = this.getY();
+			this.map.getDecalLayer().stamp(this.images[5], x, y, this.getRotation());
+
+			// Keep the final state on the view, free the zombie's slot and give
+			// the zombie back to the pool
+			this.x = x;
+			this.y = y;
+			this.health = this.getHealth();
+			this.rotation = this.getRotation();
+			this.movementSpeed = this.getMovementSpeed();
+			if (this.path == null) {
+				this.path = new Stack<Node>();
+			} else {
+				this.path.clear();
+			}
+			this.store.remove(this.slot);
+			this.slot = -1;
+			this.game.getZombiePool().free(this);
 		}
 	}
 
 	@Override
-	public void render(Graphics g) {
-		Graphics2D g2D = (Graphics2D) g;
-
-		// Store the original transform of the graphics variable
-		AffineTransform originalTransform = g2D.getTransform();
-
-		// Rotate the graphics variable and then draw the image in the zombie's
-		// position relative to the camera
-		g2D.rotate(this.rotation, this.position.getX() - this.game.getCamera().getxOffset() + this.width / 2,
-				this.position.getY() - this.game.getCamera().getyOffset() + this.height / 2);
-		g2D.drawImage(this.images[this.zombieVariant], (int) (this.position.x - this.game.getCamera().getxOffset()),
-				(int) (this.position.y - this.game.getCamera().getyOffset()), null);
+	public void capture(RenderSnapshot snapshot) {
+		int health = this.store.health[this.slot];
 
-		// Reset the transform of the graphics variable to its original
-		// transform
-		g2D.setTransform(originalTransform);
+		// Draw the frame of the zombie's image closest to its rotation around
+		// the zombie's centre
+		captureMotion(snapshot, this.store.x[this.slot] + this.width / 2, this.store.y[this.slot] + this.height / 2,
+				this.store.rotation[this.slot]);
+		snapshot.addSprite(this.images[this.store.variant[this.slot]], -this.width / 2, -this.height / 2);
 
 		// If the zombie has less than full health, draw a health bar undernear
 		// the zombie
-		if (this.health < Zombie.zombieHealth) {
-			g2D.drawRect((int) (this.position.x - this.game.getCamera().getxOffset()) - 6,
-					(int) (this.position.y - this.game.getCamera().getyOffset()) + 33, 44, 6);
-			g2D.setColor(Color.RED);
-			g2D.fillRect((int) (this.position.x - this.game.getCamera().getxOffset()) - 5,
-					(int) (this.position.y - this.game.getCamera().getyOffset()) + 34,
-					(int) (42 * (this.health / (Zombie.zombieHealth * 1.0))), 5);
-			g2D.setColor(Color.BLACK);
+		if (health < Zombie.zombieHealth) {
+			snapshot.addHealthBar(-6 - this.width / 2, 33 - this.height / 2, health / (Zombie.zombieHealth * 1.0));
+		}
+	}
+
+	/**
+	 * Gets the zombie's x coordinate from the zombie store, or the coordinate
+	 * it died at if it has been killed.
+	 * 
+	 * @return the x coordinate of the zombie in the map in pixels.
+	 */
+	@Override
+	public int getX() {
+		return this.slot >= 0 ? this.store.x[this.slot] : this.x;
+	}
+
+	/**
+	 * Gets the zombie's y coordinate from the zombie store, or the coordinate
+	 * it died at if it has been killed.
+	 * 
+	 * @return the y coordinate of the zombie in the map in pixels.
+	 */
+	@Override
+	public int getY() {
+		return this.slot >= 0 ? this.store.y[this.slot] : this.y;
+	}
+
+	@Override
+	public void setPosition(int x, int y) {
+		if (this.slot >= 0) {
+			this.store.x[this.slot] = x;
+			this.store.y[this.slot] = y;
+		}
+		this.x = x;
+		this.y = y;
+	}
+
+	@Override
+	public int getHealth() {
+		if (this.slot >= 0) {
+			return this.store.health[this.slot];
+		}
+		return this.health;
+	}
+
+	@Override
+	public void setHealth(int health) {
+		if (this.slot >= 0) {
+			this.store.health[this.slot] = health;
+		} else {
+			this.health = health;
 		}
 	}
-	
+
+	public double getRotation() {
+		if (this.slot >= 0) {
+			return this.store.rotation[this.slot];
+		}
+		return this.rotation;
+	}
+
+	@Override
+	public int getMovementSpeed() {
+		if (this.slot >= 0) {
+			return this.store.speed[this.slot];
+		}
+		return this.movementSpeed;
+	}
+
+	@Override
+	public void setMovementSpeed(int movementSpeed) {
+		if (this.slot >= 0) {
+			this.store.speed[this.slot] = movementSpeed;
+		} else {
+			this.movementSpeed = movementSpeed;
+		}
+	}
+
+	@Override
 	public Stack<Node> getPath() {
-		return path;
+		if (this.slot >= 0) {
+			return this.store.paths[this.slot];
+		}
+		return this.path;
 	}
 
+	@Override
 	public void setPath(Stack<Node> path) {
-		this.path = path;
+		// Zombies that have been killed keep the path on the view
+		if (this.slot < 0) {
+			this.path = path;
+			return;
+		}
+		this.store.paths[this.slot] = path;
+		// Zombies wake up and lead their own horde once they have somewhere
+		// to go
+		if (!path.isEmpty()) {
+			this.store.leaders[this.slot] = null;
+			this.store.wake(this.slot);
+		}
+	}
+
+	/**
+	 * Gets the zombie's slot in the zombie store.
+	 * 
+	 * @return the slot number. Returns -1 if the zombie has been killed.
+	 */
+	public int getSlot() {
+		return this.slot;
+	}
+
+	/**
+	 * Sets the zombie's slot. Used by the zombie store when it moves the
+	 * zombie's state to another slot.
+	 * 
+	 * @param slot
+	 *            the new slot number.
+	 */
+	void setSlot(int slot) {
+		this.slot = slot;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,340 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.Stack;
+
+import utilities.Node;
+
+/**
+ * Stores the simulation state of every zombie in a map in parallel arrays.<br>
+ * Each zombie occupies one slot, and {@link Zombie} objects are lightweight
+ * views that read and write their slot. Keeping the state in primitive arrays
+ * lets update loops scan zombies linearly instead of following references
+ * around the heap.<br>
+ * <br>
+ * Zombies start dormant and are only simulated once they are woken up. The
+ * slots of the awake zombies are kept in a separate list so that update loops
+ * only visit awake zombies.<br>
+ * <br>
+ * Removing a zombie moves the zombie in the last slot into the freed slot, so
+ * slot numbers are only stable until the next removal.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Zombie
+ * @since 1.0
+ * @version 1.0
+ */
+public class ZombieStore {
+	/**
+	 * Intent set when a zombie wants to pass its noise on after moving.
+	 */
+	static final int INTENT_NOISE = 1;
+
+	/**
+	 * Intent set when a zombie touched the player and wants to damage them.
+	 */
+	static final int INTENT_HIT_PLAYER = 2;
+
+	/**
+	 * Intent set when a zombie touched a dormant zombie and wants to wake it.
+	 */
+	static final int INTENT_WAKE_OTHERS = 4;
+
+	/**
+	 * Intent set when a zombie wants to go dormant.
+	 */
+	static final int INTENT_SLEEP = 8;
+
+	/**
+	 * Intent set when a zombie is near a zombie in another chunk and has to
+	 * move once every chunk has moved.
+	 */
+	static final int INTENT_MOVE_LATER = 16;
+
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private int size;
+
+	Zombie[] zombies;
+	int[] x;
+	int[] y;
+
+	/**
+	 * The number of pixels each zombie moved by during its last update. While
+	 * zombies are being updated, this is the movement they have decided on.
+	 */
+	int[] velocityX;
+	int[] velocityY;
+
+	int[] health;
+	int[] speed;
+	int[] variant;
+
+	/**
+	 * The rotation of each zombie in radians.
+	 */
+	double[] rotation;
+
+	/**
+	 * The pixel coordinates of the path node each zombie is walking towards
+	 * (0 if it does not have one).
+	 */
+	int[] targetX;
+	int[] targetY;
+
+	/**
+	 * The path of each zombie. The slot number is the zombie's path handle.
+	 */
+	Stack<Node>[] paths;
+
+	/**
+	 * The zombie whose horde each zombie follows (null if the zombie is not
+	 * following anyone).
+	 */
+	Zombie[] leaders;
+
+	/**
+	 * The actions that each zombie decided on during the current update and
+	 * that affect other entities (a combination of the INTENT flags).
+	 */
+	byte[] intents;
+
+	/**
+	 * The position of each zombie in the awake list (-1 if it is dormant).
+	 */
+	int[] awakeIndex;
+
+	/**
+	 * The slots of the awake zombies.
+	 */
+	private int[] awake;
+	private int noOfAwake;
+
+	/**
+	 * Constructs a new empty ZombieStore object.
+	 */
+	public ZombieStore() {
+		this.zombies = new Zombie[DEFAULT_CAPACITY];
+		this.x = new int[DEFAULT_CAPACITY];
+		this.y = new int[DEFAULT_CAPACITY];
+		this.velocityX = new int[DEFAULT_CAPACITY];
+		this.velocityY = new int[DEFAULT_CAPACITY];
+		this.health = new int[DEFAULT_CAPACITY];
+		this.speed = new int[DEFAULT_CAPACITY];
+		this.variant = new int[DEFAULT_CAPACITY];
+		this.rotation = new double[DEFAULT_CAPACITY];
+		this.targetX = new int[DEFAULT_CAPACITY];
+		this.targetY = new int[DEFAULT_CAPACITY];
+		this.paths = newPaths(DEFAULT_CAPACITY);
+		this.leaders = new Zombie[DEFAULT_CAPACITY];
+		this.intents = new byte[DEFAULT_CAPACITY];
+		this.awakeIndex = new int[DEFAULT_CAPACITY];
+		this.awake = new int[DEFAULT_CAPACITY];
+	}
+
+	/**
+	 * Adds a zombie to the store.
+	 *
+	 * @param zombie
+	 *            the zombie view of the new slot.
+	 * @param x
+	 *            the x coordinate of the zombie in pixels.
+	 * @param y
+	 *            the y coordinate of the zombie in pixels.
+	 * @param health
+	 *            the health of the zombie.
+	 * @param speed
+	 *            the movement speed of the zombie in pixels per tick.
+	 * @param variant
+	 *            a number representing the zombie's skin.
+	 * @param rotation
+	 *            the rotation of the zombie in radians.
+	 * @return the slot of the zombie.
+	 */
+	int add(Zombie zombie, int x, int y, int health, int speed, int variant, double rotation) {
+		if (this.size == this.zombies.length) {
+			grow();
+		}
+		int slot = this.size++;
+		this.zombies[slot] = zombie;
+		this.x[slot] = x;
+		this.y[slot] = y;
+		this.velocityX[slot] = 0;
+		this.velocityY[slot] = 0;
+		this.health[slot] = health;
+		this.speed[slot] = speed;
+		this.variant[slot] = variant;
+		this.rotation[slot] = rotation;
+		this.targetX[slot] = 0;
+		this.targetY[slot] = 0;
+		if (this.paths[slot] == null) {
+			this.paths[slot] = new Stack<Node>();
+		} else {
+			this.paths[slot].clear();
+		}
+		this.leaders[slot] = null;
+		this.intents[slot] = 0;
+		this.awakeIndex[slot] = -1;
+		return slot;
+	}
+
+	/**
+	 * Removes the zombie in a slot by moving the zombie in the last slot into
+	 * it.
+	 *
+	 * @param slot
+	 *            the slot to remove.
+	 */
+	void remove(int slot) {
+		sleep(slot);
+		int last = --this.size;
+		Stack<Node> removedPath = this.paths[slot];
+		if (slot != last) {
+			this.zombies[slot] = this.zombies[last];
+			this.x[slot] = this.x[last];
+			this.y[slot] = this.y[last];
+			this.velocityX[slot] = this.velocityX[last];
+			this.velocityY[slot] = this.velocityY[last];
+			this.health[slot] = this.health[last];
+			this.speed[slot] = this.speed[last];
+			this.variant[slot] = this.variant[last];
+			this.rotation[slot] = this.rotation[last];
+			this.targetX[slot] = this.targetX[last];
+			this.targetY[slot] = this.targetY[last];
+			this.paths[slot] = this.paths[last];
+			this.leaders[slot] = this.leaders[last];
+			this.intents[slot] = this.intents[last];
+			this.awakeIndex[slot] = this.awakeIndex[last];
+			if (this.awakeIndex[slot] >= 0) {
+				this.awake[this.awakeIndex[slot]] = slot;
+			}
+			this.zombies[slot].setSlot(slot);
+		}
+		// Keep the removed path so that the next zombie added can reuse it
+		this.paths[last] = removedPath;
+		this.zombies[last] = null;
+		this.leaders[last] = null;
+	}
+
+	/**
+	 * Wakes up the zombie in a slot so that it is simulated.
+	 *
+	 * @param slot
+	 *            the slot of the zombie.
+	 */
+	void wake(int slot) {
+		if (this.awakeIndex[slot] >= 0) {
+			return;
+		}
+		this.awakeIndex[slot] = this.noOfAwake;
+		this.awake[this.noOfAwake++] = slot;
+	}
+
+	/**
+	 * Puts the zombie in a slot to sleep so that it is no longer simulated.
+	 *
+	 * @param slot
+	 *            the slot of the zombie.
+	 */
+	void sleep(int slot) {
+		int index = this.awakeIndex[slot];
+		if (index < 0) {
+			return;
+		}
+		// Move the last awake zombie into the freed position
+		int lastSlot = this.awake[--this.noOfAwake];
+		this.awake[index] = lastSlot;
+		this.awakeIndex[lastSlot] = index;
+		this.awakeIndex[slot] = -1;
+	}
+
+	/**
+	 * Doubles the capacity of every array.
+	 */
+	private void grow() {
+		int capacity = this.zombies.length * 2;
+		this.zombies = Arrays.copyOf(this.zombies, capacity);
+		this.x = Arrays.copyOf(this.x, capacity);
+		this.y = Arrays.copyOf(this.y, capacity);
+		this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+		this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+		this.health = Arrays.copyOf(this.health, capacity);
+		this.speed = Arrays.copyOf(this.speed, capacity);
+		this.variant = Arrays.copyOf(this.variant, capacity);
+		this.rotation = Arrays.copyOf(this.rotation, capacity);
+		this.targetX = Arrays.copyOf(this.targetX, capacity);
+		this.targetY = Arrays.copyOf(this.targetY, capacity);
+		this.paths = Arrays.copyOf(this.paths, capacity);
+		this.leaders = Arrays.copyOf(this.leaders, capacity);
+		this.intents = Arrays.copyOf(this.intents, capacity);
+		this.awakeIndex = Arrays.copyOf(this.awakeIndex, capacity);
+		this.awake = Arrays.copyOf(this.awake, capacity);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Stack<Node>[] newPaths(int capacity) {
+		return (Stack<Node>[]) new Stack[capacity];
+	}
+
+	/**
+	 * Gets the number of zombies in the store.
+	 *
+	 * @return the number of zombies.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the number of awake zombies.
+	 *
+	 * @return the number of awake zombies.
+	 */
+	public int getNoOfAwake() {
+		return this.noOfAwake;
+	}
+
+	/**
+	 * Gets the slot of an awake zombie.
+	 *
+	 * @param index
+	 *            the position in the awake list (from 0 to getNoOfAwake() -
+	 *            1).
+	 * @return the slot of the zombie.
+	 */
+	public int getAwake(int index) {
+		return this.awake[index];
+	}
+
+	public boolean isAwake(int slot) {
+		return this.awakeIndex[slot] >= 0;
+	}
+
+	public Zombie get(int slot) {
+		return this.zombies[slot];
+	}
+
+	public int getX(int slot) {
+		return this.x[slot];
+	}
+
+	public int getY(int slot) {
+		return this.y[slot];
+	}
+
+	public int getVelocityX(int slot) {
+		return this.velocityX[slot];
+	}
+
+	public int getVelocityY(int slot) {
+		return this.velocityY[slot];
+	}
+
+	public int getHealth(int slot) {
+		return this.health[slot];
+	}
+
+	public double getRotation(int slot) {
+		return this.rotation[slot];
+	}
+}
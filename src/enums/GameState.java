@@ -103,7 +103,7 @@ public class GameState {
 			this.game.getDisplay().getMain().render(g);
 			break;
 		case INGAME:
-			this.game.getDisplay().getGameScreen().render(g);
+			// The game screen is captured into the render snapshot instead
 			break;
 		case PAUSE:
 			this.game.getDisplay().getPause().render(g);
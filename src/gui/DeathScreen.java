@@ -54,8 +54,8 @@ public class DeathScreen extends Screen {
 		g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		// Make the background black
 		g2D.setColor(Color.BLACK);
-		g2D.fillRect(0, 0, game.getDisplay().getFrame().getWidth(), game.getDisplay().getFrame().getHeight());
-		g.drawRect(0, 0, game.getDisplay().getFrame().getWidth(), game.getDisplay().getFrame().getHeight());
+		g2D.fillRect(0, 0, game.getDisplay().getWidth(), game.getDisplay().getHeight());
+		g.drawRect(0, 0, game.getDisplay().getWidth(), game.getDisplay().getHeight());
 
 		// Changes the color of the hand
 		g.setColor(new Color((int) colour, 0, 0));
@@ -7,6 +7,7 @@
 package gui;
 
 import java.awt.Dimension;
+import java.awt.GraphicsEnvironment;
 
 import javax.swing.JFrame;
 
@@ -46,16 +47,12 @@ public class Display {
 	}
 
 	/**
-	 * Creates the display.
+	 * Creates the display. When running headless (such as for benchmarks), no
+	 * window is made and the game can only be drawn offscreen.
 	 */
 	private void createDisplay() {
 		// Creates the main display
 		game = new GameScreen();
-		frame = new JFrame(title);
-		frame.setSize(width, height);
-		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		frame.setLocationRelativeTo(null);
-		frame.setResizable(false);
 
 		// Sets the size of the game
 		game.setPreferredSize(new Dimension(width, height));
@@ -76,8 +73,18 @@ public class Display {
 		score = new ScoreScreen(null);
 		help = new HelpScreen(null);
 
-		// Adds a key handler to the frame so we can receive key input
 		keyHandler = new KeyHandler();
+		if (GraphicsEnvironment.isHeadless()) {
+			return;
+		}
+
+		frame = new JFrame(title);
+		frame.setSize(width, height);
+		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		frame.setLocationRelativeTo(null);
+		frame.setResizable(false);
+
+		// Adds a key handler to the frame so we can receive key input
 		frame.addKeyListener(keyHandler);
 		frame.add(game);
 		frame.pack();
@@ -85,6 +92,33 @@ public class Display {
 		frame.setVisible(true);
 	}
 
+	/**
+	 * Gets the width of the frame, or of the screen when there is no frame.
+	 * 
+	 * @return the width in pixels.
+	 */
+	public int getWidth() {
+		return frame != null ? frame.getWidth() : width;
+	}
+
+	/**
+	 * Gets the height of the frame, or of the screen when there is no frame.
+	 * 
+	 * @return the height in pixels.
+	 */
+	public int getHeight() {
+		return frame != null ? frame.getHeight() : height;
+	}
+
+	/**
+	 * Checks whether or not the game is shown in a window.
+	 * 
+	 * @return false if running headless.
+	 */
+	public boolean hasFrame() {
+		return frame != null;
+	}
+
 	public MainScreen getMain() {
 		return main;
 	}
@@ -2,13 +2,19 @@ package gui;
 
 import java.awt.Canvas;
 import java.awt.Color;
-import java.awt.Graphics;
 
 import main.Game;
+import map.BackgroundSimulation;
 import map.Chunk;
+import map.EntityList;
 import map.Map;
+import map.RenderSnapshot;
+import map.SimulationBudget;
+import map.SpatialHash;
 import map.World;
+import map.WorldQuery;
 import entities.Inventory;
+import entities.Zombie;
 
 /**
  * The game screen which renders the actual game
@@ -27,42 +33,91 @@ public class GameScreen extends Canvas {
 	private Map map;
 
 	/**
-	 * Used to render the game onto the screen.
+	 * Wakes up the dormant zombies found near the player.
+	 */
+	private final WorldQuery.ZombieVisitor waker = new WorldQuery.ZombieVisitor() {
+		public void visit(Zombie zombie) {
+			zombie.wake();
+		}
+	};
+
+	/**
+	 * Adds the world, and the HUD and everything else drawn over it, to the
+	 * snapshot of the tick to be drawn.
 	 * 
-	 * @param g
-	 *            the graphics object used to draw to the screen.
+	 * @param snapshot
+	 *            the snapshot being filled.
 	 */
-	public void render(Graphics g) {
-		// Do not render the world and HUD if they have not been setup
+	public void capture(RenderSnapshot snapshot) {
+		// Do not capture the world and HUD if they have not been setup
 		if (setUp) {
-			world.render(g);
-			hud.render(g);
+			world.capture(snapshot);
+			snapshot.startOverlay();
+			world.captureOverlay(snapshot);
+			hud.capture(snapshot);
 		}
 		// Draws the current level to the screen
-		g.setColor(Color.WHITE);
-		g.setFont(game.getUiFontS());
-		g.drawString("LEVEL: " + game.getLevel(), 5, 25);
+		snapshot.setColor(Color.WHITE);
+		snapshot.setFont(game.getUiFontS());
+		snapshot.drawString("LEVEL: " + game.getLevel(), 5, 25);
 	}
 
 	/**
 	 * Updates the game screen.
 	 */
 	public void update() {
+		long startTime = System.nanoTime();
+
 		// Updates the player location
 		world.getPlayer().update();
 		// Updates chunks of the map
+		SimulationBudget budget = map.getSimulationBudget();
+		int radius = budget.getRadius();
 		int chunkX = Math.max(
-				(int) world.getPlayer().getPosition().getX() / 512, 2);
+				world.getPlayer().getX() / 512, radius);
 		int chunkY = Math.max(
-				(int) world.getPlayer().getPosition().getY() / 512, 2);
-		for (int x = chunkX - 2; x < Math.min(chunkX + 3, map.getWidth() / 16); x++) {
-			for (int y = chunkY - 2; y < Math.min(chunkY + 3,
-					map.getHeight() / 16); y++) {
-				for (int i = 0; i < chunkMap[x][y].getZombies().size(); i++) {
-					chunkMap[x][y].getZombies().get(i).update();
+				world.getPlayer().getY() / 512, radius);
+
+		// The chunk area around the player that is updated, which grows and
+		// shrinks with the time left in each tick
+		int minChunkX = chunkX - radius;
+		int maxChunkX = Math.min(chunkX + radius + 1, map.getWidth() / 16);
+		int minChunkY = chunkY - radius;
+		int maxChunkY = Math.min(chunkY + radius + 1, map.getHeight() / 16);
+
+		// Move the zombies outside of the updated chunks once a second
+		if (game.getTickCount() % BackgroundSimulation.INTERVAL == 0) {
+			map.getBackgroundSimulation().step(minChunkX, maxChunkX, minChunkY, maxChunkY);
+		}
+
+		// Wake up the dormant zombies near the player
+		map.getWorldQuery().forEachZombieWithin(world.getPlayer().getX(),
+				world.getPlayer().getY(), Zombie.WAKE_RADIUS, waker);
+
+		// Rebuild the grid used for contact checks with the player and the
+		// zombies in and around the updated chunks. Dormant zombies are
+		// included so that awake zombies still collide with them
+		SpatialHash mobHash = map.getMobHash();
+		mobHash.clear();
+		mobHash.insert(world.getPlayer());
+		for (int x = Math.max(minChunkX - 1, 0); x < Math.min(maxChunkX + 1, chunkMap.length); x++) {
+			for (int y = Math.max(minChunkY - 1, 0); y < Math.min(maxChunkY + 1, chunkMap[0].length); y++) {
+				if (!chunkMap[x][y].hasZombies()) {
+					continue;
+				}
+				EntityList<Zombie> zombies = chunkMap[x][y].getZombies();
+				for (int i = 0; i < zombies.size(); i++) {
+					mobHash.insert(zombies.get(i));
 				}
 			}
 		}
+
+		// Build the set of awake zombies in the updated chunks and update each
+		// of them once across the available cores
+		map.getActiveSet().build(minChunkX, maxChunkX, minChunkY, maxChunkY);
+		map.getCrowdSimulation().update();
+
+		budget.recordTick(System.nanoTime() - startTime);
 	}
 
 	/**
@@ -73,6 +128,10 @@ public class GameScreen extends Canvas {
 	 */
 	public void setup(Game game) {
 		this.game = game;
+		// Give the last map's zombies back to be reused
+		if (this.map != null) {
+			this.map.releaseEntities();
+		}
 		// Creates new world and HUD
 		world = new World(game, 400, 400, null, 0);
 		hud = new HUD(world.getPlayer());
@@ -96,6 +155,10 @@ public class GameScreen extends Canvas {
 	 */
 	public void setup(Game game, int size, Inventory inventory, int skinNo) {
 		this.game = game;
+		// Give the last map's zombies back to be reused
+		if (this.map != null) {
+			this.map.releaseEntities();
+		}
 		// Setup the new world with items saved from the last game
 		world = new World(game, size, size, inventory, skinNo);
 		hud = new HUD(world.getPlayer());
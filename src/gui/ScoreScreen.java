@@ -48,8 +48,8 @@ public class ScoreScreen extends Screen {
 
 		// Makes the background black
 		g2D.setColor(Color.BLACK);
-		g2D.fillRect(0, 0, game.getDisplay().getFrame().getWidth(), game.getDisplay().getFrame().getHeight());
-		g.drawRect(0, 0, game.getDisplay().getFrame().getWidth(), game.getDisplay().getFrame().getHeight());
+		g2D.fillRect(0, 0, game.getDisplay().getWidth(), game.getDisplay().getHeight());
+		g.drawRect(0, 0, game.getDisplay().getWidth(), game.getDisplay().getHeight());
 
 		// Changes the color of the hand
 		g.setColor(new Color((int) colour, 0, 0));
@@ -1,7 +1,6 @@
 package items;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
 
@@ -9,6 +8,7 @@ import entities.Player;
 import enums.ItemEffect;
 import enums.ItemState;
 import main.Game;
+import map.RenderSnapshot;
 import utilities.SoundEffect;
 
 /**
@@ -180,61 +180,61 @@ public class Consumable extends Item {
 	}
 
 	@Override
-	public void renderTooltip(Graphics g, Point mouseLocation) {
+	public void captureTooltip(RenderSnapshot snapshot, Point mouseLocation) {
 		// Render the tooltip's background depending on its rarity
-		g.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
-		g.fillRect(mouseLocation.x, mouseLocation.y - 175, 300, 175);
+		snapshot.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
+		snapshot.fillRect(mouseLocation.x, mouseLocation.y - 175, 300, 175);
 
 		// Write the item's name
-		g.setColor(new Color(0, 0, 0, 200));
-		g.setFont(this.game.getUiFont());
-		g.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 125);
+		snapshot.setColor(new Color(0, 0, 0, 200));
+		snapshot.setFont(this.game.getUiFont());
+		snapshot.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 125);
 
 		// Write the item's rarity
-		g.setFont(this.game.getUiFontXS());
+		snapshot.setFont(this.game.getUiFontXS());
 		switch (this.rarity) {
 		case 5:
-			g.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 4:
-			g.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 3:
-			g.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 2:
-			g.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 1:
-			g.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		}
 
 		// Write the effect of the item and how much of the effect it does
 		switch (this.effect) {
 		case HEAL:
-			g.drawString("Healing item", mouseLocation.x + 20, mouseLocation.y - 90);
-			g.setFont(this.game.getUiFontS());
-			g.drawString("Heals " + this.effectValue + " health", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Healing item", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.setFont(this.game.getUiFontS());
+			snapshot.drawString("Heals " + this.effectValue + " health", mouseLocation.x + 20, mouseLocation.y - 65);
 			if (this.durability == 1) {
-				g.drawString("Can be used " + this.durability + " time", mouseLocation.x + 20, mouseLocation.y - 40);
+				snapshot.drawString("Can be used " + this.durability + " time", mouseLocation.x + 20, mouseLocation.y - 40);
 			} else {
-				g.drawString("Can be used " + this.durability + " times", mouseLocation.x + 20, mouseLocation.y - 40);
+				snapshot.drawString("Can be used " + this.durability + " times", mouseLocation.x + 20, mouseLocation.y - 40);
 			}
 			break;
 		case AMMO:
-			g.drawString("Ammo", mouseLocation.x + 20, mouseLocation.y - 90);
-			g.setFont(this.game.getUiFontS());
-			g.drawString("Reloads " + this.durability + " ammo", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Ammo", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.setFont(this.game.getUiFontS());
+			snapshot.drawString("Reloads " + this.durability + " ammo", mouseLocation.x + 20, mouseLocation.y - 65);
 			break;
 		case SPEED_BUFF:
-			g.drawString("Buff", mouseLocation.x + 20, mouseLocation.y - 90);
-			g.setFont(this.game.getUiFontS());
-			g.drawString("Temporarily increases speed", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Buff", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.setFont(this.game.getUiFontS());
+			snapshot.drawString("Temporarily increases speed", mouseLocation.x + 20, mouseLocation.y - 65);
 			if (this.durability == 1) {
-				g.drawString("Can be used " + this.durability + " time", mouseLocation.x + 20, mouseLocation.y - 40);
+				snapshot.drawString("Can be used " + this.durability + " time", mouseLocation.x + 20, mouseLocation.y - 40);
 			} else {
-				g.drawString("Can be used " + this.durability + " times", mouseLocation.x + 20, mouseLocation.y - 40);
+				snapshot.drawString("Can be used " + this.durability + " times", mouseLocation.x + 20, mouseLocation.y - 40);
 			}
 			break;
 		default:
@@ -1,7 +1,6 @@
 package items;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Point;
 import java.awt.geom.Line2D;
 import java.awt.image.BufferedImage;
@@ -12,6 +11,7 @@ import entities.Inventory;
 import entities.Player;
 import enums.ItemState;
 import main.Game;
+import map.RenderSnapshot;
 import utilities.SoundEffect;
 
 /**
@@ -37,6 +37,11 @@ public class Firearm extends Item {
 
 	private long reloadTick = -60;
 
+	/**
+	 * The line of the last projectile fired, reused by every projectile.
+	 */
+	private final Line2D.Double line = new Line2D.Double();
+
 	/**
 	 * Constructs a new Firearm object.
 	 * 
@@ -117,9 +122,9 @@ public class Firearm extends Item {
 		// Calculate angle of trajectory
 		double angle = -Math.atan2(
 				game.getDisplay().getMouseHandler().getMouseLocation().y
-						- (player.getPosition().y + 16 - game.getCamera().getyOffset()),
+						- (player.getY() + 16 - game.getCamera().getyOffset()),
 				game.getDisplay().getMouseHandler().getMouseLocation().x
-						- (player.getPosition().x + 16 - game.getCamera().getxOffset()));
+						- (player.getX() + 16 - game.getCamera().getxOffset()));
 		// Fire the gun if not empty and the enough time has passed since last
 		// shot
 		if (!this.isEmpty()) {
@@ -138,11 +143,10 @@ public class Firearm extends Item {
 					if (i % 2 == 1)
 						angleAdjust = angleAdjust * (-1);
 					adjustedAngle = angle + angleAdjust;
-					// Create line used to check entity collisions
-					Line2D.Double line = new Line2D.Double(
-							new Point(player.getPosition().x + 16, player.getPosition().y + 16),
-							new Point((int) (player.getPosition().x + 16 + range * Math.cos(adjustedAngle)),
-									(int) (player.getPosition().y + 16 - range * Math.sin(adjustedAngle))));
+					// Set the line used to check entity collisions
+					line.setLine(player.getX() + 16, player.getY() + 16,
+							(int) (player.getX() + 16 + range * Math.cos(adjustedAngle)),
+							(int) (player.getY() + 16 - range * Math.sin(adjustedAngle)));
 					// Get the entities hit
 					PriorityQueue<Entity> collisions = player.projectileTracer(line, 1000);
 					if (collisions.size() > 0) {
@@ -267,89 +271,89 @@ public class Firearm extends Item {
 	}
 
 	@Override
-	public void renderTooltip(Graphics g, Point mouseLocation) {
+	public void captureTooltip(RenderSnapshot snapshot, Point mouseLocation) {
 		// Render the tooltip's background depending on its rarity
-		g.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
-		g.fillRect(mouseLocation.x, mouseLocation.y - 275, 300, 275);
+		snapshot.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
+		snapshot.fillRect(mouseLocation.x, mouseLocation.y - 275, 300, 275);
 
 		// Write the item's name
-		g.setColor(new Color(0, 0, 0, 200));
-		g.setFont(this.game.getUiFont());
-		g.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 225);
+		snapshot.setColor(new Color(0, 0, 0, 200));
+		snapshot.setFont(this.game.getUiFont());
+		snapshot.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 225);
 
 		// Write the item's rarity
-		g.setFont(this.game.getUiFontXS());
+		snapshot.setFont(this.game.getUiFontXS());
 		switch (this.rarity) {
 		case 5:
-			g.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 205);
+			snapshot.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 205);
 			break;
 		case 4:
-			g.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 205);
+			snapshot.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 205);
 			break;
 		case 3:
-			g.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 205);
+			snapshot.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 205);
 			break;
 		case 2:
-			g.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 205);
+			snapshot.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 205);
 			break;
 		case 1:
-			g.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 205);
+			snapshot.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 205);
 			break;
 		}
 
 		// Write whether or not the firearm is automatic
 		if (this.automatic == 1) {
-			g.drawString("Automatic firearm", mouseLocation.x + 20, mouseLocation.y - 190);
+			snapshot.drawString("Automatic firearm", mouseLocation.x + 20, mouseLocation.y - 190);
 		} else {
-			g.drawString("Semi-automatic firearm", mouseLocation.x + 20, mouseLocation.y - 190);
+			snapshot.drawString("Semi-automatic firearm", mouseLocation.x + 20, mouseLocation.y - 190);
 		}
 
 		// Write the damage of the firearm
-		g.setFont(this.game.getUiFontS());
-		g.drawString("Deals " + this.effectValue + " damage", mouseLocation.x + 20, mouseLocation.y - 165);
+		snapshot.setFont(this.game.getUiFontS());
+		snapshot.drawString("Deals " + this.effectValue + " damage", mouseLocation.x + 20, mouseLocation.y - 165);
 
 		// Write a relative attack speed
 		if (this.rateOfFire >= 40) {
-			g.drawString("Very slow attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
+			snapshot.drawString("Very slow attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
 		} else if (this.rateOfFire >= 30) {
-			g.drawString("Slow attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
+			snapshot.drawString("Slow attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
 		} else if (this.rateOfFire >= 20) {
-			g.drawString("Normal attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
+			snapshot.drawString("Normal attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
 		} else if (this.rateOfFire >= 10) {
-			g.drawString("Fast attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
+			snapshot.drawString("Fast attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
 		} else {
-			g.drawString("Very fast attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
+			snapshot.drawString("Very fast attack speed", mouseLocation.x + 20, mouseLocation.y - 140);
 		}
 
 		// Write a relative reload time
 		if (this.reloadTime >= 5000) {
-			g.drawString("Very slow reload time", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Very slow reload time", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else if (this.reloadTime >= 4000) {
-			g.drawString("Slow reload time", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Slow reload time", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else if (this.reloadTime >= 3000) {
-			g.drawString("Normal reload time", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Normal reload time", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else if (this.reloadTime >= 2000) {
-			g.drawString("Fast reload time", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Fast reload time", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else {
-			g.drawString("Very fast reload time", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Very fast reload time", mouseLocation.x + 20, mouseLocation.y - 115);
 		}
 
 		// Write how many projectiles the firearm shoots
 		if (this.noOfProjectiles == 1) {
-			g.drawString("Shoots " + this.noOfProjectiles + " projectile", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.drawString("Shoots " + this.noOfProjectiles + " projectile", mouseLocation.x + 20, mouseLocation.y - 90);
 		} else {
-			g.drawString("Shoots " + this.noOfProjectiles + " projectiles", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.drawString("Shoots " + this.noOfProjectiles + " projectiles", mouseLocation.x + 20, mouseLocation.y - 90);
 		}
 
 		// Write how many zombies the firearm's bullets penetrates
 		if (this.penetration == 1) {
-			g.drawString("No penetration", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("No penetration", mouseLocation.x + 20, mouseLocation.y - 65);
 		} else {
-			g.drawString("Penetrates up to " + this.penetration + " zombies", mouseLocation.x + 20,
+			snapshot.drawString("Penetrates up to " + this.penetration + " zombies", mouseLocation.x + 20,
 					mouseLocation.y - 65);
 		}
 
 		// Write how much ammo the firearm has
-		g.drawString(this.currentAmmo + " / " + this.maxAmmo + " ammo", mouseLocation.x + 20, mouseLocation.y - 40);
+		snapshot.drawString(this.currentAmmo + " / " + this.maxAmmo + " ammo", mouseLocation.x + 20, mouseLocation.y - 40);
 	}
 }
\ No newline at end of file
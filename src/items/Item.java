@@ -1,16 +1,18 @@
 package items;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
-import java.util.Iterator;
 
+import entities.HordeElection;
 import entities.Player;
 import entities.Zombie;
 import enums.ItemState;
 import main.Game;
+import map.ChunkMember;
 import map.Map;
+import map.RenderSnapshot;
+import map.WorldQuery;
 
 /**
  * Abstract Item class for all items in Project Z.
@@ -19,7 +21,7 @@ import map.Map;
  * @since 1.0
  * @version 1.0
  */
-public abstract class Item {
+public abstract class Item implements ChunkMember {
 	/**
 	 * Unique integer that identities the item.<br>
 	 * 100-199 = Consumable<br>
@@ -51,9 +53,13 @@ public abstract class Item {
 	 */
 	protected int effectValue;
 
-	protected Point position;
+	/**
+	 * The coordinates of the item in the map in pixels, once it has been
+	 * dropped.
+	 */
+	protected int x;
+	protected int y;
 	protected ItemState state;
-	protected boolean hover;
 
 	protected BufferedImage[] images;
 	protected String[] clips;
@@ -61,6 +67,19 @@ public abstract class Item {
 	protected Game game;
 	protected Map map;
 
+	/**
+	 * Alerts the zombies found by noise queries. Only created once the item
+	 * makes its first noise.
+	 */
+	private WorldQuery.ZombieVisitor noiseListener;
+	private HordeElection horde;
+
+	/**
+	 * The slot the item occupies in its chunk's list (-1 if it is not in a
+	 * chunk).
+	 */
+	private int chunkIndex = -1;
+
 	public abstract void use(Player player);
 
 	/**
@@ -126,32 +145,42 @@ public abstract class Item {
 	 *            the radius of the circle of the noise in pixels.
 	 */
 	public void makeNoise(int range, boolean player) {
+		// Only noises made by the player alert zombies
+		if (!player) {
+			return;
+		}
+
 		// Get the map if it hasn't already been set
 		if (this.map == null) {
 			this.map = this.game.getDisplay().getGameScreen().getWorld().getMap();
 		}
 
-		// Go through each chunk and alert zombies within the range
-		int chunkX = Math.max(this.position.x / 512, 2);
-		int chunkY = Math.max(this.position.y / 512, 2);
-		for (int x = chunkX - 2; x < Math.min(chunkX + 3, map.getWidth() / 16); x++) {
-			for (int y = chunkY - 2; y < Math.min(chunkY + 3, map.getHeight() / 16); y++) {
-				if (x < 100 && y < 100) {
-					for (Iterator<Zombie> iterator = map.getChunkMap()[x][y].getZombies().iterator(); iterator
-							.hasNext();) {
-						Zombie zombie = iterator.next();
-						if (Math.pow(position.x - zombie.getPosition().x, 2)
-								+ Math.pow(position.y - zombie.getPosition().y, 2) < range * range) {
-							if (player)
-								zombie.setPath(map.getPathFinder().findPath(zombie.getPath(),
-										(zombie.getPosition().x + 16) / 32, (zombie.getPosition().y + 16) / 32,
-										(this.position.x + 16) / 32, (this.position.y + 16) / 32));
-
-						}
+		// Create the listener the first time this item makes a noise
+		if (this.noiseListener == null) {
+			this.noiseListener = new WorldQuery.ZombieVisitor() {
+				public void visit(Zombie zombie) {
+					// Zombies near a zombie that already planned a path follow
+					// it as a horde
+					int targetX = (Item.this.x + 16) / 32;
+					int targetY = (Item.this.y + 16) / 32;
+					if (horde.join(zombie, targetX, targetY)) {
+						return;
+					}
+					zombie.setPath(map.getPathFinder().findPath(zombie.getPath(), (zombie.getX() + 16) / 32,
+							(zombie.getY() + 16) / 32, targetX, targetY));
+					if (!zombie.getPath().isEmpty()) {
+						horde.addLeader(zombie);
 					}
 				}
-			}
+			};
+			this.horde = new HordeElection();
 		}
+
+		// Alert the zombies within the range, and let the zombies far away
+		// drift towards the noise
+		this.map.getBackgroundSimulation().recordNoise(this.x, this.y, range);
+		this.map.getWorldQuery().forEachZombieWithin(this.x, this.y, range, this.noiseListener);
+		this.horde.clear();
 	}
 
 	/**
@@ -192,12 +221,25 @@ public abstract class Item {
 		return this.effectValue;
 	}
 
-	public Point getPosition() {
-		return this.position;
+	public int getX() {
+		return this.x;
 	}
 
-	public void setPosition(Point position) {
-		this.position = position;
+	public int getY() {
+		return this.y;
+	}
+
+	/**
+	 * Moves the item to a new position.
+	 * 
+	 * @param x
+	 *            the new x coordinate in pixels.
+	 * @param y
+	 *            the new y coordinate in pixels.
+	 */
+	public void setPosition(int x, int y) {
+		this.x = x;
+		this.y = y;
 	}
 
 	public ItemState getState() {
@@ -208,12 +250,12 @@ public abstract class Item {
 		this.state = state;
 	}
 
-	public boolean isHover() {
-		return hover;
+	public int getChunkIndex() {
+		return this.chunkIndex;
 	}
 
-	public void setHover(boolean hover) {
-		this.hover = hover;
+	public void setChunkIndex(int chunkIndex) {
+		this.chunkIndex = chunkIndex;
 	}
 
 	public BufferedImage[] getImages() {
@@ -228,26 +270,34 @@ public abstract class Item {
 		return this.game;
 	}
 
-	public void render(Graphics g) {
+	/**
+	 * Adds the item to the snapshot of the tick to be drawn if it has been
+	 * dropped in the world.
+	 * 
+	 * @param snapshot
+	 *            the snapshot being filled.
+	 * @param hover
+	 *            whether or not the item is being hovered over.
+	 */
+	public void capture(RenderSnapshot snapshot, boolean hover) {
 		if (this.state == ItemState.DROPPED) {
 			// If the item is being hovered over, give the item a glow
-			// Draw the item in the position that it is in relative to the
-			// camera
+			// Draw the item in the position that it is in
+			snapshot.setMotion(this.getX(), this.getY(), 0, this.getX(), this.getY(), 0);
 			if (!hover) {
-				g.drawImage(this.getImages()[0], (int) (this.getPosition().x - this.game.getCamera().getxOffset()),
-						(int) (this.getPosition().y - this.game.getCamera().getyOffset()), null);
+				snapshot.addImage(this.getImages()[0], 0, 0);
 			} else {
-				g.drawImage(this.getImages()[1], (int) (this.getPosition().x - this.game.getCamera().getxOffset()),
-						(int) (this.getPosition().y - this.game.getCamera().getyOffset()), null);
+				snapshot.addImage(this.getImages()[1], 0, 0);
 			}
 		}
 	}
 
 	/**
-	 * Renders a tooltip for the item to give the player more information.
+	 * Adds a tooltip for the item to the snapshot to give the player more
+	 * information.
 	 * 
-	 * @param g
+	 * @param snapshot
 	 * @param mouseLocation
 	 */
-	public abstract void renderTooltip(Graphics g, Point mouseLocation);
+	public abstract void captureTooltip(RenderSnapshot snapshot, Point mouseLocation);
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package items;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Point;
 import java.awt.geom.Arc2D;
 import java.awt.image.BufferedImage;
@@ -9,6 +8,7 @@ import java.awt.image.BufferedImage;
 import entities.Player;
 import enums.ItemState;
 import main.Game;
+import map.RenderSnapshot;
 import utilities.SoundEffect;
 
 /**
@@ -26,6 +26,11 @@ public class Melee extends Item {
 	private int angle;
 	private int durability;
 
+	/**
+	 * The arc of the last swing, reused by every swing.
+	 */
+	private final Arc2D.Double arc = new Arc2D.Double();
+
 	/**
 	 * Constructs a new Melee object.
 	 * 
@@ -90,9 +95,9 @@ public class Melee extends Item {
 		// Find the middle angle
 		double angle = -Math.atan2(
 				game.getDisplay().getMouseHandler().getMouseLocation().y
-						- (player.getPosition().y + 16 - game.getCamera().getyOffset()),
+						- (player.getY() + 16 - game.getCamera().getyOffset()),
 				game.getDisplay().getMouseHandler().getMouseLocation().x
-						- (player.getPosition().x + 16 - game.getCamera().getxOffset()));
+						- (player.getX() + 16 - game.getCamera().getxOffset()));
 
 		// Make sure the angle is positive
 		if (angle < 0) {
@@ -111,8 +116,7 @@ public class Melee extends Item {
 
 			// Create an arc given the middle angle, the radius, and the number
 			// of angles on each side of the middle angle
-			Arc2D arc = new Arc2D.Double();
-			arc.setArcByCenter(player.getPosition().x, player.getPosition().y, this.radius, angle - this.angle,
+			arc.setArcByCenter(player.getX(), player.getY(), this.radius, angle - this.angle,
 					this.angle * 2, Arc2D.PIE);
 
 			// Check the number of enemies hit by the arc
@@ -161,87 +165,87 @@ public class Melee extends Item {
 	}
 
 	@Override
-	public void renderTooltip(Graphics g, Point mouseLocation) {
+	public void captureTooltip(RenderSnapshot snapshot, Point mouseLocation) {
 		// Render the tooltip's background depending on its rarity
-		g.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
-		g.fillRect(mouseLocation.x, mouseLocation.y - 250, 300, 250);
+		snapshot.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
+		snapshot.fillRect(mouseLocation.x, mouseLocation.y - 250, 300, 250);
 
 		// Write the item's name
-		g.setColor(new Color(0, 0, 0, 200));
-		g.setFont(this.game.getUiFont());
-		g.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 200);
+		snapshot.setColor(new Color(0, 0, 0, 200));
+		snapshot.setFont(this.game.getUiFont());
+		snapshot.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 200);
 
 		// Write the item's rarity
-		g.setFont(this.game.getUiFontXS());
+		snapshot.setFont(this.game.getUiFontXS());
 		switch (this.rarity) {
 		case 5:
-			g.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 180);
+			snapshot.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 180);
 			break;
 		case 4:
-			g.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 180);
+			snapshot.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 180);
 			break;
 		case 3:
-			g.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 180);
+			snapshot.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 180);
 			break;
 		case 2:
-			g.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 180);
+			snapshot.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 180);
 			break;
 		case 1:
-			g.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 180);
+			snapshot.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 180);
 			break;
 		}
 		
 		// Write the type of item this is
-		g.drawString("Melee weapon", mouseLocation.x + 20, mouseLocation.y - 165);
+		snapshot.drawString("Melee weapon", mouseLocation.x + 20, mouseLocation.y - 165);
 
 		// Write the damage of the melee weapon
-		g.setFont(this.game.getUiFontS());
-		g.drawString("Deals " + this.effectValue + " damage", mouseLocation.x + 20, mouseLocation.y - 140);
+		snapshot.setFont(this.game.getUiFontS());
+		snapshot.drawString("Deals " + this.effectValue + " damage", mouseLocation.x + 20, mouseLocation.y - 140);
 
 		// Write the relative swing speed
 		if (this.swingSpeed >= 60) {
-			g.drawString("Very slow attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Very slow attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else if (this.swingSpeed >= 50) {
-			g.drawString("Slow attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Slow attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else if (this.swingSpeed >= 40) {
-			g.drawString("Normal attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Normal attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else if (this.swingSpeed >= 30) {
-			g.drawString("Fast attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Fast attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
 		} else {
-			g.drawString("Very fast attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
+			snapshot.drawString("Very fast attack speed", mouseLocation.x + 20, mouseLocation.y - 115);
 		}
 
 		// Write the relative recharge time
 		if (this.rechargeTime >= 40) {
-			g.drawString("Very slow recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.drawString("Very slow recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
 		} else if (this.rechargeTime >= 30) {
-			g.drawString("Slow recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.drawString("Slow recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
 		} else if (this.rechargeTime >= 20) {
-			g.drawString("Normal recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.drawString("Normal recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
 		} else if (this.rechargeTime >= 10) {
-			g.drawString("Fast recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.drawString("Fast recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
 		} else {
-			g.drawString("Very fast recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
+			snapshot.drawString("Very fast recharge time", mouseLocation.x + 20, mouseLocation.y - 90);
 		}
 
 		// Write the relative range of the melee weapon
 		if (this.radius * this.angle >= 4500) {
-			g.drawString("Very large range", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Very large range", mouseLocation.x + 20, mouseLocation.y - 65);
 		} else if (this.radius * this.angle >= 4000) {
-			g.drawString("Large range", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Large range", mouseLocation.x + 20, mouseLocation.y - 65);
 		} else if (this.radius * this.angle >= 2500) {
-			g.drawString("Normal range", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Normal range", mouseLocation.x + 20, mouseLocation.y - 65);
 		} else if (this.radius * this.angle >= 1000) {
-			g.drawString("Small range", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Small range", mouseLocation.x + 20, mouseLocation.y - 65);
 		} else {
-			g.drawString("Very small range", mouseLocation.x + 20, mouseLocation.y - 65);
+			snapshot.drawString("Very small range", mouseLocation.x + 20, mouseLocation.y - 65);
 		}
 
 		// Write the amount of times the weapon can be used
 		if (this.durability == 1) {
-			g.drawString("Can be used " + this.durability + " time", mouseLocation.x + 20, mouseLocation.y - 40);
+			snapshot.drawString("Can be used " + this.durability + " time", mouseLocation.x + 20, mouseLocation.y - 40);
 		} else {
-			g.drawString("Can be used " + this.durability + " times", mouseLocation.x + 20, mouseLocation.y - 40);
+			snapshot.drawString("Can be used " + this.durability + " times", mouseLocation.x + 20, mouseLocation.y - 40);
 		}
 	}
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package items;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Point;
 import java.awt.geom.Line2D;
 import java.awt.image.BufferedImage;
@@ -9,6 +8,7 @@ import java.awt.image.BufferedImage;
 import entities.Player;
 import enums.ItemState;
 import main.Game;
+import map.RenderSnapshot;
 import utilities.SoundEffect;
 
 /**
@@ -22,6 +22,11 @@ import utilities.SoundEffect;
 public class Throwable extends Item {
 	private int range;
 
+	/**
+	 * The line of the last throw, reused by every throw.
+	 */
+	private final Line2D.Double line = new Line2D.Double();
+
 	/**
 	 * Constructs a new Throwable object.
 	 * 
@@ -55,16 +60,18 @@ public class Throwable extends Item {
 	@Override
 	public void use(Player player) {
 		// Create a line from the player to the point that the brick was thrown
-		Line2D.Double line = new Line2D.Double(new Point(player.getPosition().x, player.getPosition().y),
-				new Point(player.getPosition().x + game.getDisplay().getMouseHandler().getMouseLocation().x - 512,
-						player.getPosition().y + game.getDisplay().getMouseHandler().getMouseLocation().y - 384));
+		line.setLine(player.getX(), player.getY(),
+				player.getX() + game.getDisplay().getMouseHandler().getMouseLocation().x - 512,
+				player.getY() + game.getDisplay().getMouseHandler().getMouseLocation().y - 384);
 		if ((Math.sqrt(Math.pow(line.x1 - line.x2, 2) + Math.pow(line.y1 - line.y2, 2))) < range) {
 			// Remove the item, check for collisions, add the item to the map,
 			// and make a noise/sound effect
 			player.removeItem(this);
 			this.state = ItemState.DROPPED;
-			this.position = player.calculatePointOfImpact(line);
-			player.getChunkMap()[this.position.x / 512][this.position.y / 512].add(this);
+			// Copy the point of impact since the player reuses it
+			Point impact = player.calculatePointOfImpact(line);
+			this.setPosition(impact.x, impact.y);
+			game.getDisplay().getGameScreen().getWorld().getMap().addItem(this);
 			makeNoise(150, true);
 			new SoundEffect(clips[0]).play();
 		}
@@ -90,59 +97,59 @@ public class Throwable extends Item {
 		this.range = range;
 	}
 
-	public void render(Graphics g) {
-		super.render(g);
+	public void capture(RenderSnapshot snapshot, boolean hover) {
+		super.capture(snapshot, hover);
 	}
 
 	@Override
-	public void renderTooltip(Graphics g, Point mouseLocation) {
+	public void captureTooltip(RenderSnapshot snapshot, Point mouseLocation) {
 		// Render the tooltip's background depending on its rarity
-		g.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
-		g.fillRect(mouseLocation.x, mouseLocation.y - 175, 300, 175);
+		snapshot.setColor(new Color(getColour().getRed(), getColour().getGreen(), getColour().getBlue(), 75));
+		snapshot.fillRect(mouseLocation.x, mouseLocation.y - 175, 300, 175);
 
 		// Write the item's name
-		g.setColor(new Color(0, 0, 0, 200));
-		g.setFont(this.game.getUiFont());
-		g.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 125);
+		snapshot.setColor(new Color(0, 0, 0, 200));
+		snapshot.setFont(this.game.getUiFont());
+		snapshot.drawString(this.name, mouseLocation.x + 20, mouseLocation.y - 125);
 
 		// Write the item's rarity
-		g.setFont(this.game.getUiFontXS());
+		snapshot.setFont(this.game.getUiFontXS());
 		switch (this.rarity) {
 		case 5:
-			g.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Common", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 4:
-			g.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Uncommon", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 3:
-			g.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Rare", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 2:
-			g.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Very Rare", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		case 1:
-			g.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 105);
+			snapshot.drawString("Ultra Rare", mouseLocation.x + 20, mouseLocation.y - 105);
 			break;
 		}
 
 		// Write the type of item
-		g.drawString("Throwable item", mouseLocation.x + 20, mouseLocation.y - 90);
+		snapshot.drawString("Throwable item", mouseLocation.x + 20, mouseLocation.y - 90);
 
 		// Write what the item does
-		g.setFont(this.game.getUiFontS());
-		g.drawString("Creates noise", mouseLocation.x + 20, mouseLocation.y - 65);
+		snapshot.setFont(this.game.getUiFontS());
+		snapshot.drawString("Creates noise", mouseLocation.x + 20, mouseLocation.y - 65);
 
 		// Write the relative throwing range
 		if (this.range >= 640) {
-			g.drawString("Very far throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
+			snapshot.drawString("Very far throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
 		} else if (this.range >= 480) {
-			g.drawString("Far throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
+			snapshot.drawString("Far throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
 		} else if (this.range >= 320) {
-			g.drawString("Normal throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
+			snapshot.drawString("Normal throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
 		} else if (this.range >= 160) {
-			g.drawString("Close throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
+			snapshot.drawString("Close throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
 		} else {
-			g.drawString("Very close throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
+			snapshot.drawString("Very close throwing range", mouseLocation.x + 20, mouseLocation.y - 40);
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package main;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Draws frames onto a canvas in a window through a triple-buffered
+ * {@link BufferStrategy}.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @since 1.0
+ * @version 1.0
+ */
+public class CanvasTarget implements RenderTarget {
+	private Canvas canvas;
+	private BufferStrategy bs;
+
+	/**
+	 * Constructs a new CanvasTarget object.
+	 *
+	 * @param canvas
+	 *            the canvas to draw to.
+	 */
+	public CanvasTarget(Canvas canvas) {
+		this.canvas = canvas;
+	}
+
+	@Override
+	public Graphics2D beginFrame() {
+		// If this is the first time running initialize the buffer strategy
+		this.bs = this.canvas.getBufferStrategy();
+		if (this.bs == null) {
+			this.canvas.createBufferStrategy(3);
+			return null;
+		}
+		return (Graphics2D) this.bs.getDrawGraphics();
+	}
+
+	@Override
+	public boolean endFrame() {
+		// Draw the frame again if the buffer was lost and restored while
+		// drawing
+		if (this.bs.contentsRestored()) {
+			return false;
+		}
+		this.bs.show();
+		Toolkit.getDefaultToolkit().sync();
+		return !this.bs.contentsLost();
+	}
+}
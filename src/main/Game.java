@@ -13,8 +13,7 @@ import items.Throwable;
 
 import java.awt.Cursor;
 import java.awt.Font;
-import java.awt.Graphics;
-import java.awt.image.BufferStrategy;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.FileInputStream;
@@ -22,9 +21,17 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Random;
 
+import entities.EntityPool;
+import entities.Zombie;
+import map.RenderSnapshot;
 import utilities.Assets;
 import utilities.GameCamera;
+import utilities.Rasterizer;
+import utilities.SpriteCache;
+import utilities.TextureAtlas;
+import utilities.TileAtlas;
 
 /**
  * The actual game that contains the game loop, and assets.
@@ -33,7 +40,15 @@ import utilities.GameCamera;
  * @version 1.0
  */
 public class Game implements Runnable {
+	/**
+	 * The length of a tick in nanoseconds (60 ticks per second).
+	 */
+	public static final long NANOS_PER_TICK = 1000000000L / 60;
+
 	private BufferedImage[][] tileImages;
+	private TextureAtlas textureAtlas;
+	private TileAtlas tileAtlas;
+	private SpriteCache spriteCache;
 	private BufferedImage[][] playerImages;
 	private BufferedImage[][] zombieImages;
 	private BufferedImage bloodSplatter;
@@ -52,8 +67,7 @@ public class Game implements Runnable {
 	private int height;
 	private Thread thread;
 	private GameState state;
-	private BufferStrategy bs;
-	private Graphics g;
+	private Renderer renderer;
 	private int level;
 
 	private GameCamera camera;
@@ -61,6 +75,28 @@ public class Game implements Runnable {
 	private boolean running = false;
 
 	private long tickCount;
+
+	/**
+	 * The tick of the last snapshot captured (-1 before the first).
+	 */
+	private long capturedTick = -1;
+
+	/**
+	 * The random number generator that maps are generated with.
+	 */
+	private Random mapRandom;
+
+	/**
+	 * Whether or not frames are drawn by the software rasterizer instead of
+	 * through Java2D.
+	 */
+	private boolean softwareRendering;
+
+	/**
+	 * Zombies that are no longer in use, kept so that they can be reused by
+	 * later levels.
+	 */
+	private EntityPool<Zombie> zombiePool;
 	private Font uiFontS;
 	private Font uiFontXS;
 
@@ -79,12 +115,14 @@ public class Game implements Runnable {
 		this.width = width;
 		this.height = height;
 		this.level = 1;
+		this.zombiePool = new EntityPool<Zombie>();
+		this.mapRandom = new Random();
 	}
 
 	/**
 	 * Initializes everything needs for the game.
 	 */
-	private void initialize() {
+	void initialize() {
 		// Load in all of the assets used
 		tileImages = new Assets("res/img/tiles.png", 1, 1).getSprites();
 		playerImages = new Assets("res/img/player.png", 1, 1).getSprites();
@@ -115,6 +153,10 @@ public class Game implements Runnable {
 		scores = new Assets("res/highscores.txt", true).getScores();
 		
 		// Load in all of the items
+		textureAtlas = new TextureAtlas();
+		textureAtlas.add("tiles", tileImages);
+		textureAtlas.add("player", playerImages);
+		textureAtlas.add("zombie", zombieImages);
 		BufferedReader itemReader = null;
 		try {
 			itemReader = new BufferedReader(new InputStreamReader(
@@ -143,9 +185,10 @@ public class Game implements Runnable {
 					// Load all of the images and sounds
 					String currentItem = itemReader.readLine();
 
-					String[] stats = currentItem.split("~");
+					String[] stats = currentItem.split("~");
 					BufferedImage[] images = new Assets(stats[4], 1, 1).getSprites()[0];
-					String[] sounds = stats[5].split("`");
+					textureAtlas.add("item" + stats[0], images);
+					String[] sounds = stats[5].split("`");
 
 					// Depending on which item type the current item, use the
 					// respective constructor and add it to the game's list of
@@ -211,6 +254,12 @@ public class Game implements Runnable {
 			e.printStackTrace();
 		}
 
+		// Pack the sprites into one image before anything caches them
+		textureAtlas.pack();
+		System.out.println(textureAtlas.getReport());
+		tileAtlas = new TileAtlas(tileImages);
+		spriteCache = new SpriteCache();
+
 		// Load the display
 		display = new Display(title, width, height);
 
@@ -221,13 +270,13 @@ public class Game implements Runnable {
 		state = new GameState(this);
 		state.setState(State.LOBBY, false);
 
-		// Set the icon
-		display.getFrame().setIconImage(
-				new Assets("res/img/icon.png").getImage());
-
-		// Change the mouse to a cross hair
-		display.getFrame().setCursor(
-				Cursor.getPredefinedCursor(Cursor.CROSSHAIR_CURSOR));
+		// Set the icon and change the mouse to a cross hair
+		if (display.hasFrame()) {
+			display.getFrame().setIconImage(
+					new Assets("res/img/icon.png").getImage());
+			display.getFrame().setCursor(
+					Cursor.getPredefinedCursor(Cursor.CROSSHAIR_CURSOR));
+		}
 	}
 
 	/**
@@ -240,29 +289,23 @@ public class Game implements Runnable {
 	}
 
 	/**
-	 * Renders the correct screen.
+	 * Captures the correct screen into a snapshot.
+	 * 
+	 * @param snapshot
+	 *            the snapshot to fill.
 	 */
-	private void render() {
-		// Check if there is a buffer strategy
-		bs = display.getGameScreen().getBufferStrategy();
-
-		// If this is the first time running initialize the buffer strategy
-		if (bs == null) {
-			display.getGameScreen().createBufferStrategy(3);
-			return;
+	void capture(RenderSnapshot snapshot) {
+		snapshot.reset(tickCount, capturedTick, System.nanoTime());
+		capturedTick = tickCount;
+
+		// Capture the world if it is being played, or draw the menu
+		if (state.getGameState() == State.INGAME) {
+			display.getGameScreen().capture(snapshot);
+		} else if (state.getGameState() != null) {
+			Graphics2D g2D = snapshot.createOverlayGraphics();
+			state.render(g2D);
+			g2D.dispose();
 		}
-		g = bs.getDrawGraphics();
-
-		// Clear the screen
-		g.clearRect(0, 0, width, height);
-
-		// Render the screen
-		if (state.getGameState() != null) {
-			state.render(g);
-		}
-		// End the drawing
-		bs.show();
-		g.dispose();
 	}
 
 	/**
@@ -272,11 +315,17 @@ public class Game implements Runnable {
 		// Initialize all assets and sets the state
 		initialize();
 
+		// Draw the game on its own thread
+		renderer = new Renderer(this, new CanvasTarget(display.getGameScreen()), width, height,
+				NANOS_PER_TICK, softwareRendering ? new Rasterizer(width, height) : null);
+		renderer.start();
+
 		// Keep track of ticks
 		double unprocessedSeconds = 0;
 		long lastTime = System.nanoTime();
 		double secondsPerTick = 1 / 60.0;
 		tickCount = 0;
+		capturedTick = -1;
 
 		// Game loop
 		while (running) {
@@ -303,9 +352,10 @@ public class Game implements Runnable {
 					lastTime += 1000;
 				}
 			}
-			// Render the game
+			// Hand the new tick to the render thread
 			if (ticked) {
-				render();
+				capture(renderer.getWriteSnapshot());
+				renderer.publish();
 			} else {
 				try {
 					Thread.sleep(1);
@@ -350,6 +400,9 @@ public class Game implements Runnable {
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
+		if (renderer != null) {
+			renderer.stop();
+		}
 	}
 
 	public GameState getState() {
@@ -368,6 +421,37 @@ public class Game implements Runnable {
 		return this.tileImages;
 	}
 
+	/**
+	 * Seeds the random number generator that maps are generated with, so
+	 * that the same maps are made every time (such as for benchmarks).
+	 * 
+	 * @param seed
+	 *            the seed.
+	 */
+	public void setMapSeed(long seed) {
+		this.mapRandom = new Random(seed);
+	}
+
+	public Random getMapRandom() {
+		return this.mapRandom;
+	}
+
+	public void setSoftwareRendering(boolean softwareRendering) {
+		this.softwareRendering = softwareRendering;
+	}
+
+	public TextureAtlas getTextureAtlas() {
+		return this.textureAtlas;
+	}
+
+	public TileAtlas getTileAtlas() {
+		return this.tileAtlas;
+	}
+
+	public SpriteCache getSpriteCache() {
+		return this.spriteCache;
+	}
+
 	public BufferedImage[][] getPlayerImages() {
 		return this.playerImages;
 	}
@@ -412,6 +496,10 @@ public class Game implements Runnable {
 		return this.zombieFontXL;
 	}
 
+	public EntityPool<Zombie> getZombiePool() {
+		return zombiePool;
+	}
+
 	public BufferedImage getMainMenu() {
 		return this.mainMenu;
 	}
@@ -481,6 +569,8 @@ public class Game implements Runnable {
 
 	public static void main(String[] args) {
 		Game game = new Game("Project Z", 1024, 768);
+		// Draw with the software rasterizer if asked to
+		game.setSoftwareRendering(args.length > 0 && args[0].equals("-software"));
 		game.start();
 	}
 }
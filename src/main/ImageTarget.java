@@ -0,0 +1,48 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws frames into an offscreen image, so that the game can be drawn,
+ * measured and compared without a window (such as when running headless).
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see RenderBenchmark
+ * @since 1.0
+ * @version 1.0
+ */
+public class ImageTarget implements RenderTarget {
+	private BufferedImage image;
+
+	/**
+	 * Constructs a new ImageTarget object.
+	 *
+	 * @param width
+	 *            the width of the image in pixels.
+	 * @param height
+	 *            the height of the image in pixels.
+	 */
+	public ImageTarget(int width, int height) {
+		this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+	}
+
+	@Override
+	public Graphics2D beginFrame() {
+		return this.image.createGraphics();
+	}
+
+	@Override
+	public boolean endFrame() {
+		return true;
+	}
+
+	/**
+	 * Gets the image holding the last frame drawn.
+	 *
+	 * @return the image.
+	 */
+	public BufferedImage getImage() {
+		return this.image;
+	}
+}
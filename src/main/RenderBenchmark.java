@@ -0,0 +1,401 @@
+package main;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import entities.Player;
+import enums.GameState.State;
+import map.RenderSnapshot;
+import utilities.Rasterizer;
+import utilities.SpriteCache;
+
+/**
+ * Draws the game offscreen along a fixed path and reports how long each frame
+ * took.<br>
+ * The map is generated from a seed and the player is moved around a fixed
+ * loop through its middle, so every run draws the same frames. Each frame is
+ * drawn both through Java2D and by the software {@link utilities.Rasterizer},
+ * so the two can be compared. Each backend has a sprite cache of its own,
+ * the whole path is drawn once before any frame is timed, and the backend
+ * drawn first alternates every frame, so neither backend pays for work the
+ * other one did. The benchmark runs headless, so it can run
+ * where there is no display. Given a folder, it also saves every
+ * {@link #SAVE_INTERVAL}th frame of each as a PNG and the timing of every
+ * frame as a CSV file, so frames can be compared against the images saved by
+ * an earlier run.
+ * <p>
+ * With {@code -check}, it instead draws {@link #CHECK_FRAMES} frames of the
+ * path over the map of seed {@link #CHECK_SEED} and compares every
+ * {@link #CHECK_INTERVAL}th frame of each backend pixel by pixel against the
+ * reference images in {@code res/reference}, exiting with a non-zero status
+ * if any frame is missing or differs by more than the tolerance. Given a
+ * folder, it saves an image of every mismatched frame there, with the pixels
+ * that differ in red. With {@code -record}, it saves the same frames as the
+ * new reference images instead.
+ * <p>
+ * Usage: {@code java main.RenderBenchmark [seed] [frames] [folder]}<br>
+ * {@code java main.RenderBenchmark -check [references] [folder]}<br>
+ * {@code java main.RenderBenchmark -record [references]}
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see ImageTarget
+ * @since 1.0
+ * @version 1.0
+ */
+public class RenderBenchmark {
+	/**
+	 * The size of the screen drawn.
+	 */
+	public static final int WIDTH = 1024;
+	public static final int HEIGHT = 768;
+
+	/**
+	 * The size of the map generated in tiles.
+	 */
+	public static final int MAP_SIZE = 400;
+
+	/**
+	 * How far the path reaches from the middle of the map in pixels.
+	 */
+	public static final int PATH_RADIUS = 3200;
+
+	/**
+	 * How often a frame is saved as an image.
+	 */
+	public static final int SAVE_INTERVAL = 60;
+
+	/**
+	 * The seed of the map, the number of frames of the path and how often a
+	 * frame is compared when checking against the reference images.
+	 */
+	public static final long CHECK_SEED = 1;
+	public static final int CHECK_FRAMES = 120;
+	public static final int CHECK_INTERVAL = 30;
+
+	/**
+	 * The largest difference in a colour channel for two pixels to count as
+	 * the same colour when checking, allowing for Java2D blending colours
+	 * slightly differently between versions.
+	 */
+	public static final int CHANNEL_TOLERANCE = 8;
+
+	/**
+	 * The most pixels per million that may differ in a checked frame,
+	 * allowing for antialiased text edges.
+	 */
+	public static final int PIXEL_TOLERANCE = 1000;
+
+	/**
+	 * The folder that the reference images are kept in by default.
+	 */
+	public static final String REFERENCE_FOLDER = "res/reference";
+
+	/**
+	 * Runs the benchmark, or checks or records the reference images.
+	 *
+	 * @param args
+	 *            the seed of the map (1 by default), the number of frames to
+	 *            draw (600 by default) and the folder to save the frames and
+	 *            timings in (nothing is saved by default). Or {@code -check}
+	 *            followed by the folder of the reference images
+	 *            ({@link #REFERENCE_FOLDER} by default) and the folder to save
+	 *            the mismatched frames in (nothing is saved by default). Or
+	 *            {@code -record} followed by the folder to save the reference
+	 *            images in ({@link #REFERENCE_FOLDER} by default).
+	 */
+	public static void main(String[] args) {
+		// Must be set before anything from AWT is loaded
+		System.setProperty("java.awt.headless", "true");
+
+		if (args.length > 0 && (args[0].equals("-check") || args[0].equals("-record"))) {
+			boolean record = args[0].equals("-record");
+			File references = new File(args.length > 1 ? args[1] : REFERENCE_FOLDER);
+			File folder = args.length > 2 && !record ? new File(args[2]) : null;
+			System.exit(check(references, folder, record) == 0 ? 0 : 1);
+		}
+
+		long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+		int noOfFrames = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+		File folder = args.length > 2 ? new File(args[2]) : null;
+		if (folder != null) {
+			folder.mkdirs();
+		}
+
+		Game game = loadGame(seed);
+		Player player = game.getDisplay().getGameScreen().getWorld().getPlayer();
+
+		ImageTarget target = new ImageTarget(WIDTH, HEIGHT);
+		Renderer renderer = new Renderer(game, target, WIDTH, HEIGHT, Game.NANOS_PER_TICK, null,
+				new SpriteCache());
+		ImageTarget softwareTarget = new ImageTarget(WIDTH, HEIGHT);
+		Renderer softwareRenderer = new Renderer(game, softwareTarget, WIDTH, HEIGHT, Game.NANOS_PER_TICK,
+				new Rasterizer(WIDTH, HEIGHT), new SpriteCache());
+		RenderSnapshot snapshot = new RenderSnapshot(WIDTH, HEIGHT);
+		long[] captureTimes = new long[noOfFrames];
+		long[] renderTimes = new long[noOfFrames];
+		long[] softwareTimes = new long[noOfFrames];
+
+		// Draw the whole path once with both backends, so that their sprite
+		// caches are filled and their code is compiled before any timing
+		for (int frame = 0; frame < noOfFrames; frame++) {
+			moveAlongPath(game, player, frame, noOfFrames);
+			game.capture(snapshot);
+			renderer.drawFrame(snapshot, 1);
+			softwareRenderer.drawFrame(snapshot, 1);
+		}
+
+		for (int frame = 0; frame < noOfFrames; frame++) {
+			moveAlongPath(game, player, frame, noOfFrames);
+
+			// Time the game thread's part and the render thread's part with
+			// each backend, switching which backend goes first every frame
+			long startTime = System.nanoTime();
+			game.capture(snapshot);
+			captureTimes[frame] = System.nanoTime() - startTime;
+			if (frame % 2 == 0) {
+				renderTimes[frame] = timeFrame(renderer, snapshot);
+				softwareTimes[frame] = timeFrame(softwareRenderer, snapshot);
+			} else {
+				softwareTimes[frame] = timeFrame(softwareRenderer, snapshot);
+				renderTimes[frame] = timeFrame(renderer, snapshot);
+			}
+
+			if (folder != null && frame % SAVE_INTERVAL == 0) {
+				try {
+					ImageIO.write(target.getImage(), "png", new File(folder, "frame" + frame + ".png"));
+					ImageIO.write(softwareTarget.getImage(), "png", new File(folder, "frame" + frame
+							+ "-software.png"));
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		System.out.println("Drew " + noOfFrames + " frames of map seed " + seed + " at " + WIDTH + "x" + HEIGHT);
+		System.out.println(summarize("Capture", captureTimes));
+		System.out.println(summarize("Render (Java2D)", renderTimes));
+		System.out.println(summarize("Render (software)", softwareTimes));
+
+		if (folder != null) {
+			try {
+				PrintWriter writer = new PrintWriter(new FileWriter(new File(folder, "timings.csv")));
+				writer.println("frame,capture_ns,render_ns,software_ns");
+				for (int frame = 0; frame < noOfFrames; frame++) {
+					writer.println(frame + "," + captureTimes[frame] + "," + renderTimes[frame] + ","
+							+ softwareTimes[frame]);
+				}
+				writer.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Loads the game, generating the map from a seed, and starts it.
+	 *
+	 * @param seed
+	 *            the seed of the map.
+	 * @return the game.
+	 */
+	private static Game loadGame(long seed) {
+		Game game = new Game("Project Z", WIDTH, HEIGHT);
+		game.setMapSeed(seed);
+		game.initialize();
+		game.getState().setState(State.INGAME, false);
+		return game;
+	}
+
+	/**
+	 * Draws the checked frames with both backends and compares them against
+	 * the reference images, or saves them as the reference images.
+	 *
+	 * @param references
+	 *            the folder of the reference images.
+	 * @param folder
+	 *            the folder to save the mismatched frames in, or null to not
+	 *            save them.
+	 * @param record
+	 *            whether to save the frames as the reference images instead of
+	 *            comparing them.
+	 * @return the number of frames that were missing or did not match.
+	 */
+	private static int check(File references, File folder, boolean record) {
+		if (record) {
+			references.mkdirs();
+		} else if (folder != null) {
+			folder.mkdirs();
+		}
+
+		Game game = loadGame(CHECK_SEED);
+		Player player = game.getDisplay().getGameScreen().getWorld().getPlayer();
+		ImageTarget[] targets = { new ImageTarget(WIDTH, HEIGHT), new ImageTarget(WIDTH, HEIGHT) };
+		Renderer[] renderers = {
+				new Renderer(game, targets[0], WIDTH, HEIGHT, Game.NANOS_PER_TICK, null, new SpriteCache()),
+				new Renderer(game, targets[1], WIDTH, HEIGHT, Game.NANOS_PER_TICK, new Rasterizer(WIDTH, HEIGHT),
+						new SpriteCache()) };
+		String[] suffixes = { "", "-software" };
+		RenderSnapshot snapshot = new RenderSnapshot(WIDTH, HEIGHT);
+
+		int noOfFailures = 0;
+		int noOfFrames = 0;
+		for (int frame = 0; frame < CHECK_FRAMES; frame += CHECK_INTERVAL) {
+			moveAlongPath(game, player, frame, CHECK_FRAMES);
+			game.capture(snapshot);
+			for (int backend = 0; backend < renderers.length; backend++) {
+				renderers[backend].drawFrame(snapshot, 1);
+				BufferedImage image = targets[backend].getImage();
+				String name = "frame" + frame + suffixes[backend];
+				File reference = new File(references, name + ".png");
+				noOfFrames++;
+				try {
+					if (record) {
+						ImageIO.write(image, "png", reference);
+						continue;
+					}
+					if (!reference.isFile()) {
+						System.out.println(name + ": no reference image at " + reference);
+						noOfFailures++;
+						continue;
+					}
+
+					// Mark the pixels that differ in red on a copy of the
+					// frame, so a mismatch can be looked at
+					BufferedImage expected = ImageIO.read(reference);
+					BufferedImage differences = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+					int noOfDifferences = compare(image, expected, differences);
+					long perMillion = noOfDifferences * 1000000L / (WIDTH * HEIGHT);
+					if (noOfDifferences < 0 || perMillion > PIXEL_TOLERANCE) {
+						System.out.println(name + ": " + (noOfDifferences < 0 ? "size differs" : noOfDifferences
+								+ " pixels differ") + ", FAILED");
+						noOfFailures++;
+						if (folder != null && noOfDifferences >= 0) {
+							ImageIO.write(differences, "png", new File(folder, name + "-diff.png"));
+						}
+					} else {
+						System.out.println(name + ": " + noOfDifferences + " pixels differ, passed");
+					}
+				} catch (IOException e) {
+					e.printStackTrace();
+					noOfFailures++;
+				}
+			}
+		}
+
+		if (record) {
+			System.out.println("Saved " + noOfFrames + " reference frames of map seed " + CHECK_SEED + " in "
+					+ references);
+		} else {
+			System.out.println("Checked " + noOfFrames + " frames of map seed " + CHECK_SEED + ": " + noOfFailures
+					+ " failed");
+		}
+		return noOfFailures;
+	}
+
+	/**
+	 * Counts the pixels that differ between a frame and its reference image by
+	 * more than {@link #CHANNEL_TOLERANCE} in any colour channel.
+	 *
+	 * @param frame
+	 *            the frame drawn.
+	 * @param expected
+	 *            the reference image.
+	 * @param differences
+	 *            the image to draw the frame into, with the pixels that differ
+	 *            in red.
+	 * @return the number of pixels that differ, or -1 if the images are not
+	 *         the same size.
+	 */
+	private static int compare(BufferedImage frame, BufferedImage expected, BufferedImage differences) {
+		if (frame.getWidth() != expected.getWidth() || frame.getHeight() != expected.getHeight()) {
+			return -1;
+		}
+		int noOfDifferences = 0;
+		for (int y = 0; y < frame.getHeight(); y++) {
+			for (int x = 0; x < frame.getWidth(); x++) {
+				int colour = frame.getRGB(x, y);
+				int expectedColour = expected.getRGB(x, y);
+				boolean differs = false;
+				for (int shift = 0; shift < 24; shift += 8) {
+					int channel = Math.abs(((colour >> shift) & 0xFF) - ((expectedColour >> shift) & 0xFF));
+					if (channel > CHANNEL_TOLERANCE) {
+						differs = true;
+					}
+				}
+				if (differs) {
+					noOfDifferences++;
+					differences.setRGB(x, y, 0xFF0000);
+				} else {
+					differences.setRGB(x, y, colour);
+				}
+			}
+		}
+		return noOfDifferences;
+	}
+
+	/**
+	 * Moves the player and the camera to a point on a figure eight through the
+	 * middle of the map.
+	 *
+	 * @param game
+	 *            the game.
+	 * @param player
+	 *            the player.
+	 * @param frame
+	 *            the frame being drawn.
+	 * @param noOfFrames
+	 *            the number of frames that the path is drawn over.
+	 */
+	private static void moveAlongPath(Game game, Player player, int frame, int noOfFrames) {
+		double angle = 2 * Math.PI * frame / noOfFrames;
+		int middle = MAP_SIZE * 32 / 2;
+		player.setPosition((int) (middle + PATH_RADIUS * Math.sin(angle)),
+				(int) (middle + PATH_RADIUS / 2 * Math.sin(2 * angle)));
+		game.getCamera().centerOnEntity(player);
+	}
+
+	/**
+	 * Times how long a renderer takes to draw a snapshot.
+	 *
+	 * @param renderer
+	 *            the renderer.
+	 * @param snapshot
+	 *            the snapshot to draw.
+	 * @return the time taken in nanoseconds.
+	 */
+	private static long timeFrame(Renderer renderer, RenderSnapshot snapshot) {
+		long startTime = System.nanoTime();
+		renderer.drawFrame(snapshot, 1);
+		return System.nanoTime() - startTime;
+	}
+
+	/**
+	 * Summarizes a set of frame times.
+	 *
+	 * @param name
+	 *            what was timed.
+	 * @param times
+	 *            the time of each frame in nanoseconds.
+	 * @return the mean, median, 95th and 99th percentiles and the longest time
+	 *         in milliseconds.
+	 */
+	private static String summarize(String name, long[] times) {
+		long[] sorted = times.clone();
+		Arrays.sort(sorted);
+		long total = 0;
+		for (long time : sorted) {
+			total += time;
+		}
+		return String.format("%s: mean %.3f ms, median %.3f ms, p95 %.3f ms, p99 %.3f ms, max %.3f ms", name,
+				total / 1e6 / sorted.length, sorted[sorted.length / 2] / 1e6,
+				sorted[(int) (sorted.length * 0.95)] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6,
+				sorted[sorted.length - 1] / 1e6);
+	}
+}
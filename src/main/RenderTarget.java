@@ -0,0 +1,31 @@
+package main;
+
+import java.awt.Graphics2D;
+
+/**
+ * Something that the game's frames are drawn onto, such as a window or an
+ * offscreen image.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Renderer
+ * @since 1.0
+ * @version 1.0
+ */
+public interface RenderTarget {
+	/**
+	 * Gets the graphics variable to draw the next frame with. It must be
+	 * disposed before calling {@link #endFrame()}.
+	 *
+	 * @return the graphics variable, or null if the target cannot be drawn to
+	 *         yet.
+	 */
+	Graphics2D beginFrame();
+
+	/**
+	 * Finishes the frame and shows it.
+	 *
+	 * @return whether or not the frame was kept. If its contents were lost,
+	 *         it has to be drawn again.
+	 */
+	boolean endFrame();
+}
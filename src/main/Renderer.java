@@ -0,0 +1,223 @@
+package main;
+
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+
+import map.RenderSnapshot;
+import utilities.Rasterizer;
+import utilities.SnapshotBuffer;
+import utilities.SpriteCache;
+
+/**
+ * Draws the game on a thread of its own.<br>
+ * After each batch of ticks, the game thread fills a {@link RenderSnapshot}
+ * and publishes it through a lock-free {@link SnapshotBuffer}. The render
+ * thread draws the newest snapshot at the display's refresh rate, moving
+ * everything part of the way from the tick before to the snapshot's tick
+ * depending on how long ago the tick was. Slow frames no longer hold up the
+ * simulation, and slow ticks no longer hold up the frames.
+ * <p>
+ * Frames are drawn through Java2D, or by a software {@link Rasterizer} when
+ * one is given, in which case the target only shows the finished frame.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see RenderSnapshot
+ * @since 1.0
+ * @version 1.0
+ */
+public class Renderer implements Runnable {
+	/**
+	 * The refresh rate used when the display's is unknown.
+	 */
+	public static final int DEFAULT_REFRESH_RATE = 60;
+
+	private Game game;
+	private RenderTarget target;
+	private SpriteCache sprites;
+
+	/**
+	 * The software rasterizer that draws the frames (null to draw them
+	 * through Java2D).
+	 */
+	private Rasterizer rasterizer;
+	private int width;
+	private int height;
+	private SnapshotBuffer<RenderSnapshot> snapshots;
+	private long nanosPerTick;
+	private long nanosPerFrame;
+	private Thread thread;
+	private volatile boolean running;
+
+	/**
+	 * Constructs a new Renderer object.
+	 *
+	 * @param game
+	 *            the game.
+	 * @param target
+	 *            what to draw the frames onto.
+	 * @param width
+	 *            the width of the screen in pixels.
+	 * @param height
+	 *            the height of the screen in pixels.
+	 * @param nanosPerTick
+	 *            the length of a tick in nanoseconds.
+	 * @param rasterizer
+	 *            the software rasterizer to draw the frames with, or null to
+	 *            draw them through Java2D.
+	 */
+	public Renderer(Game game, RenderTarget target, int width, int height, long nanosPerTick,
+			Rasterizer rasterizer) {
+		this(game, target, width, height, nanosPerTick, rasterizer, game.getSpriteCache());
+	}
+
+	/**
+	 * Constructs a new Renderer object that draws its rotated images from a
+	 * sprite cache of its own, so that it can be timed apart from other
+	 * renderers.
+	 *
+	 * @param game
+	 *            the game.
+	 * @param target
+	 *            what to draw the frames onto.
+	 * @param width
+	 *            the width of the screen in pixels.
+	 * @param height
+	 *            the height of the screen in pixels.
+	 * @param nanosPerTick
+	 *            the length of a tick in nanoseconds.
+	 * @param rasterizer
+	 *            the software rasterizer to draw the frames with, or null to
+	 *            draw them through Java2D.
+	 * @param sprites
+	 *            the cache to draw the rotated images from. Only this
+	 *            renderer may use it.
+	 */
+	public Renderer(Game game, RenderTarget target, int width, int height, long nanosPerTick,
+			Rasterizer rasterizer, SpriteCache sprites) {
+		this.game = game;
+		this.target = target;
+		this.sprites = sprites;
+		this.rasterizer = rasterizer;
+		this.width = width;
+		this.height = height;
+		this.nanosPerTick = nanosPerTick;
+		this.snapshots = new SnapshotBuffer<RenderSnapshot>(new RenderSnapshot(width, height),
+				new RenderSnapshot(width, height), new RenderSnapshot(width, height));
+
+		// Draw a frame each time the display refreshes
+		int refreshRate = DEFAULT_REFRESH_RATE;
+		if (!GraphicsEnvironment.isHeadless()) {
+			DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+					.getDisplayMode();
+			if (mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN) {
+				refreshRate = mode.getRefreshRate();
+			}
+		}
+		this.nanosPerFrame = 1000000000L / refreshRate;
+	}
+
+	/**
+	 * Gets the snapshot for the game thread to fill. Only the game thread may
+	 * call this.
+	 *
+	 * @return the snapshot to fill.
+	 */
+	public RenderSnapshot getWriteSnapshot() {
+		return this.snapshots.getWriteSlot();
+	}
+
+	/**
+	 * Hands the filled snapshot to the render thread. Only the game thread
+	 * may call this.
+	 */
+	public void publish() {
+		this.snapshots.publish();
+	}
+
+	/**
+	 * Starts the render thread.
+	 */
+	public void start() {
+		this.running = true;
+		this.thread = new Thread(this, "Renderer");
+		this.thread.start();
+	}
+
+	/**
+	 * Stops the render thread and waits for it to finish its frame.
+	 */
+	public void stop() {
+		this.running = false;
+		try {
+			this.thread.join();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * The loop of the render thread.
+	 */
+	public void run() {
+		long nextFrame = System.nanoTime();
+
+		while (this.running) {
+			// Wait for the display's next refresh
+			long wait = nextFrame - System.nanoTime();
+			if (wait > 0) {
+				try {
+					Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
+			}
+			nextFrame = Math.max(nextFrame + this.nanosPerFrame, System.nanoTime());
+
+			// Wait for the game thread to publish its first snapshot
+			RenderSnapshot snapshot = this.snapshots.acquire();
+			if (snapshot.getTick() < 0) {
+				continue;
+			}
+
+			// Draw between the tick before and the snapshot's tick, depending
+			// on how much of a tick has passed since it was published
+			drawFrame(snapshot, Math.min((System.nanoTime() - snapshot.getTime()) / (double) this.nanosPerTick, 1));
+		}
+	}
+
+	/**
+	 * Draws a snapshot onto the target, drawing it again if the target loses
+	 * it. Only one thread may draw frames at a time.
+	 *
+	 * @param snapshot
+	 *            the snapshot to draw.
+	 * @param alpha
+	 *            how far to draw between the tick before (0) and the
+	 *            snapshot's tick (1).
+	 * @return whether or not the frame was drawn. Returns false if the
+	 *         target is not ready yet.
+	 */
+	public boolean drawFrame(RenderSnapshot snapshot, double alpha) {
+		if (this.rasterizer != null) {
+			snapshot.rasterize(this.rasterizer, alpha, this.sprites);
+		}
+		do {
+			Graphics2D g2D = this.target.beginFrame();
+			if (g2D == null) {
+				return false;
+			}
+			if (this.rasterizer != null) {
+				// Show the frame the rasterizer drew with a single draw
+				g2D.drawImage(this.rasterizer.getImage(), 0, 0, null);
+			} else {
+				g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				g2D.clearRect(0, 0, this.width, this.height);
+				snapshot.render(g2D, alpha, this.sprites);
+			}
+			g2D.dispose();
+		} while (!this.target.endFrame());
+		return true;
+	}
+}
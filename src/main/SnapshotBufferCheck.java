@@ -0,0 +1,93 @@
+package main;
+
+import utilities.SnapshotBuffer;
+
+/**
+ * Stress tests the {@link SnapshotBuffer} that hands snapshots from the game
+ * thread to the render thread.<br>
+ * A writer thread fills every entry of its slot with the number of the
+ * snapshot and publishes it, as many times as asked, while a reader thread
+ * keeps acquiring the newest slot without waiting. The reader checks that
+ * every slot it reads holds one snapshot throughout (the writer never wrote
+ * into the slot being read), that snapshots never go back to an older one,
+ * and that the last snapshot published is the one it ends up with. The check
+ * exits with a non-zero status if any of these fail.
+ * <p>
+ * Usage: {@code java main.SnapshotBufferCheck [publishes]}
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see SnapshotBuffer
+ * @since 1.0
+ * @version 1.0
+ */
+public class SnapshotBufferCheck {
+	/**
+	 * The number of entries in each slot, enough that a write into the slot
+	 * being read is likely to be caught part of the way through.
+	 */
+	private static final int SLOT_SIZE = 256;
+
+	private static volatile boolean writing;
+
+	/**
+	 * Runs the check.
+	 *
+	 * @param args
+	 *            the number of snapshots to publish (5000000 by default).
+	 */
+	public static void main(String[] args) {
+		final long noOfPublishes = args.length > 0 ? Long.parseLong(args[0]) : 5000000;
+		final SnapshotBuffer<long[]> buffer = new SnapshotBuffer<long[]>(new long[SLOT_SIZE], new long[SLOT_SIZE],
+				new long[SLOT_SIZE]);
+
+		Thread writer = new Thread("Writer") {
+			public void run() {
+				for (long snapshot = 1; snapshot <= noOfPublishes; snapshot++) {
+					long[] slot = buffer.getWriteSlot();
+					for (int i = 0; i < SLOT_SIZE; i++) {
+						slot[i] = snapshot;
+					}
+					buffer.publish();
+				}
+				writing = false;
+			}
+		};
+
+		// Read on this thread while the writer publishes
+		writing = true;
+		writer.start();
+		long noOfReads = 0;
+		long noOfSnapshotsSeen = 0;
+		long noOfTornReads = 0;
+		long noOfOlderReads = 0;
+		long lastSnapshot = 0;
+		boolean lastRead = false;
+		while (!lastRead) {
+			// Read once more after the writer finishes to get the last snapshot
+			lastRead = !writing;
+			long[] slot = buffer.acquire();
+			long snapshot = slot[0];
+			for (int i = 1; i < SLOT_SIZE; i++) {
+				if (slot[i] != snapshot) {
+					noOfTornReads++;
+					break;
+				}
+			}
+			if (snapshot < lastSnapshot) {
+				noOfOlderReads++;
+			} else if (snapshot > lastSnapshot) {
+				noOfSnapshotsSeen++;
+			}
+			lastSnapshot = Math.max(lastSnapshot, snapshot);
+			noOfReads++;
+		}
+
+		System.out.println("Published " + noOfPublishes + " snapshots, read " + noOfReads + " times and saw "
+				+ noOfSnapshotsSeen + " of them");
+		System.out.println("Torn reads: " + noOfTornReads + ", older snapshots read: " + noOfOlderReads
+				+ ", last snapshot read: " + lastSnapshot);
+		boolean passed = noOfTornReads == 0 && noOfOlderReads == 0 && lastSnapshot == noOfPublishes;
+		System.out.println(passed ? "Passed" : "FAILED");
+		System.exit(passed ? 0 : 1);
+	}
+}
@@ -0,0 +1,206 @@
+package main;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import items.Firearm;
+import items.Item;
+import utilities.SpriteCache;
+
+/**
+ * Checks that sprites drawn from the {@link SpriteCache} look the same as
+ * sprites drawn through a rotated graphics transform.<br>
+ * Every zombie, player skin and held item sprite is drawn both ways, at the
+ * offsets the game draws them with and at several angles. The cache must draw
+ * exactly what the rotated transform draws at the nearest cached angle, and
+ * that angle must be at most half of the angle between cached frames away.
+ * Compared with the rotated transform at the angle itself, the cached sprite
+ * may then differ by no more than the rotated transform differs from itself
+ * when turned by half of the angle between cached frames. The check runs
+ * headless and exits with a non-zero status if any sprite fails.
+ * <p>
+ * Usage: {@code java main.SpriteCacheCheck}
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see SpriteCache
+ * @since 1.0
+ * @version 1.0
+ */
+public class SpriteCacheCheck {
+	/**
+	 * The angles that each sprite is checked at in radians, including angles
+	 * between the cached ones and angles outside of 0 to 2 pi.
+	 */
+	private static final double[] ANGLES = { 0, 0.05, 0.3, 1, Math.PI / 2, 2.5, Math.PI, 4, 5.5, 6.25,
+			-0.7, 8 };
+
+	/**
+	 * The largest difference in each colour channel for two pixels to count as
+	 * the same colour.
+	 */
+	private static final int COLOUR_TOLERANCE = 2;
+
+	/**
+	 * Half of the angle between cached frames in radians, the most that the
+	 * cache may turn a sprite by.
+	 */
+	private static final double HALF_STEP = Math.PI / SpriteCache.NO_OF_ANGLES;
+
+	/**
+	 * How many times the difference made by turning half a frame that the
+	 * cached sprite may differ by, allowing for the pixels that rotating
+	 * picks changing unevenly with the angle.
+	 */
+	private static final double SLACK = 1.25;
+
+	/**
+	 * The colour drawn behind the sprites, which shows through their
+	 * transparent pixels.
+	 */
+	private static final Color BACKGROUND = new Color(90, 110, 70);
+
+	/**
+	 * Runs the check.
+	 *
+	 * @param args
+	 *            not used.
+	 */
+	public static void main(String[] args) {
+		// Must be set before anything from AWT is loaded
+		System.setProperty("java.awt.headless", "true");
+
+		Game game = new Game("Project Z", RenderBenchmark.WIDTH, RenderBenchmark.HEIGHT);
+		game.initialize();
+		SpriteCache sprites = new SpriteCache();
+
+		// Check the sprites at the offsets that the zombies, the player and
+		// the items in the player's hand are drawn with
+		int noOfFailures = 0;
+		int noOfSprites = 0;
+		BufferedImage[] zombies = game.getZombieImages()[0];
+		for (int i = 0; i < zombies.length; i++) {
+			noOfFailures += check(sprites, "zombie " + i, zombies[i], -16, -16);
+			noOfSprites++;
+		}
+		BufferedImage[] skins = game.getPlayerImages()[0];
+		for (int i = 0; i < skins.length; i++) {
+			noOfFailures += check(sprites, "player skin " + i, skins[i], -16, -16);
+			noOfSprites++;
+		}
+		for (Item item : game.getItems()) {
+			BufferedImage held = item instanceof Firearm ? item.getImages()[2] : item.getImages()[0];
+			noOfFailures += check(sprites, item.getName(), held, -6, -26);
+			noOfSprites++;
+		}
+
+		System.out.println("Checked " + noOfSprites + " sprites at " + ANGLES.length + " angles: " + noOfFailures
+				+ " failed");
+		System.exit(noOfFailures == 0 ? 0 : 1);
+	}
+
+	/**
+	 * Checks one sprite at every angle, printing the angles it fails at.
+	 *
+	 * @param sprites
+	 *            the sprite cache being checked.
+	 * @param name
+	 *            the name of the sprite shown if it fails.
+	 * @param image
+	 *            the image of the sprite.
+	 * @param offsetX
+	 *            the x coordinate of the image's top left corner relative to
+	 *            the point it rotates around.
+	 * @param offsetY
+	 *            the y coordinate of the image's top left corner relative to
+	 *            the point it rotates around.
+	 * @return the number of angles the sprite failed at.
+	 */
+	private static int check(SpriteCache sprites, String name, BufferedImage image, int offsetX, int offsetY) {
+		// Make the canvas big enough to hold the sprite at any rotation
+		int farthestX = Math.max(Math.abs(offsetX), Math.abs(offsetX + image.getWidth()));
+		int farthestY = Math.max(Math.abs(offsetY), Math.abs(offsetY + image.getHeight()));
+		double radius = Math.sqrt(farthestX * farthestX + farthestY * farthestY);
+		int size = (int) Math.ceil(radius) * 2 + 4;
+
+		int noOfFailures = 0;
+		for (double angle : ANGLES) {
+			// Find how far the cache turns the sprite, between -pi and pi
+			double cachedAngle = SpriteCache.frameOf(angle) * (2 * Math.PI / SpriteCache.NO_OF_ANGLES);
+			double error = Math.IEEEremainder(cachedAngle - angle, 2 * Math.PI);
+
+			BufferedImage cached = draw(sprites, image, offsetX, offsetY, angle, size, true);
+			BufferedImage exact = draw(sprites, image, offsetX, offsetY, cachedAngle, size, false);
+			BufferedImage rotated = draw(sprites, image, offsetX, offsetY, angle, size, false);
+			BufferedImage halfTurned = draw(sprites, image, offsetX, offsetY,
+					angle + (error < 0 ? -HALF_STEP : HALF_STEP), size, false);
+
+			long difference = difference(cached, rotated);
+			long tolerance = (long) (difference(halfTurned, rotated) * SLACK);
+			if (difference(cached, exact) != 0) {
+				System.out.println(name + " differs from the rotated sprite at " + cachedAngle + " radians");
+				noOfFailures++;
+			} else if (Math.abs(error) > HALF_STEP + 1e-9) {
+				System.out.println(name + " turned by " + error + " radians at " + angle + " radians");
+				noOfFailures++;
+			} else if (difference > tolerance) {
+				System.out.println(name + " differs by " + difference + " at " + angle + " radians, more than "
+						+ tolerance);
+				noOfFailures++;
+			}
+		}
+		return noOfFailures;
+	}
+
+	/**
+	 * Draws a sprite rotated around the middle of a new canvas, either from the
+	 * sprite cache or the way sprites were drawn before they were cached, by
+	 * rotating the graphics.
+	 */
+	private static BufferedImage draw(SpriteCache sprites, BufferedImage image, int offsetX, int offsetY,
+			double angle, int size, boolean fromCache) {
+		BufferedImage canvas = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2D = canvas.createGraphics();
+		g2D.setColor(BACKGROUND);
+		g2D.fillRect(0, 0, size, size);
+		g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		int pivot = size / 2;
+		if (fromCache) {
+			sprites.draw(g2D, image, offsetX, offsetY, angle, pivot, pivot);
+		} else {
+			g2D.rotate(angle, pivot, pivot);
+			g2D.drawImage(image, pivot + offsetX, pivot + offsetY, null);
+		}
+		g2D.dispose();
+		return canvas;
+	}
+
+	/**
+	 * Adds up how much two canvases differ, ignoring differences of up to
+	 * {@link #COLOUR_TOLERANCE} in a colour channel.
+	 *
+	 * @param first
+	 *            the first canvas.
+	 * @param second
+	 *            the second canvas, the same size as the first.
+	 * @return the sum of the differences of every colour channel of every
+	 *         pixel.
+	 */
+	private static long difference(BufferedImage first, BufferedImage second) {
+		long total = 0;
+		for (int y = 0; y < first.getHeight(); y++) {
+			for (int x = 0; x < first.getWidth(); x++) {
+				int firstColour = first.getRGB(x, y);
+				int secondColour = second.getRGB(x, y);
+				for (int shift = 0; shift < 24; shift += 8) {
+					int channel = Math.abs(((firstColour >> shift) & 0xFF) - ((secondColour >> shift) & 0xFF));
+					if (channel > COLOUR_TOLERANCE) {
+						total += channel;
+					}
+				}
+			}
+		}
+		return total;
+	}
+}
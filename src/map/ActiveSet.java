@@ -0,0 +1,224 @@
+package map;
+
+import java.util.Arrays;
+
+import entities.EntityRegistry;
+import entities.Zombie;
+import entities.ZombieStore;
+
+/**
+ * The set of zombies that are simulated during a tick.<br>
+ * The set is built once at the start of every tick from the awake zombies in
+ * the chunks being simulated, so dormant zombies cost nothing, and it does not
+ * change while the tick runs, so each zombie in it is
+ * updated exactly once no matter how zombies move between chunks. Zombies do
+ * not change chunks while they update; {@link #commitMigrations()} moves them
+ * to the chunk they ended up in once every zombie has been updated.<br>
+ * <br>
+ * The zombies in the set are grouped by the chunk they start the tick in.
+ * Each chunk's group is a partition that can be updated independently of the
+ * others (see {@link CrowdSimulation}).<br>
+ * <br>
+ * The set is double buffered: building the set for a new tick fills the back
+ * buffer and then swaps it to the front, so the previous tick's set stays
+ * intact until the next build.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Chunk
+ * @since 1.0
+ * @version 1.0
+ */
+public class ActiveSet {
+	private Chunk[][] chunkMap;
+	private EntityRegistry registry;
+	private ZombieStore store;
+
+	private int[] front;
+	private int frontSize;
+	private int[] back;
+	private int backSize;
+
+	/**
+	 * The handles and partitions of the awake zombies found while building,
+	 * before they are grouped by partition.
+	 */
+	private int[] found;
+	private int[] foundPartitions;
+
+	/**
+	 * The first position of each partition in the front buffer. The last
+	 * entry is the size of the set.
+	 */
+	private int[] partitionStarts;
+	private int noOfPartitions;
+
+	/**
+	 * Constructs a new empty ActiveSet object.
+	 *
+	 * @param chunkMap
+	 *            the chunks of the map.
+	 * @param registry
+	 *            the registry of the entities in the map.
+	 * @param store
+	 *            the store of the zombies in the map.
+	 */
+	public ActiveSet(Chunk[][] chunkMap, EntityRegistry registry, ZombieStore store) {
+		this.chunkMap = chunkMap;
+		this.registry = registry;
+		this.store = store;
+		this.front = new int[256];
+		this.back = new int[256];
+		this.found = new int[256];
+		this.foundPartitions = new int[256];
+		this.partitionStarts = new int[1];
+	}
+
+	/**
+	 * Builds the set for a new tick from the awake zombies in a block of
+	 * chunks.
+	 *
+	 * @param minChunkX
+	 *            the first chunk column (inclusive).
+	 * @param maxChunkX
+	 *            the last chunk column (exclusive).
+	 * @param minChunkY
+	 *            the first chunk row (inclusive).
+	 * @param maxChunkY
+	 *            the last chunk row (exclusive).
+	 */
+	public void build(int minChunkX, int maxChunkX, int minChunkY, int maxChunkY) {
+		this.backSize = 0;
+		minChunkX = Math.max(minChunkX, 0);
+		maxChunkX = Math.min(maxChunkX, this.chunkMap.length);
+		minChunkY = Math.max(minChunkY, 0);
+		maxChunkY = Math.min(maxChunkY, this.chunkMap[0].length);
+		int columns = Math.max(maxChunkX - minChunkX, 0);
+		int partitions = columns * Math.max(maxChunkY - minChunkY, 0);
+		if (this.partitionStarts.length < partitions + 1) {
+			this.partitionStarts = new int[partitions + 1];
+		}
+		Arrays.fill(this.partitionStarts, 0, partitions + 1, 0);
+
+		// Find the awake zombies in the chunks and count the zombies in each
+		// partition
+		int noFound = 0;
+		ZombieStore store = this.store;
+		for (int i = 0; i < store.getNoOfAwake(); i++) {
+			int slot = store.getAwake(i);
+			int chunkX = Math.floorDiv(store.getX(slot), 512);
+			int chunkY = Math.floorDiv(store.getY(slot), 512);
+			if (chunkX < minChunkX || chunkX >= maxChunkX || chunkY < minChunkY || chunkY >= maxChunkY) {
+				continue;
+			}
+			if (noFound == this.found.length) {
+				this.found = Arrays.copyOf(this.found, noFound * 2);
+				this.foundPartitions = Arrays.copyOf(this.foundPartitions, noFound * 2);
+			}
+			int partition = (chunkY - minChunkY) * columns + (chunkX - minChunkX);
+			this.found[noFound] = store.get(slot).getHandle();
+			this.foundPartitions[noFound] = partition;
+			this.partitionStarts[partition + 1]++;
+			noFound++;
+		}
+
+		// Turn the counts into the start of each partition and place the
+		// zombies, keeping the order they were found in within each partition
+		for (int partition = 0; partition < partitions; partition++) {
+			this.partitionStarts[partition + 1] += this.partitionStarts[partition];
+		}
+		if (this.back.length < noFound) {
+			this.back = new int[Math.max(noFound, this.back.length * 2)];
+		}
+		for (int i = 0; i < noFound; i++) {
+			int partition = this.foundPartitions[i];
+			// Use the start of the partition as its next free position
+			this.back[this.partitionStarts[partition]++] = this.found[i];
+		}
+		// Placing moved each start to the end of its partition, so shift them
+		// back by one partition
+		for (int partition = partitions; partition > 0; partition--) {
+			this.partitionStarts[partition] = this.partitionStarts[partition - 1];
+		}
+		this.partitionStarts[0] = 0;
+		this.backSize = noFound;
+		this.noOfPartitions = partitions;
+
+		// Swap the buffers
+		int[] previous = this.front;
+		this.front = this.back;
+		this.frontSize = this.backSize;
+		this.back = previous;
+	}
+
+	/**
+	 * Moves every zombie in the set that has left its chunk into the chunk
+	 * that it is now in. Zombies that have left the map are removed from
+	 * their chunk.
+	 */
+	public void commitMigrations() {
+		for (int i = 0; i < this.frontSize; i++) {
+			Zombie zombie = get(i);
+			// Skip zombies that were killed during the tick
+			if (zombie == null || zombie.getChunk() == null) {
+				continue;
+			}
+
+			int chunkX = zombie.getX() / 512;
+			int chunkY = zombie.getY() / 512;
+			if (chunkX > this.chunkMap.length - 1 || chunkY > this.chunkMap[0].length - 1 || chunkX < 0
+					|| chunkY < 0) {
+				zombie.getChunk().removeZombie(zombie);
+			} else if (this.chunkMap[chunkX][chunkY] != zombie.getChunk()) {
+				zombie.getChunk().removeZombie(zombie);
+				this.chunkMap[chunkX][chunkY].addZombie(zombie);
+			}
+		}
+	}
+
+	/**
+	 * Gets the zombie in a given position of the set.
+	 *
+	 * @param index
+	 *            the position in the set (from 0 to size() - 1).
+	 * @return the zombie. Returns null if it has been killed since the set was
+	 *         built.
+	 */
+	public Zombie get(int index) {
+		return (Zombie) this.registry.get(this.front[index]);
+	}
+
+	public int getNoOfPartitions() {
+		return this.noOfPartitions;
+	}
+
+	/**
+	 * Gets the first position of a partition.
+	 *
+	 * @param partition
+	 *            the partition (from 0 to getNoOfPartitions() - 1).
+	 * @return the position of the partition's first zombie.
+	 */
+	public int getPartitionStart(int partition) {
+		return this.partitionStarts[partition];
+	}
+
+	/**
+	 * Gets the position after the end of a partition.
+	 *
+	 * @param partition
+	 *            the partition (from 0 to getNoOfPartitions() - 1).
+	 * @return the position after the partition's last zombie.
+	 */
+	public int getPartitionEnd(int partition) {
+		return this.partitionStarts[partition + 1];
+	}
+
+	/**
+	 * Gets the number of zombies in the set.
+	 *
+	 * @return the number of zombies.
+	 */
+	public int size() {
+		return this.frontSize;
+	}
+}
@@ -0,0 +1,284 @@
+package map;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import entities.EntityRegistry;
+import entities.Zombie;
+
+/**
+ * Coarse simulation of the zombies outside of the chunks around the player.<br>
+ * Instead of updating each zombie, the simulation works on whole chunks once
+ * every {@link #INTERVAL} ticks. Recent noises made by the player spread out
+ * from the chunk they were made in and fade over time, and zombies drift
+ * towards the neighbouring chunk with the loudest noise. Chunks without a
+ * noise to follow spread their zombies out into less crowded neighbouring
+ * chunks. Zombies are never moved into the chunks around the player; once
+ * their chunk enters that area they are updated by the
+ * {@link CrowdSimulation} again.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see ActiveSet
+ * @since 1.0
+ * @version 1.0
+ */
+public class BackgroundSimulation {
+	/**
+	 * The number of ticks between steps of the simulation (once a second).
+	 */
+	public static final int INTERVAL = 60;
+
+	/**
+	 * How much quieter a noise is in each chunk that it spreads to.
+	 */
+	private static final int NOISE_FALLOFF = 64;
+
+	private Chunk[][] chunkMap;
+	private EntityRegistry registry;
+	private short[][] tileMap;
+	private Random random;
+	private int columns;
+	private int rows;
+
+	/**
+	 * The loudness of the recent noises in each chunk, and the buffer that the
+	 * next step's loudness is spread into.
+	 */
+	private int[] noise;
+	private int[] nextNoise;
+
+	/**
+	 * The number of zombies in each chunk at the start of a step.
+	 */
+	private int[] counts;
+
+	/**
+	 * The handles of the zombies moved during a step and the chunk that each
+	 * of them is moved to.
+	 */
+	private int[] moves;
+	private int[] destinations;
+	private int noOfMoves;
+
+	/**
+	 * Constructs a new BackgroundSimulation object.
+	 *
+	 * @param chunkMap
+	 *            the chunks of the map.
+	 * @param registry
+	 *            the registry of the entities in the map.
+	 * @param tileMap
+	 *            the tiles of the map.
+	 * @param random
+	 *            the random number generator of the map, so that a map
+	 *            generated from a seed plays out the same every time.
+	 */
+	public BackgroundSimulation(Chunk[][] chunkMap, EntityRegistry registry, short[][] tileMap, Random random) {
+		this.chunkMap = chunkMap;
+		this.registry = registry;
+		this.tileMap = tileMap;
+		this.random = random;
+		this.columns = chunkMap.length;
+		this.rows = chunkMap[0].length;
+		this.noise = new int[this.columns * this.rows];
+		this.nextNoise = new int[this.columns * this.rows];
+		this.counts = new int[this.columns * this.rows];
+		this.moves = new int[64];
+		this.destinations = new int[64];
+	}
+
+	/**
+	 * Records a noise so that zombies outside of the chunks around the player
+	 * drift towards it.
+	 *
+	 * @param x
+	 *            the x coordinate of the noise in pixels.
+	 * @param y
+	 *            the y coordinate of the noise in pixels.
+	 * @param range
+	 *            the range of the noise in pixels.
+	 */
+	public void recordNoise(int x, int y, int range) {
+		int chunkX = x / 512;
+		int chunkY = y / 512;
+		if (chunkX < 0 || chunkY < 0 || chunkX >= this.columns || chunkY >= this.rows) {
+			return;
+		}
+		int chunk = chunkY * this.columns + chunkX;
+		this.noise[chunk] = Math.max(this.noise[chunk], range);
+	}
+
+	/**
+	 * Advances the simulation by one step. Zombies in the given block of
+	 * chunks are left alone.
+	 *
+	 * @param minChunkX
+	 *            the first chunk column updated in detail (inclusive).
+	 * @param maxChunkX
+	 *            the last chunk column updated in detail (exclusive).
+	 * @param minChunkY
+	 *            the first chunk row updated in detail (inclusive).
+	 * @param maxChunkY
+	 *            the last chunk row updated in detail (exclusive).
+	 */
+	public void step(int minChunkX, int maxChunkX, int minChunkY, int maxChunkY) {
+		spreadNoise();
+
+		// Count the zombies in each chunk before any of them move
+		for (int chunkX = 0; chunkX < this.columns; chunkX++) {
+			for (int chunkY = 0; chunkY < this.rows; chunkY++) {
+				Chunk chunk = this.chunkMap[chunkX][chunkY];
+				this.counts[chunkY * this.columns + chunkX] = chunk.hasZombies() ? chunk.getZombies().size() : 0;
+			}
+		}
+
+		// Decide which zombies leave each chunk outside of the detailed area
+		this.noOfMoves = 0;
+		for (int chunkX = 0; chunkX < this.columns; chunkX++) {
+			for (int chunkY = 0; chunkY < this.rows; chunkY++) {
+				int chunk = chunkY * this.columns + chunkX;
+				if (this.counts[chunk] == 0 || (chunkX >= minChunkX && chunkX < maxChunkX && chunkY >= minChunkY
+						&& chunkY < maxChunkY)) {
+					continue;
+				}
+
+				int destination = -1;
+				int amount = 0;
+
+				// Drift towards the loudest neighbouring chunk
+				int loudest = this.noise[chunk];
+				for (int dx = -1; dx <= 1; dx++) {
+					for (int dy = -1; dy <= 1; dy++) {
+						int neighbour = neighbour(chunkX + dx, chunkY + dy, minChunkX, maxChunkX, minChunkY,
+								maxChunkY);
+						if (neighbour >= 0 && this.noise[neighbour] > loudest) {
+							loudest = this.noise[neighbour];
+							destination = neighbour;
+						}
+					}
+				}
+				if (destination >= 0) {
+					amount = Math.max(this.counts[chunk] / 4, 1);
+				} else {
+					// Otherwise spread out into the least crowded neighbouring
+					// chunk
+					int fewest = this.counts[chunk];
+					for (int direction = 0; direction < 4; direction++) {
+						int dx = direction == 0 ? 1 : direction == 1 ? -1 : 0;
+						int dy = direction == 2 ? 1 : direction == 3 ? -1 : 0;
+						int neighbour = neighbour(chunkX + dx, chunkY + dy, minChunkX, maxChunkX, minChunkY,
+								maxChunkY);
+						if (neighbour >= 0 && this.counts[neighbour] < fewest) {
+							fewest = this.counts[neighbour];
+							destination = neighbour;
+						}
+					}
+					amount = (this.counts[chunk] - fewest) / 4;
+				}
+
+				EntityList<Zombie> zombies = this.chunkMap[chunkX][chunkY].getZombies();
+				for (int i = 0; i < amount; i++) {
+					addMove(zombies.getHandle(i), destination);
+				}
+			}
+		}
+
+		// Move the zombies once every chunk has been decided so that no
+		// zombie moves more than once per step
+		for (int i = 0; i < this.noOfMoves; i++) {
+			Zombie zombie = (Zombie) this.registry.get(this.moves[i]);
+			if (zombie != null) {
+				move(zombie, this.destinations[i] % this.columns, this.destinations[i] / this.columns);
+			}
+		}
+	}
+
+	/**
+	 * Spreads the recorded noises into the neighbouring chunks and fades
+	 * them.
+	 */
+	private void spreadNoise() {
+		for (int chunkX = 0; chunkX < this.columns; chunkX++) {
+			for (int chunkY = 0; chunkY < this.rows; chunkY++) {
+				int loudness = this.noise[chunkY * this.columns + chunkX];
+				for (int dx = -1; dx <= 1; dx++) {
+					for (int dy = -1; dy <= 1; dy++) {
+						int x = chunkX + dx;
+						int y = chunkY + dy;
+						if (x >= 0 && y >= 0 && x < this.columns && y < this.rows) {
+							loudness = Math.max(loudness, this.noise[y * this.columns + x] - NOISE_FALLOFF);
+						}
+					}
+				}
+				// Fade the noise by a quarter every step
+				this.nextNoise[chunkY * this.columns + chunkX] = loudness * 3 / 4;
+			}
+		}
+
+		int[] previous = this.noise;
+		this.noise = this.nextNoise;
+		this.nextNoise = previous;
+	}
+
+	/**
+	 * Gets the index of a chunk that zombies can be moved into.
+	 *
+	 * @return the index of the chunk. Returns -1 if the chunk is outside of
+	 *         the map or inside of the detailed area.
+	 */
+	private int neighbour(int chunkX, int chunkY, int minChunkX, int maxChunkX, int minChunkY, int maxChunkY) {
+		if (chunkX < 0 || chunkY < 0 || chunkX >= this.columns || chunkY >= this.rows) {
+			return -1;
+		}
+		if (chunkX >= minChunkX && chunkX < maxChunkX && chunkY >= minChunkY && chunkY < maxChunkY) {
+			return -1;
+		}
+		return chunkY * this.columns + chunkX;
+	}
+
+	/**
+	 * Plans to move a zombie into another chunk.
+	 *
+	 * @param handle
+	 *            the handle of the zombie.
+	 * @param destination
+	 *            the index of the chunk to move it to.
+	 */
+	private void addMove(int handle, int destination) {
+		if (this.noOfMoves == this.moves.length) {
+			this.moves = Arrays.copyOf(this.moves, this.noOfMoves * 2);
+			this.destinations = Arrays.copyOf(this.destinations, this.noOfMoves * 2);
+		}
+		this.moves[this.noOfMoves] = handle;
+		this.destinations[this.noOfMoves] = destination;
+		this.noOfMoves++;
+	}
+
+	/**
+	 * Moves a zombie onto an open tile in another chunk. The zombie keeps its
+	 * tile inside of the chunk if possible. If the tile is solid, a few random
+	 * tiles are tried, and the zombie stays put if they are all solid.
+	 *
+	 * @param zombie
+	 *            the zombie to move.
+	 * @param chunkX
+	 *            the column of the chunk to move it to.
+	 * @param chunkY
+	 *            the row of the chunk to move it to.
+	 */
+	private void move(Zombie zombie, int chunkX, int chunkY) {
+		int tileX = chunkX * 16 + (zombie.getX() % 512) / 32;
+		int tileY = chunkY * 16 + (zombie.getY() % 512) / 32;
+		for (int tries = 0; (this.tileMap[tileX][tileY] & (1 << 14)) != 0; tries++) {
+			if (tries == 4) {
+				return;
+			}
+			tileX = chunkX * 16 + this.random.nextInt(16);
+			tileY = chunkY * 16 + this.random.nextInt(16);
+		}
+
+		zombie.relocate(tileX * 32, tileY * 32);
+		zombie.getChunk().removeZombie(zombie);
+		this.chunkMap[chunkX][chunkY].addZombie(zombie);
+	}
+}
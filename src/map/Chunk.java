@@ -1,13 +1,21 @@
 package map;
 
-import java.util.ArrayList;
-
 import entities.Entity;
+import entities.EntityRegistry;
 import entities.Zombie;
 import items.Item;
 
 /**
- * Object that represents a 16x16 block area.
+ * Object that represents a 16x16 block area.<br>
+ * Entities and zombies are stored as handles in {@link EntityList}s and items
+ * are stored in a {@link ChunkList}, so adding and removing them is constant
+ * time but does not preserve their order. Entities are registered with the
+ * map's {@link EntityRegistry} the first time they are added to a chunk.<br>
+ * <br>
+ * Most chunks are empty, so a chunk's lists start as shared empty lists and
+ * are only allocated when something is first added to them. The chunk keeps
+ * occupancy bits of which lists have members, so loops can skip empty chunks
+ * without touching their lists.
  * 
  * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
  * @see Map
@@ -15,19 +23,45 @@ import items.Item;
  * @version 1.0
  */
 public class Chunk {
-	private ArrayList<Entity> solidEntities;
-	private ArrayList<Entity> passibleEntities;
-	private ArrayList<Zombie> zombies;
-	private ArrayList<Item> items;
+	/**
+	 * Occupancy bit set while the chunk has solid entities.
+	 */
+	public static final int SOLID_ENTITIES = 1;
+
+	/**
+	 * Occupancy bit set while the chunk has passible entities.
+	 */
+	public static final int PASSIBLE_ENTITIES = 2;
+
+	/**
+	 * Occupancy bit set while the chunk has zombies.
+	 */
+	public static final int ZOMBIES = 4;
+
+	/**
+	 * Occupancy bit set while the chunk has items.
+	 */
+	public static final int ITEMS = 8;
+
+	private EntityRegistry registry;
+	private int occupancy;
+	private EntityList<Entity> solidEntities;
+	private EntityList<Entity> passibleEntities;
+	private EntityList<Zombie> zombies;
+	private ChunkList<Item> items;
 
 	/**
 	 * Constructs a new Chunk object.
+	 * 
+	 * @param registry
+	 *            the registry of the entities in the map.
 	 */
-	public Chunk() {
-		this.solidEntities = new ArrayList<Entity>();
-		this.passibleEntities = new ArrayList<Entity>();
-		this.zombies = new ArrayList<Zombie>();
-		this.items = new ArrayList<Item>();
+	public Chunk(EntityRegistry registry) {
+		this.registry = registry;
+		this.solidEntities = EntityList.empty();
+		this.passibleEntities = EntityList.empty();
+		this.zombies = EntityList.empty();
+		this.items = ChunkList.empty();
 	}
 
 	/**
@@ -37,11 +71,23 @@ public class Chunk {
 	 *            the entity to add.
 	 */
 	public void add(Entity entity) {
+		if (entity.getHandle() == EntityRegistry.NO_HANDLE) {
+			this.registry.register(entity);
+		}
 		if (entity.isSolid()) {
+			if (this.solidEntities == EntityList.<Entity> empty()) {
+				this.solidEntities = new EntityList<Entity>(this.registry);
+			}
 			this.solidEntities.add(entity);
+			this.occupancy |= SOLID_ENTITIES;
 		} else {
+			if (this.passibleEntities == EntityList.<Entity> empty()) {
+				this.passibleEntities = new EntityList<Entity>(this.registry);
+			}
 			this.passibleEntities.add(entity);
+			this.occupancy |= PASSIBLE_ENTITIES;
 		}
+		entity.setChunk(this);
 	}
 
 	/**
@@ -51,7 +97,11 @@ public class Chunk {
 	 *            the item to add.
 	 */
 	public void add(Item item) {
+		if (this.items == ChunkList.<Item> empty()) {
+			this.items = new ChunkList<Item>();
+		}
 		this.items.add(item);
+		this.occupancy |= ITEMS;
 	}
 
 	/**
@@ -61,7 +111,9 @@ public class Chunk {
 	 *            the item to remove
 	 */
 	public void remove(Item item) {
-		this.items.remove(item);
+		if (this.items.remove(item) && this.items.isEmpty()) {
+			this.occupancy &= ~ITEMS;
+		}
 	}
 
 	/**
@@ -74,14 +126,30 @@ public class Chunk {
 	public Entity remove(Entity entity) {
 		if (entity instanceof Zombie) {
 			return removeZombie((Zombie) entity);
-		} else if (entity.isSolid()) {
-			this.solidEntities.remove(entity);
-		} else {
-			this.passibleEntities.remove(entity);
+		} else if (entity.isSolid() ? this.solidEntities.remove(entity) : this.passibleEntities.remove(entity)) {
+			entity.setChunk(null);
+			if (this.solidEntities.isEmpty()) {
+				this.occupancy &= ~SOLID_ENTITIES;
+			}
+			if (this.passibleEntities.isEmpty()) {
+				this.occupancy &= ~PASSIBLE_ENTITIES;
+			}
 		}
 		return entity;
 	}
 
+	/**
+	 * Removes an entity from the chunk and releases its handle, so that any
+	 * remaining references to the handle can tell that the entity is gone.
+	 * 
+	 * @param entity
+	 *            the entity to destroy.
+	 */
+	public void destroy(Entity entity) {
+		this.remove(entity);
+		this.registry.release(entity.getHandle());
+	}
+
 	/**
 	 * Adds a zombie to the chunk.
 	 * 
@@ -89,7 +157,15 @@ public class Chunk {
 	 *            the zombie to add.
 	 */
 	public void addZombie(Zombie zombie) {
+		if (zombie.getHandle() == EntityRegistry.NO_HANDLE) {
+			this.registry.register(zombie);
+		}
+		if (this.zombies == EntityList.<Zombie> empty()) {
+			this.zombies = new EntityList<Zombie>(this.registry);
+		}
 		this.zombies.add(zombie);
+		this.occupancy |= ZOMBIES;
+		zombie.setChunk(this);
 	}
 
 	/**
@@ -100,31 +176,52 @@ public class Chunk {
 	 * @return the zombie removed.
 	 */
 	public Zombie removeZombie(Zombie zombie) {
-		this.zombies.remove(zombie);
+		if (this.zombies.remove(zombie)) {
+			zombie.setChunk(null);
+			if (this.zombies.isEmpty()) {
+				this.occupancy &= ~ZOMBIES;
+			}
+		}
 		return zombie;
 	}
 
-	public ArrayList<Entity> getSolidEntities() {
-		return this.solidEntities;
+	/**
+	 * Gets the occupancy bits of the chunk.
+	 * 
+	 * @return a combination of {@link #SOLID_ENTITIES},
+	 *         {@link #PASSIBLE_ENTITIES}, {@link #ZOMBIES} and {@link #ITEMS}
+	 *         for each list that has members.
+	 */
+	public int getOccupancy() {
+		return this.occupancy;
 	}
 
-	public void setSolidEntities(ArrayList<Entity> solidEntities) {
-		this.solidEntities = solidEntities;
+	/**
+	 * Checks if the chunk has nothing in it.
+	 * 
+	 * @return whether or not every list of the chunk is empty.
+	 */
+	public boolean isEmpty() {
+		return this.occupancy == 0;
 	}
 
-	public ArrayList<Entity> getPassibleEntities() {
-		return this.passibleEntities;
+	public boolean hasZombies() {
+		return (this.occupancy & ZOMBIES) != 0;
 	}
 
-	public void setPassibleEntities(ArrayList<Entity> passibleEntities) {
-		this.passibleEntities = passibleEntities;
+	public EntityList<Entity> getSolidEntities() {
+		return this.solidEntities;
+	}
+
+	public EntityList<Entity> getPassibleEntities() {
+		return this.passibleEntities;
 	}
 
-	public ArrayList<Item> getItems() {
+	public ChunkList<Item> getItems() {
 		return this.items;
 	}
 
-	public ArrayList<Zombie> getZombies() {
+	public EntityList<Zombie> getZombies() {
 		return this.zombies;
 	}
-}
\ No newline at end of file
+}
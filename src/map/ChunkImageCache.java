@@ -0,0 +1,355 @@
+package map;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import utilities.Rasterizer;
+import utilities.TileAtlas;
+
+/**
+ * Cache of the tile layers of each chunk, pre-rendered into images.<br>
+ * The lower and upper tile layers of a chunk are each drawn into an image the
+ * size of the chunk the first time they are needed, so a frame draws a few
+ * chunk images per layer instead of hundreds of tiles. Images are made as
+ * accelerated {@link VolatileImage}s when possible, and as
+ * {@link BufferedImage}s when running headless or when an accelerated image
+ * cannot be made. Volatile images that lose their contents are drawn again.
+ * The cache holds at most {@link #MEMORY_BUDGET} bytes of images; once it is
+ * full, the image of the chunk layer used the longest time ago is handed over
+ * to the chunk layer that needs one. Changing a tile with
+ * {@link #invalidate(int, int)} redraws its chunk the next time it is used.
+ * Tiles are changed by the game thread while the render thread draws them:
+ * the game thread writes the tile before the chunk's version and the change
+ * count, and the render thread reads them in the opposite order, so a chunk
+ * drawn at a new version always shows the tile that was changed.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see TileAtlas
+ * @since 1.0
+ * @version 1.0
+ */
+public class ChunkImageCache {
+	/**
+	 * The layer of tiles drawn under the entities.
+	 */
+	public static final int LOWER = 0;
+
+	/**
+	 * The layer of tiles drawn over the entities (such as the trees).
+	 */
+	public static final int UPPER = 1;
+
+	/**
+	 * The width and height of a chunk in pixels.
+	 */
+	public static final int CHUNK_SIZE = 512;
+
+	/**
+	 * The most memory that the cached images can use in bytes (1 MB per
+	 * image). A 1024x768 screen shows up to 9 chunks per layer.
+	 */
+	public static final long MEMORY_BUDGET = 32L * 1024 * 1024;
+
+	private static final int IMAGE_BYTES = CHUNK_SIZE * CHUNK_SIZE * 4;
+
+	private short[][][] layers;
+	private TileAtlas atlas;
+	private int columns;
+	private int rows;
+
+	/**
+	 * The image of each chunk layer (null if it has none), indexed by
+	 * (chunkY * columns + chunkX) * 2 + layer.
+	 */
+	private Image[] images;
+
+	/**
+	 * Whether or not the image of each chunk layer has been drawn since it
+	 * was made or lost.
+	 */
+	private boolean[] valid;
+
+	/**
+	 * The number of times each chunk's tiles have been changed, and the number
+	 * that each chunk layer's image shows. The versions are written by the
+	 * game thread and read by the render thread, so each one is read and
+	 * written as a volatile.
+	 */
+	private AtomicIntegerArray versions;
+	private int[] drawnVersions;
+
+	/**
+	 * The time each chunk layer's image was last drawn.
+	 */
+	private long[] lastUsed;
+	private long clock;
+
+	/**
+	 * The chunk layers that currently have an image.
+	 */
+	private int[] resident;
+	private int noOfResident;
+
+	/**
+	 * The number of times any tile has been changed. Only the game thread
+	 * writes it, after the tile and the chunk's version.
+	 */
+	private volatile int noOfChanges;
+
+	/**
+	 * Constructs a new ChunkImageCache object.
+	 *
+	 * @param lowerTiles
+	 *            the tiles drawn under the entities.
+	 * @param upperTiles
+	 *            the tiles drawn over the entities.
+	 * @param atlas
+	 *            the tile images.
+	 */
+	public ChunkImageCache(short[][] lowerTiles, short[][] upperTiles, TileAtlas atlas) {
+		this.layers = new short[][][] { lowerTiles, upperTiles };
+		this.atlas = atlas;
+		this.columns = lowerTiles.length / 16;
+		this.rows = lowerTiles[0].length / 16;
+		this.images = new Image[this.columns * this.rows * 2];
+		this.valid = new boolean[this.columns * this.rows * 2];
+		this.versions = new AtomicIntegerArray(this.columns * this.rows);
+		this.drawnVersions = new int[this.columns * this.rows * 2];
+		this.lastUsed = new long[this.columns * this.rows * 2];
+		this.resident = new int[(int) (MEMORY_BUDGET / IMAGE_BYTES)];
+	}
+
+	/**
+	 * Renders a layer of the chunks that are on the screen.
+	 *
+	 * @param g2D
+	 *            the graphics variable to draw the layer.
+	 * @param layer
+	 *            the layer to draw ({@link #LOWER} or {@link #UPPER}).
+	 * @param xOffset
+	 *            the x offset of the camera in pixels.
+	 * @param yOffset
+	 *            the y offset of the camera in pixels.
+	 * @param width
+	 *            the width of the screen in pixels.
+	 * @param height
+	 *            the height of the screen in pixels.
+	 */
+	public void render(Graphics2D g2D, int layer, float xOffset, float yOffset, int width, int height) {
+		int minChunkX = Math.max((int) Math.floor(xOffset / CHUNK_SIZE), 0);
+		int minChunkY = Math.max((int) Math.floor(yOffset / CHUNK_SIZE), 0);
+		int maxChunkX = Math.min((int) Math.floor((xOffset + width - 1) / CHUNK_SIZE), this.columns - 1);
+		int maxChunkY = Math.min((int) Math.floor((yOffset + height - 1) / CHUNK_SIZE), this.rows - 1);
+		GraphicsConfiguration configuration = g2D.getDeviceConfiguration();
+
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+				Image image = obtain((chunkY * this.columns + chunkX) * 2 + layer, configuration);
+				g2D.drawImage(image, (int) (chunkX * CHUNK_SIZE - xOffset), (int) (chunkY * CHUNK_SIZE - yOffset),
+						null);
+			}
+		}
+	}
+
+	/**
+	 * Draws a layer of the tiles that are on the screen straight into a
+	 * software rasterizer's frame, without using the chunk images.
+	 *
+	 * @param rasterizer
+	 *            the rasterizer to draw the layer with.
+	 * @param layer
+	 *            the layer to draw ({@link #LOWER} or {@link #UPPER}).
+	 * @param xOffset
+	 *            the x offset of the camera in pixels.
+	 * @param yOffset
+	 *            the y offset of the camera in pixels.
+	 * @param width
+	 *            the width of the screen in pixels.
+	 * @param height
+	 *            the height of the screen in pixels.
+	 */
+	public void rasterize(Rasterizer rasterizer, int layer, float xOffset, float yOffset, int width, int height) {
+		// Read the change count before the tiles, so that every tile changed
+		// before it was increased is seen (see invalidate())
+		getNoOfChanges();
+		short[][] tiles = this.layers[layer];
+		// Round the camera the same way as the entities drawn over the tiles
+		int cameraX = (int) Math.ceil(xOffset);
+		int cameraY = (int) Math.ceil(yOffset);
+		int minTileX = Math.max(Math.floorDiv(cameraX, 32), 0);
+		int minTileY = Math.max(Math.floorDiv(cameraY, 32), 0);
+		int maxTileX = Math.min(Math.floorDiv(cameraX + width - 1, 32), tiles.length - 1);
+		int maxTileY = Math.min(Math.floorDiv(cameraY + height - 1, 32), tiles[0].length - 1);
+
+		for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+			for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+				BufferedImage image = this.atlas.get(tiles[tileX][tileY]);
+				if (image != null) {
+					rasterizer.drawImage(image, tileX * 32 - cameraX, tileY * 32 - cameraY);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks the chunk containing a tile as changed so that both of its layers
+	 * are drawn again the next time they are used. Must be called on the game
+	 * thread, after the tile has been written.
+	 *
+	 * @param tileX
+	 *            the column of the tile.
+	 * @param tileY
+	 *            the row of the tile.
+	 */
+	public void invalidate(int tileX, int tileY) {
+		// The render thread reads the version before the tiles, so a new
+		// version is only seen together with the tile written before it
+		this.versions.incrementAndGet((tileY / 16) * this.columns + tileX / 16);
+		// Written last, so the render thread sees every change made so far
+		// once it reads the new count through getNoOfChanges()
+		this.noOfChanges++;
+	}
+
+	/**
+	 * Gets the image of a chunk layer, drawing it first if it is missing,
+	 * changed or lost.
+	 *
+	 * @param entry
+	 *            the index of the chunk layer.
+	 * @param configuration
+	 *            the configuration of the screen being drawn to.
+	 * @return the chunk layer's image.
+	 */
+	private Image obtain(int entry, GraphicsConfiguration configuration) {
+		this.lastUsed[entry] = ++this.clock;
+		if (this.images[entry] == null) {
+			this.images[entry] = take(entry, configuration);
+			this.valid[entry] = false;
+		}
+
+		// Make a new volatile image if the old one no longer suits the
+		// screen, and draw it again if its contents were lost
+		if (this.images[entry] instanceof VolatileImage) {
+			VolatileImage image = (VolatileImage) this.images[entry];
+			int status = image.validate(configuration);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				image.flush();
+				this.images[entry] = createImage(configuration, CHUNK_SIZE, CHUNK_SIZE);
+				this.valid[entry] = false;
+			} else if (status == VolatileImage.IMAGE_RESTORED) {
+				this.valid[entry] = false;
+			}
+		}
+
+		// Read the version before drawing the tiles (see invalidate())
+		int version = this.versions.get(entry / 2);
+		if (!this.valid[entry] || this.drawnVersions[entry] != version) {
+			draw(entry);
+			this.drawnVersions[entry] = version;
+			this.valid[entry] = !(this.images[entry] instanceof VolatileImage)
+					|| !((VolatileImage) this.images[entry]).contentsLost();
+		}
+		return this.images[entry];
+	}
+
+	/**
+	 * Finds an image for a chunk layer that does not have one. Once the
+	 * memory budget is used up, the image of the least recently used chunk
+	 * layer is taken from it.
+	 *
+	 * @param entry
+	 *            the index of the chunk layer.
+	 * @param configuration
+	 *            the configuration of the screen being drawn to.
+	 * @return the image.
+	 */
+	private Image take(int entry, GraphicsConfiguration configuration) {
+		if (this.noOfResident < this.resident.length) {
+			this.resident[this.noOfResident++] = entry;
+			return createImage(configuration, CHUNK_SIZE, CHUNK_SIZE);
+		}
+
+		int oldest = 0;
+		for (int i = 1; i < this.noOfResident; i++) {
+			if (this.lastUsed[this.resident[i]] < this.lastUsed[this.resident[oldest]]) {
+				oldest = i;
+			}
+		}
+		Image image = this.images[this.resident[oldest]];
+		this.images[this.resident[oldest]] = null;
+		this.valid[this.resident[oldest]] = false;
+		this.resident[oldest] = entry;
+		return image;
+	}
+
+	/**
+	 * Draws the tiles of a chunk layer into its image.
+	 *
+	 * @param entry
+	 *            the index of the chunk layer.
+	 */
+	private void draw(int entry) {
+		short[][] tiles = this.layers[entry % 2];
+		int chunk = entry / 2;
+		int firstTileX = (chunk % this.columns) * 16;
+		int firstTileY = (chunk / this.columns) * 16;
+
+		Graphics2D g2D = (Graphics2D) this.images[entry].getGraphics();
+		// Clear what was drawn before, since empty tiles draw nothing
+		g2D.setComposite(AlphaComposite.Clear);
+		g2D.fillRect(0, 0, CHUNK_SIZE, CHUNK_SIZE);
+		g2D.setComposite(AlphaComposite.SrcOver);
+		for (int tileX = 0; tileX < 16; tileX++) {
+			for (int tileY = 0; tileY < 16; tileY++) {
+				BufferedImage image = this.atlas.get(tiles[firstTileX + tileX][firstTileY + tileY]);
+				if (image != null) {
+					g2D.drawImage(image, tileX * 32, tileY * 32, null);
+				}
+			}
+		}
+		g2D.dispose();
+	}
+
+	/**
+	 * Makes a transparent image to draw into, accelerated if possible.
+	 *
+	 * @param configuration
+	 *            the configuration of the screen being drawn to.
+	 * @param width
+	 *            the width of the image in pixels.
+	 * @param height
+	 *            the height of the image in pixels.
+	 * @return the new image.
+	 */
+	static Image createImage(GraphicsConfiguration configuration, int width, int height) {
+		if (configuration != null && !GraphicsEnvironment.isHeadless()) {
+			VolatileImage image = configuration.createCompatibleVolatileImage(width, height,
+					Transparency.TRANSLUCENT);
+			if (image != null) {
+				return image;
+			}
+		}
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	public int getNoOfResident() {
+		return this.noOfResident;
+	}
+
+	/**
+	 * Gets the number of times that tiles have been changed, so that images
+	 * made from the cache know when to redraw.
+	 *
+	 * @return the number of changes.
+	 */
+	public int getNoOfChanges() {
+		return this.noOfChanges;
+	}
+}
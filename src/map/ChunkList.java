@@ -0,0 +1,132 @@
+package map;
+
+import java.util.Arrays;
+
+/**
+ * List of members (such as items) stored inside of a chunk.<br>
+ * Adding and removing are both constant time: every member stores the slot
+ * it occupies, and removing a member moves the last member of the list into
+ * the freed slot.<br>
+ * <br>
+ * Because of this, the order of the list is not stable. Removing the member
+ * at slot <i>i</i> while iterating by index moves a different member into
+ * slot <i>i</i>, so loops that may remove members should iterate backwards
+ * (from <code>size() - 1</code> down to 0).<br>
+ * <br>
+ * Chunks share one immutable empty list (see {@link #empty()}) until a member
+ * is first added to them.
+ * 
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Chunk
+ * @see ChunkMember
+ * @since 1.0
+ * @version 1.0
+ */
+public class ChunkList<T extends ChunkMember> {
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/**
+	 * The empty list shared by every chunk that has not had a member added.
+	 */
+	private static final ChunkList<ChunkMember> EMPTY = new ChunkList<ChunkMember>(0);
+
+	private Object[] members;
+	private int size;
+
+	/**
+	 * Constructs a new empty ChunkList object.
+	 */
+	public ChunkList() {
+		this.members = new Object[DEFAULT_CAPACITY];
+		this.size = 0;
+	}
+
+	/**
+	 * Constructs a new empty ChunkList object with a given capacity.
+	 * 
+	 * @param capacity
+	 *            the number of members the list can hold before growing.
+	 */
+	private ChunkList(int capacity) {
+		this.members = new Object[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Gets the shared empty list. The list cannot be added to.
+	 * 
+	 * @return the empty list.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends ChunkMember> ChunkList<T> empty() {
+		return (ChunkList<T>) EMPTY;
+	}
+
+	/**
+	 * Adds a member to the end of the list.
+	 * 
+	 * @param member
+	 *            the member to add.
+	 */
+	public void add(T member) {
+		if (this == EMPTY) {
+			throw new UnsupportedOperationException("The shared empty list cannot be added to");
+		}
+		if (this.size == this.members.length) {
+			this.members = Arrays.copyOf(this.members, this.size * 2);
+		}
+		this.members[this.size] = member;
+		member.setChunkIndex(this.size);
+		this.size++;
+	}
+
+	/**
+	 * Removes a member from the list by swapping the last member into its
+	 * slot.
+	 * 
+	 * @param member
+	 *            the member to remove.
+	 * @return whether or not the member was in the list.
+	 */
+	public boolean remove(T member) {
+		int index = member.getChunkIndex();
+
+		// The member is not in this list (e.g. it has already been removed or
+		// belongs to another chunk)
+		if (index < 0 || index >= this.size || this.members[index] != member) {
+			return false;
+		}
+
+		// Move the last member into the freed slot
+		this.size--;
+		if (index != this.size) {
+			@SuppressWarnings("unchecked")
+			T last = (T) this.members[this.size];
+			this.members[index] = last;
+			last.setChunkIndex(index);
+		}
+		this.members[this.size] = null;
+		member.setChunkIndex(-1);
+		return true;
+	}
+
+	/**
+	 * Gets the member in a given slot.
+	 * 
+	 * @param index
+	 *            the slot number (from 0 to size() - 1).
+	 * @return the member in the slot.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		return (T) this.members[index];
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+}
@@ -0,0 +1,28 @@
+package map;
+
+/**
+ * Interface for anything that can be stored inside of a chunk.<br>
+ * Members remember the slot they occupy in their chunk's list so that they
+ * can be removed without searching the list.
+ * 
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see ChunkList
+ * @since 1.0
+ * @version 1.0
+ */
+public interface ChunkMember {
+	/**
+	 * Gets the slot that the member occupies in its chunk's list.
+	 * 
+	 * @return the slot number. Returns -1 if the member is not in a chunk.
+	 */
+	public int getChunkIndex();
+
+	/**
+	 * Sets the slot that the member occupies in its chunk's list.
+	 * 
+	 * @param chunkIndex
+	 *            the slot number, or -1 if the member has been removed.
+	 */
+	public void setChunkIndex(int chunkIndex);
+}
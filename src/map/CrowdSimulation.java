@@ -0,0 +1,181 @@
+package map;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import entities.Zombie;
+
+/**
+ * Updates the zombies in an {@link ActiveSet} on a fork/join pool.<br>
+ * A tick runs in three phases:
+ * <ol>
+ * <li>Every zombie senses the positions recorded in the map's contact grid and
+ * decides how it moves and what it does ({@link Zombie#sense()}). Zombies only
+ * write their own slot in the zombie store, so this runs in parallel.</li>
+ * <li>Every zombie moves by the movement it decided on, sliding along or
+ * stopping short of the zombies it would walk into ({@link Zombie#move()}).
+ * The work is split by the partitions of the active set (one per chunk). The
+ * zombies of a partition move one after another in order and only read and
+ * write zombies in their own chunk, so partitions move in parallel. Zombies
+ * near a zombie in another chunk are left where they are.</li>
+ * <li>Conflicts across partitions are resolved and effects that reach other
+ * entities or other chunks are carried out on the calling thread in the order
+ * of the active set: the zombies left where they were move, checking the
+ * zombies in every chunk ({@link Zombie#moveAcrossChunks()}), then the
+ * player is damaged, other zombies are woken up and alerted, zombies go
+ * dormant and zombies are moved into the chunk they ended up in.</li>
+ * </ol>
+ * Because the sense phase only reads state that does not change until the
+ * last phase, and each partition of the move phase only reads and writes its
+ * own zombies in a fixed order, the result of a tick is the same no matter
+ * how many threads share the work.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see ActiveSet
+ * @since 1.0
+ * @version 1.0
+ */
+public class CrowdSimulation {
+	/**
+	 * The number of zombies below which a task is not split any further.
+	 */
+	private static final int THRESHOLD = 64;
+
+	/**
+	 * The pool shared by every map. Its worker threads are daemon threads, so
+	 * it does not need to be shut down.
+	 */
+	private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	private ActiveSet activeSet;
+
+	/**
+	 * Constructs a new CrowdSimulation object.
+	 *
+	 * @param activeSet
+	 *            the set of zombies to update each tick.
+	 */
+	public CrowdSimulation(ActiveSet activeSet) {
+		this.activeSet = activeSet;
+	}
+
+	/**
+	 * Updates every zombie in the active set once. The active set must have
+	 * been built for this tick and the contact grid filled.
+	 */
+	public void update() {
+		ActiveSet activeSet = this.activeSet;
+		if (activeSet.size() == 0) {
+			return;
+		}
+
+		// Sense and decide in parallel
+		POOL.invoke(new SenseTask(activeSet, 0, activeSet.size()));
+
+		// Move each chunk's zombies in parallel
+		POOL.invoke(new MoveTask(activeSet, 0, activeSet.getNoOfPartitions()));
+
+		// Move the zombies that were near other chunks, carry out the effects
+		// on other entities in a fixed order, then move the zombies that left
+		// their chunk
+		for (int i = 0; i < activeSet.size(); i++) {
+			Zombie zombie = activeSet.get(i);
+			if (zombie != null) {
+				zombie.moveAcrossChunks();
+			}
+		}
+		for (int i = 0; i < activeSet.size(); i++) {
+			Zombie zombie = activeSet.get(i);
+			if (zombie != null) {
+				zombie.act();
+			}
+		}
+		activeSet.commitMigrations();
+	}
+
+	/**
+	 * Task that lets a range of the active set sense and decide.
+	 */
+	private static class SenseTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private ActiveSet activeSet;
+		private int start;
+		private int end;
+
+		/**
+		 * Constructs a new SenseTask object.
+		 *
+		 * @param activeSet
+		 *            the active set.
+		 * @param start
+		 *            the first position to update (inclusive).
+		 * @param end
+		 *            the last position to update (exclusive).
+		 */
+		SenseTask(ActiveSet activeSet, int start, int end) {
+			this.activeSet = activeSet;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start > THRESHOLD) {
+				int middle = (this.start + this.end) >>> 1;
+				invokeAll(new SenseTask(this.activeSet, this.start, middle),
+						new SenseTask(this.activeSet, middle, this.end));
+				return;
+			}
+			for (int i = this.start; i < this.end; i++) {
+				Zombie zombie = this.activeSet.get(i);
+				if (zombie != null) {
+					zombie.sense();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Task that moves the zombies in a range of partitions of the active set.
+	 */
+	private static class MoveTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private ActiveSet activeSet;
+		private int firstPartition;
+		private int endPartition;
+
+		/**
+		 * Constructs a new MoveTask object.
+		 *
+		 * @param activeSet
+		 *            the active set.
+		 * @param firstPartition
+		 *            the first partition to update (inclusive).
+		 * @param endPartition
+		 *            the last partition to update (exclusive).
+		 */
+		MoveTask(ActiveSet activeSet, int firstPartition, int endPartition) {
+			this.activeSet = activeSet;
+			this.firstPartition = firstPartition;
+			this.endPartition = endPartition;
+		}
+
+		@Override
+		protected void compute() {
+			int start = this.activeSet.getPartitionStart(this.firstPartition);
+			int end = this.activeSet.getPartitionEnd(this.endPartition - 1);
+			if (this.endPartition - this.firstPartition > 1 && end - start > THRESHOLD) {
+				int middle = (this.firstPartition + this.endPartition) >>> 1;
+				invokeAll(new MoveTask(this.activeSet, this.firstPartition, middle),
+						new MoveTask(this.activeSet, middle, this.endPartition));
+				return;
+			}
+			for (int i = start; i < end; i++) {
+				Zombie zombie = this.activeSet.get(i);
+				if (zombie != null) {
+					zombie.move();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,271 @@
+package map;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import utilities.Rasterizer;
+
+/**
+ * Layer of decals (such as corpses) stamped onto the ground of a map.<br>
+ * Each chunk that has decals gets its own transparent image the size of the
+ * chunk. A decal is drawn into the images of the chunks it covers once, on
+ * the first frame after it is stamped, so rendering the layer is a single
+ * image per visible chunk no matter how many decals it holds. Only
+ * {@link #MAX_CHUNKS} images are kept at a time; once the limit is reached,
+ * the image of the chunk that was drawn or stamped the longest time ago is
+ * cleared and reused, and that chunk's decals are lost.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see World
+ * @since 1.0
+ * @version 1.0
+ */
+public class DecalLayer {
+	/**
+	 * The width and height of a chunk in pixels.
+	 */
+	public static final int CHUNK_SIZE = 512;
+
+	/**
+	 * The largest number of chunk images kept at once (1 MB each). This is
+	 * more than the 5x5 chunks that can be on the screen at once.
+	 */
+	public static final int MAX_CHUNKS = 40;
+
+	/**
+	 * How far a decal can reach out of its 32x32 box when it is rotated.
+	 */
+	private static final int ROTATION_MARGIN = 7;
+
+	private int columns;
+	private int rows;
+
+	/**
+	 * The image of each chunk (null if the chunk has no decals).
+	 */
+	private BufferedImage[] images;
+
+	/**
+	 * The time each chunk's image was last drawn or stamped on.
+	 */
+	private long[] lastUsed;
+	private long clock;
+
+	/**
+	 * The chunks that currently have an image.
+	 */
+	private int[] resident;
+	private int noOfResident;
+
+	/**
+	 * The decals stamped by the game thread that have not been drawn yet.
+	 */
+	private ConcurrentLinkedQueue<Decal> pending;
+
+	/**
+	 * Constructs a new DecalLayer object.
+	 *
+	 * @param columns
+	 *            the number of chunk columns in the map.
+	 * @param rows
+	 *            the number of chunk rows in the map.
+	 */
+	public DecalLayer(int columns, int rows) {
+		this.columns = columns;
+		this.rows = rows;
+		this.images = new BufferedImage[columns * rows];
+		this.lastUsed = new long[columns * rows];
+		this.resident = new int[MAX_CHUNKS];
+		this.pending = new ConcurrentLinkedQueue<Decal>();
+	}
+
+	/**
+	 * Queues a 32x32 decal to be stamped onto the ground. The game thread
+	 * stamps decals while the render thread draws the layer, so the decal is
+	 * drawn into the chunks it covers the next time the layer is rendered.
+	 *
+	 * @param image
+	 *            the image of the decal.
+	 * @param x
+	 *            the x coordinate of the decal in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the decal in the map in pixels.
+	 * @param rotation
+	 *            the rotation of the decal around its centre (in radians).
+	 */
+	public void stamp(BufferedImage image, int x, int y, double rotation) {
+		this.pending.add(new Decal(image, x, y, rotation));
+	}
+
+	/**
+	 * Stamps a 32x32 decal onto the ground. The decal is drawn into every
+	 * chunk that it covers.
+	 *
+	 * @param image
+	 *            the image of the decal.
+	 * @param x
+	 *            the x coordinate of the decal in the map in pixels.
+	 * @param y
+	 *            the y coordinate of the decal in the map in pixels.
+	 * @param rotation
+	 *            the rotation of the decal around its centre (in radians).
+	 */
+	private void draw(BufferedImage image, int x, int y, double rotation) {
+		int minChunkX = Math.max((x - ROTATION_MARGIN) / CHUNK_SIZE, 0);
+		int maxChunkX = Math.min((x + 32 + ROTATION_MARGIN) / CHUNK_SIZE, this.columns - 1);
+		int minChunkY = Math.max((y - ROTATION_MARGIN) / CHUNK_SIZE, 0);
+		int maxChunkY = Math.min((y + 32 + ROTATION_MARGIN) / CHUNK_SIZE, this.rows - 1);
+
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+				// Draw the decal relative to the chunk's corner
+				Graphics2D g2D = obtain(chunkY * this.columns + chunkX).createGraphics();
+				g2D.translate(-chunkX * CHUNK_SIZE, -chunkY * CHUNK_SIZE);
+				g2D.rotate(rotation, x + 16, y + 16);
+				g2D.drawImage(image, x, y, null);
+				g2D.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Renders the decals of a block of chunks.
+	 *
+	 * @param g2D
+	 *            the graphics variable to draw the decals.
+	 * @param minChunkX
+	 *            the first chunk column to render (inclusive).
+	 * @param maxChunkX
+	 *            the last chunk column to render (exclusive).
+	 * @param minChunkY
+	 *            the first chunk row to render (inclusive).
+	 * @param maxChunkY
+	 *            the last chunk row to render (exclusive).
+	 * @param xOffset
+	 *            the x offset of the camera in pixels.
+	 * @param yOffset
+	 *            the y offset of the camera in pixels.
+	 */
+	public void render(Graphics2D g2D, int minChunkX, int maxChunkX, int minChunkY, int maxChunkY, float xOffset,
+			float yOffset) {
+		stampPending();
+		for (int chunkX = minChunkX; chunkX < maxChunkX; chunkX++) {
+			for (int chunkY = minChunkY; chunkY < maxChunkY; chunkY++) {
+				int chunk = chunkY * this.columns + chunkX;
+				if (this.images[chunk] != null) {
+					this.lastUsed[chunk] = ++this.clock;
+					g2D.drawImage(this.images[chunk], (int) (chunkX * CHUNK_SIZE - xOffset),
+							(int) (chunkY * CHUNK_SIZE - yOffset), null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Renders the decals of a block of chunks straight into a software
+	 * rasterizer's frame.
+	 *
+	 * @param rasterizer
+	 *            the rasterizer to draw the decals with.
+	 * @param minChunkX
+	 *            the first chunk column to render (inclusive).
+	 * @param maxChunkX
+	 *            the last chunk column to render (exclusive).
+	 * @param minChunkY
+	 *            the first chunk row to render (inclusive).
+	 * @param maxChunkY
+	 *            the last chunk row to render (exclusive).
+	 * @param xOffset
+	 *            the x offset of the camera in pixels.
+	 * @param yOffset
+	 *            the y offset of the camera in pixels.
+	 */
+	public void rasterize(Rasterizer rasterizer, int minChunkX, int maxChunkX, int minChunkY, int maxChunkY,
+			float xOffset, float yOffset) {
+		stampPending();
+		for (int chunkX = minChunkX; chunkX < maxChunkX; chunkX++) {
+			for (int chunkY = minChunkY; chunkY < maxChunkY; chunkY++) {
+				int chunk = chunkY * this.columns + chunkX;
+				if (this.images[chunk] != null) {
+					this.lastUsed[chunk] = ++this.clock;
+					rasterizer.drawImage(this.images[chunk], (int) (chunkX * CHUNK_SIZE - xOffset),
+							(int) (chunkY * CHUNK_SIZE - yOffset));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stamps the decals queued since the last frame.
+	 */
+	private void stampPending() {
+		Decal decal;
+		while ((decal = this.pending.poll()) != null) {
+			draw(decal.image, decal.x, decal.y, decal.rotation);
+		}
+	}
+
+	/**
+	 * Gets the image of a chunk, giving it one if it does not have one yet.
+	 * Once the limit is reached, the image of the least recently used chunk is
+	 * cleared and handed over.
+	 *
+	 * @param chunk
+	 *            the index of the chunk.
+	 * @return the chunk's image.
+	 */
+	private BufferedImage obtain(int chunk) {
+		this.lastUsed[chunk] = ++this.clock;
+		if (this.images[chunk] != null) {
+			return this.images[chunk];
+		}
+
+		BufferedImage image;
+		if (this.noOfResident < MAX_CHUNKS) {
+			image = new BufferedImage(CHUNK_SIZE, CHUNK_SIZE, BufferedImage.TYPE_INT_ARGB);
+			this.resident[this.noOfResident++] = chunk;
+		} else {
+			// Take the image of the least recently used chunk
+			int oldest = 0;
+			for (int i = 1; i < this.noOfResident; i++) {
+				if (this.lastUsed[this.resident[i]] < this.lastUsed[this.resident[oldest]]) {
+					oldest = i;
+				}
+			}
+			image = this.images[this.resident[oldest]];
+			this.images[this.resident[oldest]] = null;
+			this.resident[oldest] = chunk;
+
+			// Clear the previous chunk's decals
+			Graphics2D g2D = image.createGraphics();
+			g2D.setComposite(AlphaComposite.Clear);
+			g2D.fillRect(0, 0, CHUNK_SIZE, CHUNK_SIZE);
+			g2D.dispose();
+		}
+		this.images[chunk] = image;
+		return image;
+	}
+
+	public int getNoOfResident() {
+		return this.noOfResident;
+	}
+
+	/**
+	 * A decal waiting to be stamped.
+	 */
+	private static class Decal {
+		private BufferedImage image;
+		private int x;
+		private int y;
+		private double rotation;
+
+		Decal(BufferedImage image, int x, int y, double rotation) {
+			this.image = image;
+			this.x = x;
+			this.y = y;
+			this.rotation = rotation;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package map;
+
+import java.util.Arrays;
+
+import entities.Entity;
+import entities.EntityRegistry;
+
+/**
+ * List of the handles of the entities stored inside of a chunk.<br>
+ * Entities are looked up through the map's {@link EntityRegistry}, so the list
+ * itself only holds primitive handles. Like {@link ChunkList}, adding and
+ * removing are constant time and removing moves the last entity into the
+ * freed slot, so the order of the list is not stable and loops that may
+ * remove entities should iterate backwards.<br>
+ * <br>
+ * Chunks share one immutable empty list (see {@link #empty()}) until an entity
+ * is first added to them.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Chunk
+ * @see EntityRegistry
+ * @since 1.0
+ * @version 1.0
+ */
+public class EntityList<T extends Entity> {
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/**
+	 * The empty list shared by every chunk that has not had an entity added.
+	 */
+	private static final EntityList<Entity> EMPTY = new EntityList<Entity>();
+
+	private EntityRegistry registry;
+	private int[] handles;
+	private int size;
+
+	/**
+	 * Constructs a new empty EntityList object.
+	 *
+	 * @param registry
+	 *            the registry that the entities' handles belong to.
+	 */
+	public EntityList(EntityRegistry registry) {
+		this.registry = registry;
+		this.handles = new int[DEFAULT_CAPACITY];
+		this.size = 0;
+	}
+
+	/**
+	 * Constructs the shared empty list.
+	 */
+	private EntityList() {
+		this.handles = new int[0];
+		this.size = 0;
+	}
+
+	/**
+	 * Gets the shared empty list. The list cannot be added to.
+	 *
+	 * @return the empty list.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Entity> EntityList<T> empty() {
+		return (EntityList<T>) EMPTY;
+	}
+
+	/**
+	 * Adds an entity to the end of the list. The entity must be registered.
+	 *
+	 * @param entity
+	 *            the entity to add.
+	 */
+	public void add(T entity) {
+		if (this == EMPTY) {
+			throw new UnsupportedOperationException("The shared empty list cannot be added to");
+		}
+		if (this.size == this.handles.length) {
+			this.handles = Arrays.copyOf(this.handles, this.size * 2);
+		}
+		this.handles[this.size] = entity.getHandle();
+		entity.setChunkIndex(this.size);
+		this.size++;
+	}
+
+	/**
+	 * Removes an entity from the list by swapping the last entity into its
+	 * slot.
+	 *
+	 * @param entity
+	 *            the entity to remove.
+	 * @return whether or not the entity was in the list.
+	 */
+	public boolean remove(T entity) {
+		int index = entity.getChunkIndex();
+
+		// The entity is not in this list (e.g. it has already been removed or
+		// belongs to another chunk)
+		if (index < 0 || index >= this.size || this.handles[index] != entity.getHandle()) {
+			return false;
+		}
+
+		// Move the last entity into the freed slot
+		this.size--;
+		if (index != this.size) {
+			this.handles[index] = this.handles[this.size];
+			this.registry.get(this.handles[index]).setChunkIndex(index);
+		}
+		entity.setChunkIndex(-1);
+		return true;
+	}
+
+	/**
+	 * Gets the entity in a given slot.
+	 *
+	 * @param index
+	 *            the slot number (from 0 to size() - 1).
+	 * @return the entity in the slot.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		return (T) this.registry.get(this.handles[index]);
+	}
+
+	/**
+	 * Gets the handle of the entity in a given slot.
+	 *
+	 * @param index
+	 *            the slot number (from 0 to size() - 1).
+	 * @return the handle of the entity in the slot.
+	 */
+	public int getHandle(int index) {
+		return this.handles[index];
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+}
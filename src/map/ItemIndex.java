@@ -0,0 +1,178 @@
+package map;
+
+import java.util.Arrays;
+
+import items.Item;
+
+/**
+ * Index of the items dropped in a map, bucketed by position into a grid of
+ * 64x64 pixel cells.<br>
+ * Point and rectangle queries only look at the one to four cells that a
+ * 32x32 item overlapping the query could be in, so they cost as much as the
+ * number of items near the query rather than the number of items in the
+ * surrounding chunks. Cells are only allocated once an item is added to them.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Map
+ * @since 1.0
+ * @version 1.0
+ */
+public class ItemIndex {
+	/**
+	 * The width and height of a cell in pixels.
+	 */
+	public static final int CELL_SIZE = 64;
+
+	/**
+	 * The width and height of an item in pixels.
+	 */
+	public static final int ITEM_SIZE = 32;
+
+	private int columns;
+	private int rows;
+	private Item[][] cells;
+	private int[] counts;
+
+	/**
+	 * Constructs a new ItemIndex object.
+	 *
+	 * @param width
+	 *            the width of the area covered in pixels.
+	 * @param height
+	 *            the height of the area covered in pixels.
+	 */
+	public ItemIndex(int width, int height) {
+		this.columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+		this.rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+		this.cells = new Item[this.columns * this.rows][];
+		this.counts = new int[this.columns * this.rows];
+	}
+
+	/**
+	 * Adds an item to the cell containing its position.
+	 *
+	 * @param item
+	 *            the item to add.
+	 */
+	public void add(Item item) {
+		int cell = cellOf(item);
+		Item[] items = this.cells[cell];
+		if (items == null) {
+			items = new Item[2];
+			this.cells[cell] = items;
+		} else if (this.counts[cell] == items.length) {
+			items = Arrays.copyOf(items, items.length * 2);
+			this.cells[cell] = items;
+		}
+		items[this.counts[cell]++] = item;
+	}
+
+	/**
+	 * Removes an item from the cell containing its position. The item must
+	 * not have moved since it was added.
+	 *
+	 * @param item
+	 *            the item to remove.
+	 */
+	public void remove(Item item) {
+		int cell = cellOf(item);
+		Item[] items = this.cells[cell];
+		for (int i = 0; i < this.counts[cell]; i++) {
+			if (items[i] == item) {
+				// Shift the later items down to keep the order they were added
+				// in
+				System.arraycopy(items, i + 1, items, i, this.counts[cell] - i - 1);
+				items[--this.counts[cell]] = null;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds an item whose 32x32 area contains a point. If there are several,
+	 * the item added last (the item drawn on top) in the cell is chosen.
+	 *
+	 * @param x
+	 *            the x coordinate of the point in pixels.
+	 * @param y
+	 *            the y coordinate of the point in pixels.
+	 * @return the item found. Returns null if there is no item at the point.
+	 */
+	public Item queryPoint(int x, int y) {
+		return queryRect(x, y, 1, 1);
+	}
+
+	/**
+	 * Finds an item whose 32x32 area overlaps a rectangle. If there are
+	 * several, the item added last (the item drawn on top) in the cell is
+	 * chosen.
+	 *
+	 * @param x
+	 *            the x coordinate of the rectangle in pixels.
+	 * @param y
+	 *            the y coordinate of the rectangle in pixels.
+	 * @param width
+	 *            the width of the rectangle in pixels.
+	 * @param height
+	 *            the height of the rectangle in pixels.
+	 * @return the item found. Returns null if no item overlaps the rectangle.
+	 */
+	public Item queryRect(int x, int y, int width, int height) {
+		// Items overlapping the rectangle start less than an item's size
+		// before it
+		int minColumn = cellColumn(x - ITEM_SIZE + 1);
+		int maxColumn = cellColumn(x + width - 1);
+		int minRow = cellRow(y - ITEM_SIZE + 1);
+		int maxRow = cellRow(y + height - 1);
+
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				int cell = row * this.columns + column;
+				Item[] items = this.cells[cell];
+				for (int i = this.counts[cell] - 1; i >= 0; i--) {
+					Item item = items[i];
+					int itemX = item.getX();
+					int itemY = item.getY();
+					if (itemX < x + width && x < itemX + ITEM_SIZE && itemY < y + height && y < itemY + ITEM_SIZE) {
+						return item;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the cell containing an item's position.
+	 *
+	 * @param item
+	 *            the item.
+	 * @return the index of the cell.
+	 */
+	private int cellOf(Item item) {
+		return cellRow(item.getY()) * this.columns + cellColumn(item.getX());
+	}
+
+	/**
+	 * Gets the column of the cell containing an x coordinate, clamped to the
+	 * grid.
+	 *
+	 * @param x
+	 *            the x coordinate in pixels.
+	 * @return the column of the cell.
+	 */
+	private int cellColumn(int x) {
+		return Math.min(Math.max(x / CELL_SIZE, 0), this.columns - 1);
+	}
+
+	/**
+	 * Gets the row of the cell containing a y coordinate, clamped to the grid.
+	 *
+	 * @param y
+	 *            the y coordinate in pixels.
+	 * @return the row of the cell.
+	 */
+	private int cellRow(int y) {
+		return Math.min(Math.max(y / CELL_SIZE, 0), this.rows - 1);
+	}
+}
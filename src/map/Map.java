@@ -2,10 +2,14 @@ package map;
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Random;
 
 import utilities.PathFinder;
+import entities.EntityPool;
+import entities.EntityRegistry;
 import entities.MapObject;
 import entities.Zombie;
+import entities.ZombieStore;
 import items.Consumable;
 import items.Firearm;
 import items.Item;
@@ -53,6 +57,24 @@ public class Map {
 	private Chunk[][] chunkMap;
 	private Game game;
 	private PathFinder pathFinder;
+	private SpatialHash mobHash;
+	private EntityRegistry entityRegistry;
+	private ZombieStore zombieStore;
+	private ItemIndex itemIndex;
+	private WorldQuery worldQuery;
+	private ActiveSet activeSet;
+	private CrowdSimulation crowdSimulation;
+	private TileCollision tileCollision;
+	private BackgroundSimulation backgroundSimulation;
+	private SimulationBudget simulationBudget;
+	private DecalLayer decalLayer;
+	private ChunkImageCache chunkImageCache;
+
+	/**
+	 * The random number generator that the map is generated with, taken from
+	 * the game so that a seeded game always makes the same maps.
+	 */
+	private Random random;
 	private int safeHouseDistance;
 
 	// Important points on the map
@@ -81,10 +103,23 @@ public class Map {
 		this.width = width;
 		this.height = height;
 		this.game = game;
+		this.random = game.getMapRandom();
 		this.items = this.game.getItems();
 		this.tileMap = new short[width][height];
 		this.upperTileMap = new short[width][height];
 		this.chunkMap = new Chunk[this.width / 16][this.height / 16];
+		this.entityRegistry = new EntityRegistry();
+		this.zombieStore = new ZombieStore();
+		this.itemIndex = new ItemIndex(width * 32, height * 32);
+		this.worldQuery = new WorldQuery(this.chunkMap);
+		this.activeSet = new ActiveSet(this.chunkMap, this.entityRegistry, this.zombieStore);
+		this.crowdSimulation = new CrowdSimulation(this.activeSet);
+		this.tileCollision = new TileCollision(this.tileMap);
+		this.backgroundSimulation = new BackgroundSimulation(this.chunkMap, this.entityRegistry, this.tileMap,
+				this.random);
+		this.simulationBudget = new SimulationBudget();
+		this.decalLayer = new DecalLayer(this.width / 16, this.height / 16);
+		this.chunkImageCache = new ChunkImageCache(this.tileMap, this.upperTileMap, game.getTileAtlas());
 
 		safeHouseDistance = (height + width) / 8;
 		plazaStarts = new ArrayList<Point>();
@@ -93,7 +128,7 @@ public class Map {
 		// Initializes the array of chunks
 		for (int i = 0; i < this.width / 16; i++)
 			for (int j = 0; j < this.height / 16; j++)
-				chunkMap[i][j] = new Chunk();
+				chunkMap[i][j] = new Chunk(this.entityRegistry);
 
 		// Sets up the item rarities
 		itemSpawns = new ArrayList<Item>();
@@ -106,7 +141,7 @@ public class Map {
 		}
 
 		// Generate main road
-		int mainRoadX = (int) ((width / 4) + Math.random() * (width / 2));
+		int mainRoadX = (int) ((width / 4) + this.random.nextDouble() * (width / 2));
 		generateVerticalRoad(mainRoadX, height - 1, MAIN_ROAD_SIZE);
 
 		// Generates all other roads
@@ -115,15 +150,15 @@ public class Map {
 
 		// Generates locations for the starting safehouse and the target
 		// safehouse
-		int startHouse = (int) Math.floor((Math.random() * (plazaStarts.size() - 1)));
+		int startHouse = (int) Math.floor((this.random.nextDouble() * (plazaStarts.size() - 1)));
 		int endHouse;
 		int count = 0;
 
 		do {
-			endHouse = (int) Math.ceil(Math.random() * (plazaStarts.size() - 1));
+			endHouse = (int) Math.ceil(this.random.nextDouble() * (plazaStarts.size() - 1));
 			count++;
 			if (count >= 10) {
-				startHouse = (int) Math.floor((Math.random() * (plazaStarts.size() - 1)));
+				startHouse = (int) Math.floor((this.random.nextDouble() * (plazaStarts.size() - 1)));
 				count = 0;
 			}
 		} while (Math.abs(plazaStarts.get(startHouse).getX() - plazaStarts.get(endHouse).getX()) < safeHouseDistance
@@ -142,6 +177,7 @@ public class Map {
 		}
 
 		pathFinder = new PathFinder(this);
+		mobHash = new SpatialHash(width * 32, height * 32);
 	}
 
 	/**
@@ -169,29 +205,29 @@ public class Map {
 		}
 
 		// Top Left Corner
-		cornerWidths[0] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
-		cornerHeights[0] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerWidths[0] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerHeights[0] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
 		buildingStarts[0] = new Point((int) start.getX(), (int) start.getY());
 		buildingEnds[0] = new Point((int) start.getX() + cornerWidths[0], (int) start.getY() + cornerHeights[0]);
 		generateBuilding(buildingStarts[0], buildingEnds[0], Direction.UP);
 
 		// Top Right Corner
-		cornerWidths[1] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
-		cornerHeights[1] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerWidths[1] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerHeights[1] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
 		buildingStarts[1] = new Point((int) (end.getX() - cornerWidths[1]), (int) start.getY());
 		buildingEnds[1] = new Point((int) end.getX(), (int) start.getY() + cornerHeights[1]);
 		generateBuilding(buildingStarts[1], buildingEnds[1], Direction.RIGHT);
 
 		// Bottom Left Corner
-		cornerWidths[2] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
-		cornerHeights[2] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerWidths[2] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerHeights[2] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
 		buildingStarts[2] = new Point((int) start.getX(), (int) end.getY() - cornerHeights[2]);
 		buildingEnds[2] = new Point((int) start.getX() + cornerWidths[2], (int) end.getY());
 		generateBuilding(buildingStarts[2], buildingEnds[2], Direction.LEFT);
 
 		// Bottom Right Corner
-		cornerWidths[3] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
-		cornerHeights[3] = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerWidths[3] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+		cornerHeights[3] = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
 		buildingStarts[3] = new Point((int) end.getX() - cornerWidths[3], (int) end.getY() - cornerHeights[3]);
 		buildingEnds[3] = new Point((int) end.getX(), (int) end.getY());
 		generateBuilding(buildingStarts[3], buildingEnds[3], Direction.DOWN);
@@ -252,11 +288,11 @@ public class Map {
 			if (dir == 1) {
 				sideBuildingStart = new Point((int) end.getX(), (int) start.getY() + 1);
 				sideBuildingEnd = new Point(
-						(int) end.getX() + dir * ((int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
+						(int) end.getX() + dir * ((int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
 						(int) start.getY() + sideBuildingLength - 1);
 			} else {
 				sideBuildingStart = new Point(
-						(int) end.getX() + dir * ((int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
+						(int) end.getX() + dir * ((int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
 						(int) start.getY() + 1);
 				sideBuildingEnd = new Point((int) end.getX(), (int) start.getY() + sideBuildingLength - 1);
 			}
@@ -269,7 +305,7 @@ public class Map {
 		} else {
 			// Generates a length for the building
 			do {
-				sideBuildingLength = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+				sideBuildingLength = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
 			} while (sideLength - sideBuildingLength * (numToGenerate - 1) < MIN_BUILD_LENGTH);
 
 			// Generates building using different points depending on whether
@@ -277,11 +313,11 @@ public class Map {
 			if (dir == 1) {
 				sideBuildingStart = new Point((int) end.getX(), (int) start.getY() + 1);
 				sideBuildingEnd = new Point(
-						(int) end.getX() + dir * ((int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
+						(int) end.getX() + dir * ((int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
 						(int) start.getY() + sideBuildingLength);
 			} else {
 				sideBuildingStart = new Point(
-						(int) end.getX() + dir * ((int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
+						(int) end.getX() + dir * ((int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH),
 						(int) start.getY() + 1);
 				sideBuildingEnd = new Point((int) end.getX(), (int) start.getY() + sideBuildingLength);
 			}
@@ -324,10 +360,10 @@ public class Map {
 			if (dir == 1) {
 				sideBuildingStart = new Point((int) start.getX() + 1, (int) start.getY());
 				sideBuildingEnd = new Point((int) start.getX() + sideBuildingLength - 1,
-						(int) start.getY() + dir * ((int) (Math.random() * maxRange) + MIN_BUILD_LENGTH));
+						(int) start.getY() + dir * ((int) (this.random.nextDouble() * maxRange) + MIN_BUILD_LENGTH));
 			} else {
 				sideBuildingStart = new Point((int) start.getX() + 1,
-						(int) start.getY() + dir * ((int) (Math.random() * maxRange) + MIN_BUILD_LENGTH));
+						(int) start.getY() + dir * ((int) (this.random.nextDouble() * maxRange) + MIN_BUILD_LENGTH));
 				sideBuildingEnd = new Point((int) start.getX() + sideBuildingLength - 1, (int) start.getY());
 			}
 
@@ -339,7 +375,7 @@ public class Map {
 		} else {
 			// Generates a length for the building
 			do {
-				sideBuildingLength = (int) (Math.random() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
+				sideBuildingLength = (int) (this.random.nextDouble() * BUILD_LENGTH_RANGE) + MIN_BUILD_LENGTH;
 			} while (sideLength - sideBuildingLength * (numToGenerate - 1) < MIN_BUILD_LENGTH);
 
 			// Generates building using different points depending on whether
@@ -347,10 +383,10 @@ public class Map {
 			if (dir == 1) {
 				sideBuildingStart = new Point((int) start.getX() + 1, (int) start.getY());
 				sideBuildingEnd = new Point((int) start.getX() + sideBuildingLength,
-						(int) start.getY() + dir * ((int) (Math.random() * maxRange) + MIN_BUILD_LENGTH));
+						(int) start.getY() + dir * ((int) (this.random.nextDouble() * maxRange) + MIN_BUILD_LENGTH));
 			} else {
 				sideBuildingStart = new Point((int) start.getX() + 1,
-						(int) start.getY() + dir * ((int) (Math.random() * maxRange) + MIN_BUILD_LENGTH));
+						(int) start.getY() + dir * ((int) (this.random.nextDouble() * maxRange) + MIN_BUILD_LENGTH));
 				sideBuildingEnd = new Point((int) start.getX() + sideBuildingLength, (int) start.getY());
 			}
 
@@ -400,8 +436,8 @@ public class Map {
 			int startX = (int) (start.getX() + boxWidth / 3);
 			int startY = (int) (start.getY() + boxHeight / 3);
 
-			playerX = (int) (Math.random() * xRange + startX);
-			playerY = (int) (Math.random() * yRange + startY);
+			playerX = (int) (this.random.nextDouble() * xRange + startX);
+			playerY = (int) (this.random.nextDouble() * yRange + startY);
 		} while ((tileMap[playerX][playerY] & 0xFFF) != 201);
 
 		// Sets the spawn point of the player
@@ -431,10 +467,9 @@ public class Map {
 				if (i == start.getX() || i == end.getX() || j == start.getY() || j == end.getY()) {
 					setTile(i, j, 200, Direction.UP, false);
 					// Spawns zombies on the building alleys
-					if (Math.random() > 0.99) {
+					if (this.random.nextDouble() > 0.99) {
 						chunkMap[i / 16][j / 16].addZombie(
-								new Zombie(new Point(i * 32, j * 32), Zombie.zombieHealth, game.getZombieImages()[0],
-										null, this.game, this, (int) Math.floor((Math.random() * 5))));
+								spawnZombie(i * 32, j * 32, (int) Math.floor((this.random.nextDouble() * 5))));
 					}
 				} else if (i == start.getX() + 1 && j == start.getY() + 1) {
 					setTile(i, j, 203, Direction.DOWN, true);
@@ -533,7 +568,7 @@ public class Map {
 		}
 		// Spawns the victory flag in any corner of the building
 		if (isStart) {
-			int corner = (int) Math.floor((Math.random() * 4));
+			int corner = (int) Math.floor((this.random.nextDouble() * 4));
 
 			if (corner == 0) {
 				setTile((int) start.getX() + 2, (int) start.getY() + 2, 211, Direction.DOWN, false);
@@ -586,20 +621,19 @@ public class Map {
 		// If the room is not safe, spawns zombies inside of the room
 		if (!safe) {
 			for (int z = 0; z < MAX_ZOMBIE_PER_ROOM; z++) {
-				int randomX = (int) (Math.random() * boxWidth + start.getX());
-				int randomY = (int) (Math.random() * boxHeight + start.getY());
+				int randomX = (int) (this.random.nextDouble() * boxWidth + start.getX());
+				int randomY = (int) (this.random.nextDouble() * boxHeight + start.getY());
 
-				if (Math.random() > 0 && (tileMap[randomX][randomY] & 0xFFF) == 201) {
+				if (this.random.nextDouble() > 0 && (tileMap[randomX][randomY] & 0xFFF) == 201) {
 					chunkMap[randomX / 16][randomY / 16]
-							.addZombie(new Zombie(new Point(randomX * 32, randomY * 32), 100, game.getZombieImages()[0],
-									null, this.game, this, (int) Math.floor((Math.random() * 5))));
+							.addZombie(spawnZombie(randomX * 32, randomY * 32, (int) Math.floor((this.random.nextDouble() * 5))));
 				}
 			}
 		}
 		// Spawns items inside of the room
 		for (int item = 0; item < MAX_ITEM_PER_ROOM; item++) {
 			// Clone the item
-			Item itemSpawned = itemSpawns.get((int) (Math.random() * itemSpawns.size()));
+			Item itemSpawned = itemSpawns.get((int) (this.random.nextDouble() * itemSpawns.size()));
 			if (itemSpawned instanceof Consumable) {
 				itemSpawned = new Consumable((Consumable) itemSpawned);
 			} else if (itemSpawned instanceof Melee) {
@@ -611,14 +645,14 @@ public class Map {
 			}
 
 			// Gets random coordinates for the item
-			int randomX = (int) (Math.random() * boxWidth + start.getX());
-			int randomY = (int) (Math.random() * boxHeight + start.getY());
+			int randomX = (int) (this.random.nextDouble() * boxWidth + start.getX());
+			int randomY = (int) (this.random.nextDouble() * boxHeight + start.getY());
 
 			// If the tile is valid then spawns and item on the tile
 			if ((tileMap[randomX][randomY] & (1 << 14)) == 0) {
-				if (Math.random() > 0.25) {
-					itemSpawned.setPosition(new Point(randomX * 32, randomY * 32));
-					chunkMap[randomX / 16][randomY / 16].add(itemSpawned);
+				if (this.random.nextDouble() > 0.25) {
+					itemSpawned.setPosition(randomX * 32, randomY * 32);
+					addItem(itemSpawned);
 				}
 			}
 		}
@@ -642,7 +676,7 @@ public class Map {
 		for (int i = (int) start.getX(); i <= end.getX(); i++) {
 			for (int j = (int) start.getY(); j <= end.getY(); j++) {
 				if ((tileMap[i][j] & 0xFFF) == 108) {
-					if (Math.random() > 0.90 && (upperTileMap[i - 1][j] & 0xFFF) < 109
+					if (this.random.nextDouble() > 0.90 && (upperTileMap[i - 1][j] & 0xFFF) < 109
 							&& (upperTileMap[i - 1][j - 1] & 0xFFF) < 109 && (upperTileMap[i - 1][j + 1] & 0xFFF) < 109
 							&& (upperTileMap[i][j - 1] & 0xFFF) < 109 && (upperTileMap[i][j + 1] & 0xFFF) < 109
 							&& (upperTileMap[i + 1][j - 1] & 0xFFF) < 109 && (upperTileMap[i + 1][j] & 0xFFF) < 109
@@ -664,20 +698,20 @@ public class Map {
 
 		// Spawns zombies inside of the forest
 		for (int z = 0; z < MAX_ZOMBIE_PER_FOREST; z++) {
-			int randomX = (int) (Math.random() * boxWidth + start.getX());
-			int randomY = (int) (Math.random() * boxHeight + start.getY());
+			int randomX = (int) (this.random.nextDouble() * boxWidth + start.getX());
+			int randomY = (int) (this.random.nextDouble() * boxHeight + start.getY());
 
-			if (Math.random() > 0.10 && (tileMap[randomX][randomY] & 0xFFF) == 108
+			if (this.random.nextDouble() > 0.10 && (tileMap[randomX][randomY] & 0xFFF) == 108
 					|| ((tileMap[randomX][randomY] & 0xFFF) >= 110 && (tileMap[randomX][randomY] & 0xFFF) < 200)) {
-				chunkMap[randomX / 16][randomY / 16].addZombie(new Zombie(new Point(randomX * 32, randomY * 32), 100,
-						game.getZombieImages()[0], null, this.game, this, (int) Math.floor((Math.random() * 5))));
+				chunkMap[randomX / 16][randomY / 16]
+						.addZombie(spawnZombie(randomX * 32, randomY * 32, (int) Math.floor((this.random.nextDouble() * 5))));
 			}
 		}
 
 		// Spawns items inside of the forest
 		for (int item = 0; item < MAX_ITEM_PER_FOREST; item++) {
 			// Clone the item
-			Item itemSpawned = itemSpawns.get((int) (Math.random() * itemSpawns.size()));
+			Item itemSpawned = itemSpawns.get((int) (this.random.nextDouble() * itemSpawns.size()));
 			if (itemSpawned instanceof Consumable) {
 				itemSpawned = new Consumable((Consumable) itemSpawned);
 			} else if (itemSpawned instanceof Melee) {
@@ -688,15 +722,15 @@ public class Map {
 				itemSpawned = new Throwable((Throwable) itemSpawned);
 			}
 
-			int randomX = (int) (Math.random() * boxWidth + start.getX());
-			int randomY = (int) (Math.random() * boxHeight + start.getY());
+			int randomX = (int) (this.random.nextDouble() * boxWidth + start.getX());
+			int randomY = (int) (this.random.nextDouble() * boxHeight + start.getY());
 
 			// Checks to see if the chosen tile is valid and if it is, places an
 			// item there
 			if ((tileMap[randomX][randomY] & (1 << 14)) == 0 && (tileMap[randomX][randomY] & 0xFFF) != 201
 					&& (tileMap[randomX][randomY] & 0xFFF) != 207) {
-				itemSpawned.setPosition(new Point(randomX * 32, randomY * 32));
-				chunkMap[randomX / 16][randomY / 16].add(itemSpawned);
+				itemSpawned.setPosition(randomX * 32, randomY * 32);
+				addItem(itemSpawned);
 			}
 		}
 	}
@@ -800,9 +834,9 @@ public class Map {
 
 			if ((boxWidth > (2 * MIN_SIDE_LENGTH + ROAD_WIDTH))
 					&& (((boxWidth * HEIGHT_WIDTH_RATIO < boxHeight) && (boxHeight * HEIGHT_WIDTH_RATIO < boxWidth)
-							&& Math.random() > .5) || (boxHeight * HEIGHT_WIDTH_RATIO < boxWidth))) {
+							&& this.random.nextDouble() > .5) || (boxHeight * HEIGHT_WIDTH_RATIO < boxWidth))) {
 				roadX = (int) ((Math.min(start.getX(), end.getX()) + MIN_SIDE_LENGTH)
-						+ ((Math.random() * (boxWidth - (2 * MIN_SIDE_LENGTH)))));
+						+ ((this.random.nextDouble() * (boxWidth - (2 * MIN_SIDE_LENGTH)))));
 				roadY = (int) Math.max(start.getY(), end.getY());
 				generateVerticalRoad(roadX, roadY, ROAD_WIDTH);
 				// Recursive split new generated squares
@@ -817,7 +851,7 @@ public class Map {
 
 			} else if (boxHeight > (2 * MIN_SIDE_LENGTH + ROAD_WIDTH)) {
 				roadY = (int) ((Math.min(start.getY(), end.getY()) + MIN_SIDE_LENGTH)
-						+ (Math.random() * (boxHeight - (2 * MIN_SIDE_LENGTH))));
+						+ (this.random.nextDouble() * (boxHeight - (2 * MIN_SIDE_LENGTH))));
 				roadX = (int) Math.max(start.getX(), end.getX());
 
 				generateHorizontalRoad(roadX, roadY, ROAD_WIDTH);
@@ -913,9 +947,9 @@ public class Map {
 					setTile(tempx, tempy, 101, Direction.UP, false);
 
 				// Spawns zombies on roads
-				if (Math.random() > 0.99) {
-					chunkMap[tempx / 16][tempy / 16].addZombie(new Zombie(new Point(tempx * 32, tempy * 32), 100,
-							game.getZombieImages()[0], null, this.game, this, (int) Math.floor((Math.random() * 5))));
+				if (this.random.nextDouble() > 0.99) {
+					chunkMap[tempx / 16][tempy / 16]
+							.addZombie(spawnZombie(tempx * 32, tempy * 32, (int) Math.floor((this.random.nextDouble() * 5))));
 				}
 				tempx++;
 			}
@@ -1026,9 +1060,9 @@ public class Map {
 					setTile(tempx, tempy, 101, Direction.UP, false);
 				tempy++;
 			}
-			if (Math.random() > 0.99) {
-				chunkMap[tempx / 16][tempy / 16].addZombie(new Zombie(new Point(tempx * 32, tempy * 32), 100,
-						game.getZombieImages()[0], null, this.game, this, (int) Math.floor((Math.random() * 5))));
+			if (this.random.nextDouble() > 0.99) {
+				chunkMap[tempx / 16][tempy / 16]
+						.addZombie(spawnZombie(tempx * 32, tempy * 32, (int) Math.floor((this.random.nextDouble() * 5))));
 			}
 			tempx--;
 			tempy -= size;
@@ -1174,6 +1208,145 @@ public class Map {
 		return this.pathFinder;
 	}
 
+	/**
+	 * Creates a zombie for the map, reusing one from the game's zombie pool if
+	 * possible. The zombie still has to be added to a chunk.
+	 * 
+	 * @param x
+	 *            the x coordinate of the zombie in pixels.
+	 * @param y
+	 *            the y coordinate of the zombie in pixels.
+	 * @param imgNo
+	 *            a number representing the zombie's skin.
+	 * @return the zombie.
+	 */
+	private Zombie spawnZombie(int x, int y, int imgNo) {
+		Zombie zombie = this.game.getZombiePool().obtain();
+		if (zombie == null) {
+			return new Zombie(x, y, Zombie.zombieHealth, this.game.getZombieImages()[0], null, this.game,
+					this, imgNo);
+		}
+		zombie.reset(x, y, imgNo, this);
+		return zombie;
+	}
+
+	/**
+	 * Gives the map's zombies back to the game's pool once the map is no
+	 * longer played, so that the next map can reuse them. The map must not be
+	 * used afterwards.
+	 */
+	public void releaseEntities() {
+		EntityPool<Zombie> zombiePool = this.game.getZombiePool();
+		for (int slot = 0; slot < this.zombieStore.size(); slot++) {
+			zombiePool.free(this.zombieStore.get(slot));
+		}
+	}
+
+	/**
+	 * Drops an item into the map at its position.
+	 * 
+	 * @param item
+	 *            the item to drop.
+	 */
+	public void addItem(Item item) {
+		this.chunkMap[item.getX() / 512][item.getY() / 512].add(item);
+		this.itemIndex.add(item);
+	}
+
+	/**
+	 * Removes an item that was dropped in the map.
+	 * 
+	 * @param item
+	 *            the item to remove.
+	 */
+	public void removeItem(Item item) {
+		this.chunkMap[item.getX() / 512][item.getY() / 512].remove(item);
+		this.itemIndex.remove(item);
+	}
+
+	public ActiveSet getActiveSet() {
+		return this.activeSet;
+	}
+
+	public TileCollision getTileCollision() {
+		return this.tileCollision;
+	}
+
+	public CrowdSimulation getCrowdSimulation() {
+		return this.crowdSimulation;
+	}
+
+	public BackgroundSimulation getBackgroundSimulation() {
+		return this.backgroundSimulation;
+	}
+
+	public SimulationBudget getSimulationBudget() {
+		return this.simulationBudget;
+	}
+
+	public DecalLayer getDecalLayer() {
+		return this.decalLayer;
+	}
+
+	public Random getRandom() {
+		return this.random;
+	}
+
+	public ChunkImageCache getChunkImageCache() {
+		return this.chunkImageCache;
+	}
+
+	/**
+	 * Replaces a tile once the map has been generated. The chunk containing
+	 * it is drawn again and the path finder sees whether the new tile is
+	 * solid.<br>
+	 * Must be called on the game thread, which is the only thread that writes
+	 * the tiles. The render thread reads them while it draws, so the tile is
+	 * written first and then published through the chunk's version and the
+	 * change count in the {@link ChunkImageCache}, which the render thread
+	 * reads before the tiles. Tiles must not be written any other way once
+	 * the game is running.
+	 * 
+	 * @param x
+	 *            the column of the tile.
+	 * @param y
+	 *            the row of the tile.
+	 * @param tile
+	 *            the new tile.
+	 * @param upper
+	 *            whether the tile is in the layer drawn over the entities.
+	 */
+	public void replaceTile(int x, int y, short tile, boolean upper) {
+		if (upper) {
+			this.upperTileMap[x][y] = tile;
+		} else {
+			this.tileMap[x][y] = tile;
+			this.pathFinder.updateTile(x, y);
+		}
+		// Publish the tile to the render thread after it has been written
+		this.chunkImageCache.invalidate(x, y);
+	}
+
+	public WorldQuery getWorldQuery() {
+		return this.worldQuery;
+	}
+
+	public ItemIndex getItemIndex() {
+		return this.itemIndex;
+	}
+
+	public EntityRegistry getEntityRegistry() {
+		return this.entityRegistry;
+	}
+
+	public ZombieStore getZombieStore() {
+		return this.zombieStore;
+	}
+
+	public SpatialHash getMobHash() {
+		return this.mobHash;
+	}
+
 	public void setPathFinder(PathFinder pathFinder) {
 		this.pathFinder = pathFinder;
 	}
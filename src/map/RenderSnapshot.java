@@ -0,0 +1,919 @@
+package map;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import utilities.Rasterizer;
+import utilities.SpriteCache;
+
+/**
+ * Everything needed to draw one tick of the game, captured by the game thread
+ * for the render thread.<br>
+ * Everything drawn in the game is kept as a list of records. Records drawn
+ * around a point in the world (the entities, the items, their labels and
+ * damage indicators) keep where the point was in the previous snapshot and
+ * where it is now, so the render thread can draw frames between two snapshots
+ * at the interpolated camera. Records drawn on the screen (the night, the blood
+ * outline and the HUD) are added through methods named like those of
+ * {@link Graphics2D}, with the current colour and font. The game thread only
+ * fills the records; all drawing happens on the render thread. The menus,
+ * which are drawn rarely and do not move, are still drawn into the snapshot's
+ * overlay image. Once it is published, a snapshot is only read until the game
+ * thread gets it back to fill again.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see utilities.SnapshotBuffer
+ * @since 1.0
+ * @version 1.0
+ */
+public class RenderSnapshot {
+	/**
+	 * The furthest that something can move between two snapshots in pixels
+	 * and still be drawn moving between the two positions. Anything that moves further
+	 * (such as an entity that was relocated) is drawn where it is now.
+	 */
+	public static final int MAX_STEP = 64;
+
+	/**
+	 * An image drawn rotated around its point through the sprite cache.
+	 */
+	private static final byte SPRITE = 0;
+
+	/**
+	 * An image drawn without rotating it.
+	 */
+	private static final byte IMAGE = 1;
+
+	/**
+	 * A health bar, whose value is the share of health left.
+	 */
+	private static final byte BAR = 2;
+
+	/**
+	 * A circle around the point, whose value is its radius.
+	 */
+	private static final byte CIRCLE = 3;
+
+	/**
+	 * A filled rectangle in the record's colour.
+	 */
+	private static final byte FILL = 4;
+
+	/**
+	 * The outline of a rectangle in the record's colour.
+	 */
+	private static final byte OUTLINE = 5;
+
+	/**
+	 * A line of text in the record's colour and font.
+	 */
+	private static final byte TEXT = 6;
+
+	private long tick;
+	private long previousTick;
+	private long time;
+	private int width;
+	private int height;
+
+	/**
+	 * The tiles, decals and chunks of the world (null when no world is
+	 * shown).
+	 */
+	private Map map;
+	private ScrollingBackground background;
+	private int minChunkX;
+	private int maxChunkX;
+	private int minChunkY;
+	private int maxChunkY;
+
+	/**
+	 * The camera's offset in the previous snapshot and on this tick.
+	 */
+	private float fromCameraX;
+	private float fromCameraY;
+	private float toCameraX;
+	private float toCameraY;
+
+	/**
+	 * The point that the next records are drawn around, in the previous
+	 * snapshot and on this tick.
+	 */
+	private int fromX;
+	private int fromY;
+	private double fromRotation;
+	private int toX;
+	private int toY;
+	private double toRotation;
+
+	/**
+	 * The records in the order that they are drawn.
+	 */
+	private byte[] kinds;
+	private BufferedImage[] images;
+	private int[] offsetX;
+	private int[] offsetY;
+	private double[] values;
+	private int[] fromXs;
+	private int[] fromYs;
+	private double[] fromRotations;
+	private int[] toXs;
+	private int[] toYs;
+	private double[] toRotations;
+	private int[] widths;
+	private int[] heights;
+	private Color[] colours;
+	private Font[] fonts;
+	private String[] texts;
+
+	/**
+	 * Whether each record is drawn on the screen instead of around a point in
+	 * the world.
+	 */
+	private boolean[] onScreen;
+	private int noOfRecords;
+
+	/**
+	 * The first record drawn over the tiles above the entities (-1 if every
+	 * record is drawn under them).
+	 */
+	private int firstOverlayRecord;
+
+	/**
+	 * The colour and font that the next rectangles and text are drawn with.
+	 */
+	private Color colour;
+	private Font font;
+
+	/**
+	 * The graphics variable used to measure text while the snapshot is
+	 * filled. Nothing is drawn with it.
+	 */
+	private Graphics2D measure;
+
+	/**
+	 * The image the menus are drawn into, and whether one was drawn this
+	 * tick.
+	 */
+	private BufferedImage overlay;
+	private boolean overlayDrawn;
+
+	/**
+	 * Constructs a new empty RenderSnapshot object.
+	 *
+	 * @param width
+	 *            the width of the screen in pixels.
+	 * @param height
+	 *            the height of the screen in pixels.
+	 */
+	public RenderSnapshot(int width, int height) {
+		this.tick = -1;
+		this.width = width;
+		this.height = height;
+		// INT_ARGB so that the software rasterizer can read it directly
+		this.overlay = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		this.measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		this.measure.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		this.firstOverlayRecord = -1;
+		grow(256);
+	}
+
+	/**
+	 * Empties the snapshot so it can be filled for a new tick.
+	 *
+	 * @param tick
+	 *            the tick being captured.
+	 * @param previousTick
+	 *            the tick of the snapshot captured before this one, which
+	 *            may be several ticks earlier when the game catches up (-1
+	 *            if there was none).
+	 * @param time
+	 *            the time of the tick from {@link System#nanoTime()}.
+	 */
+	public void reset(long tick, long previousTick, long time) {
+		this.tick = tick;
+		this.previousTick = previousTick;
+		this.time = time;
+		this.map = null;
+		this.background = null;
+		for (int i = 0; i < this.noOfRecords; i++) {
+			this.images[i] = null;
+			this.colours[i] = null;
+			this.fonts[i] = null;
+			this.texts[i] = null;
+		}
+		this.noOfRecords = 0;
+		this.firstOverlayRecord = -1;
+		this.overlayDrawn = false;
+		this.colour = Color.WHITE;
+		this.font = this.measure.getFont();
+	}
+
+	/**
+	 * Sets the world shown in the snapshot.
+	 *
+	 * @param map
+	 *            the map whose tiles and decals are drawn.
+	 * @param background
+	 *            the buffer the lower tiles are drawn through.
+	 * @param minChunkX
+	 *            the first chunk column to draw decals in (inclusive).
+	 * @param maxChunkX
+	 *            the last chunk column to draw decals in (exclusive).
+	 * @param minChunkY
+	 *            the first chunk row to draw decals in (inclusive).
+	 * @param maxChunkY
+	 *            the last chunk row to draw decals in (exclusive).
+	 */
+	public void setWorld(Map map, ScrollingBackground background, int minChunkX, int maxChunkX, int minChunkY,
+			int maxChunkY) {
+		this.map = map;
+		this.background = background;
+		this.minChunkX = minChunkX;
+		this.maxChunkX = maxChunkX;
+		this.minChunkY = minChunkY;
+		this.maxChunkY = maxChunkY;
+	}
+
+	/**
+	 * Sets the camera's offset in the previous snapshot and on this tick.
+	 *
+	 * @param fromX
+	 *            the x offset in the previous snapshot.
+	 * @param fromY
+	 *            the y offset in the previous snapshot.
+	 * @param toX
+	 *            the x offset on this tick.
+	 * @param toY
+	 *            the y offset on this tick.
+	 */
+	public void setCamera(float fromX, float fromY, float toX, float toY) {
+		this.fromCameraX = fromX;
+		this.fromCameraY = fromY;
+		this.toCameraX = toX;
+		this.toCameraY = toY;
+	}
+
+	/**
+	 * Sets the point in the map that the next records are drawn around, in
+	 * the previous snapshot and on this tick.
+	 *
+	 * @param fromX
+	 *            the x coordinate in the previous snapshot in pixels.
+	 * @param fromY
+	 *            the y coordinate in the previous snapshot in pixels.
+	 * @param fromRotation
+	 *            the rotation in the previous snapshot in radians.
+	 * @param toX
+	 *            the x coordinate on this tick in pixels.
+	 * @param toY
+	 *            the y coordinate on this tick in pixels.
+	 * @param toRotation
+	 *            the rotation on this tick in radians.
+	 */
+	public void setMotion(int fromX, int fromY, double fromRotation, int toX, int toY, double toRotation) {
+		this.fromX = fromX;
+		this.fromY = fromY;
+		this.fromRotation = fromRotation;
+		this.toX = toX;
+		this.toY = toY;
+		this.toRotation = toRotation;
+	}
+
+	/**
+	 * Adds an image rotated around the point.
+	 *
+	 * @param image
+	 *            the image.
+	 * @param offsetX
+	 *            the x coordinate of the image's top left corner relative to
+	 *            the point, before rotating.
+	 * @param offsetY
+	 *            the y coordinate of the image's top left corner relative to
+	 *            the point, before rotating.
+	 */
+	public void addSprite(BufferedImage image, int offsetX, int offsetY) {
+		add(SPRITE, image, offsetX, offsetY, 0);
+	}
+
+	/**
+	 * Adds an image that is not rotated.
+	 *
+	 * @param image
+	 *            the image.
+	 * @param offsetX
+	 *            the x coordinate of the image's top left corner relative to
+	 *            the point.
+	 * @param offsetY
+	 *            the y coordinate of the image's top left corner relative to
+	 *            the point.
+	 */
+	public void addImage(BufferedImage image, int offsetX, int offsetY) {
+		add(IMAGE, image, offsetX, offsetY, 1);
+	}
+
+	/**
+	 * Adds a 44x6 health bar.
+	 *
+	 * @param offsetX
+	 *            the x coordinate of the bar's top left corner relative to
+	 *            the point.
+	 * @param offsetY
+	 *            the y coordinate of the bar's top left corner relative to
+	 *            the point.
+	 * @param share
+	 *            the share of health left (from 0 to 1).
+	 */
+	public void addHealthBar(int offsetX, int offsetY, double share) {
+		add(BAR, null, offsetX, offsetY, share);
+	}
+
+	/**
+	 * Adds the outline of a circle around the point.
+	 *
+	 * @param radius
+	 *            the radius of the circle in pixels.
+	 */
+	public void addCircle(int radius) {
+		add(CIRCLE, null, 0, 0, radius);
+	}
+
+	/**
+	 * Adds a line of text in the current colour and font.
+	 *
+	 * @param text
+	 *            the text.
+	 * @param offsetX
+	 *            the x coordinate of the start of the text relative to the
+	 *            point.
+	 * @param offsetY
+	 *            the y coordinate of the baseline of the text relative to the
+	 *            point.
+	 */
+	public void addText(String text, int offsetX, int offsetY) {
+		int record = add(TEXT, null, offsetX, offsetY, 0);
+		this.texts[record] = text;
+	}
+
+	/**
+	 * Adds a rectangle filled with the current colour.
+	 *
+	 * @param offsetX
+	 *            the x coordinate of the rectangle's top left corner relative
+	 *            to the point.
+	 * @param offsetY
+	 *            the y coordinate of the rectangle's top left corner relative
+	 *            to the point.
+	 * @param width
+	 *            the width of the rectangle in pixels.
+	 * @param height
+	 *            the height of the rectangle in pixels.
+	 */
+	public void addFilledRect(int offsetX, int offsetY, int width, int height) {
+		int record = add(FILL, null, offsetX, offsetY, 0);
+		this.widths[record] = width;
+		this.heights[record] = height;
+	}
+
+	/**
+	 * Starts the records drawn over the world. Everything added after this is
+	 * drawn over the tiles above the entities, such as the labels and the
+	 * HUD.
+	 */
+	public void startOverlay() {
+		this.firstOverlayRecord = this.noOfRecords;
+	}
+
+	/**
+	 * Sets the colour that the next rectangles and text are drawn with.
+	 *
+	 * @param colour
+	 *            the colour.
+	 */
+	public void setColor(Color colour) {
+		this.colour = colour;
+	}
+
+	/**
+	 * Sets the font that the next text is drawn with.
+	 *
+	 * @param font
+	 *            the font.
+	 */
+	public void setFont(Font font) {
+		this.font = font;
+	}
+
+	/**
+	 * Gets the metrics of the current font, used to measure text before it is
+	 * added.
+	 *
+	 * @return the font metrics.
+	 */
+	public FontMetrics getFontMetrics() {
+		return this.measure.getFontMetrics(this.font);
+	}
+
+	/**
+	 * Adds a rectangle on the screen filled with the current colour.
+	 *
+	 * @param x
+	 *            the x coordinate of the rectangle's top left corner.
+	 * @param y
+	 *            the y coordinate of the rectangle's top left corner.
+	 * @param width
+	 *            the width of the rectangle in pixels.
+	 * @param height
+	 *            the height of the rectangle in pixels.
+	 */
+	public void fillRect(int x, int y, int width, int height) {
+		int record = addOnScreen(FILL, null, x, y, 0);
+		this.widths[record] = width;
+		this.heights[record] = height;
+	}
+
+	/**
+	 * Adds the outline of a rectangle on the screen in the current colour.
+	 *
+	 * @param x
+	 *            the x coordinate of the rectangle's top left corner.
+	 * @param y
+	 *            the y coordinate of the rectangle's top left corner.
+	 * @param width
+	 *            the width of the rectangle in pixels.
+	 * @param height
+	 *            the height of the rectangle in pixels.
+	 */
+	public void drawRect(int x, int y, int width, int height) {
+		int record = addOnScreen(OUTLINE, null, x, y, 0);
+		this.widths[record] = width;
+		this.heights[record] = height;
+	}
+
+	/**
+	 * Adds a line of text on the screen in the current colour and font.
+	 *
+	 * @param text
+	 *            the text.
+	 * @param x
+	 *            the x coordinate of the start of the text.
+	 * @param y
+	 *            the y coordinate of the baseline of the text.
+	 */
+	public void drawString(String text, int x, int y) {
+		int record = addOnScreen(TEXT, null, x, y, 0);
+		this.texts[record] = text;
+	}
+
+	/**
+	 * Adds an image on the screen.
+	 *
+	 * @param image
+	 *            the image.
+	 * @param x
+	 *            the x coordinate of the image's top left corner.
+	 * @param y
+	 *            the y coordinate of the image's top left corner.
+	 */
+	public void drawImage(BufferedImage image, int x, int y) {
+		addOnScreen(IMAGE, image, x, y, 1);
+	}
+
+	/**
+	 * Adds a partly transparent image on the screen.
+	 *
+	 * @param image
+	 *            the image.
+	 * @param x
+	 *            the x coordinate of the image's top left corner.
+	 * @param y
+	 *            the y coordinate of the image's top left corner.
+	 * @param opacity
+	 *            how opaque to draw the image (from 0 to 1).
+	 */
+	public void drawImage(BufferedImage image, int x, int y, float opacity) {
+		addOnScreen(IMAGE, image, x, y, opacity);
+	}
+
+	/**
+	 * Adds a record drawn around the current point.
+	 *
+	 * @return the record.
+	 */
+	private int add(byte kind, BufferedImage image, int offsetX, int offsetY, double value) {
+		if (this.noOfRecords == this.kinds.length) {
+			grow(this.kinds.length * 2);
+		}
+		int record = this.noOfRecords++;
+		this.kinds[record] = kind;
+		this.images[record] = image;
+		this.offsetX[record] = offsetX;
+		this.offsetY[record] = offsetY;
+		this.values[record] = value;
+		this.fromXs[record] = this.fromX;
+		this.fromYs[record] = this.fromY;
+		this.fromRotations[record] = this.fromRotation;
+		this.toXs[record] = this.toX;
+		this.toYs[record] = this.toY;
+		this.toRotations[record] = this.toRotation;
+		this.colours[record] = this.colour;
+		this.fonts[record] = this.font;
+		this.onScreen[record] = false;
+		return record;
+	}
+
+	/**
+	 * Adds a record drawn on the screen, whose offset is its position on the
+	 * screen.
+	 *
+	 * @return the record.
+	 */
+	private int addOnScreen(byte kind, BufferedImage image, int x, int y, double value) {
+		int record = add(kind, image, x, y, value);
+		this.onScreen[record] = true;
+		return record;
+	}
+
+	/**
+	 * Makes room for more records.
+	 *
+	 * @param capacity
+	 *            the number of records to make room for.
+	 */
+	private void grow(int capacity) {
+		byte[] kinds = new byte[capacity];
+		BufferedImage[] images = new BufferedImage[capacity];
+		int[] offsetX = new int[capacity];
+		int[] offsetY = new int[capacity];
+		double[] values = new double[capacity];
+		int[] fromXs = new int[capacity];
+		int[] fromYs = new int[capacity];
+		double[] fromRotations = new double[capacity];
+		int[] toXs = new int[capacity];
+		int[] toYs = new int[capacity];
+		double[] toRotations = new double[capacity];
+		int[] widths = new int[capacity];
+		int[] heights = new int[capacity];
+		Color[] colours = new Color[capacity];
+		Font[] fonts = new Font[capacity];
+		String[] texts = new String[capacity];
+		boolean[] onScreen = new boolean[capacity];
+		if (this.kinds != null) {
+			System.arraycopy(this.kinds, 0, kinds, 0, this.noOfRecords);
+			System.arraycopy(this.images, 0, images, 0, this.noOfRecords);
+			System.arraycopy(this.offsetX, 0, offsetX, 0, this.noOfRecords);
+			System.arraycopy(this.offsetY, 0, offsetY, 0, this.noOfRecords);
+			System.arraycopy(this.values, 0, values, 0, this.noOfRecords);
+			System.arraycopy(this.fromXs, 0, fromXs, 0, this.noOfRecords);
+			System.arraycopy(this.fromYs, 0, fromYs, 0, this.noOfRecords);
+			System.arraycopy(this.fromRotations, 0, fromRotations, 0, this.noOfRecords);
+			System.arraycopy(this.toXs, 0, toXs, 0, this.noOfRecords);
+			System.arraycopy(this.toYs, 0, toYs, 0, this.noOfRecords);
+			System.arraycopy(this.toRotations, 0, toRotations, 0, this.noOfRecords);
+			System.arraycopy(this.widths, 0, widths, 0, this.noOfRecords);
+			System.arraycopy(this.heights, 0, heights, 0, this.noOfRecords);
+			System.arraycopy(this.colours, 0, colours, 0, this.noOfRecords);
+			System.arraycopy(this.fonts, 0, fonts, 0, this.noOfRecords);
+			System.arraycopy(this.texts, 0, texts, 0, this.noOfRecords);
+			System.arraycopy(this.onScreen, 0, onScreen, 0, this.noOfRecords);
+		}
+		this.kinds = kinds;
+		this.images = images;
+		this.offsetX = offsetX;
+		this.offsetY = offsetY;
+		this.values = values;
+		this.fromXs = fromXs;
+		this.fromYs = fromYs;
+		this.fromRotations = fromRotations;
+		this.toXs = toXs;
+		this.toYs = toYs;
+		this.toRotations = toRotations;
+		this.widths = widths;
+		this.heights = heights;
+		this.colours = colours;
+		this.fonts = fonts;
+		this.texts = texts;
+		this.onScreen = onScreen;
+	}
+
+	/**
+	 * Gets the graphics variable to draw a menu into the overlay with, after
+	 * clearing the overlay.
+	 *
+	 * @return the graphics variable. It must be disposed once drawing is
+	 *         done.
+	 */
+	public Graphics2D createOverlayGraphics() {
+		Graphics2D g2D = this.overlay.createGraphics();
+		g2D.setComposite(AlphaComposite.Clear);
+		g2D.fillRect(0, 0, this.width, this.height);
+		g2D.setComposite(AlphaComposite.SrcOver);
+		this.overlayDrawn = true;
+		return g2D;
+	}
+
+	/**
+	 * Draws the snapshot part of the way to its tick from the previous
+	 * snapshot. Only the render thread may call this.
+	 *
+	 * @param g2D
+	 *            the graphics variable to draw the snapshot.
+	 * @param alpha
+	 *            how far to draw between the previous snapshot (0) and this
+	 *            tick (1).
+	 * @param sprites
+	 *            the cache to draw the rotated images from.
+	 */
+	public void render(Graphics2D g2D, double alpha, SpriteCache sprites) {
+		float cameraX = cameraX(alpha);
+		float cameraY = cameraY(alpha);
+		int firstOverlayRecord = this.firstOverlayRecord >= 0 ? this.firstOverlayRecord : this.noOfRecords;
+
+		// Draw the tiles and decals under the entities
+		if (this.map != null) {
+			this.background.render(g2D, cameraX, cameraY, this.width, this.height);
+			this.map.getDecalLayer().render(g2D, this.minChunkX, this.maxChunkX, this.minChunkY, this.maxChunkY,
+					cameraX, cameraY);
+		}
+		render(g2D, 0, firstOverlayRecord, alpha, cameraX, cameraY, sprites);
+
+		// Draw the tiles over the entities (such as the trees), then
+		// everything over the world
+		if (this.map != null) {
+			this.map.getChunkImageCache().render(g2D, ChunkImageCache.UPPER, cameraX, cameraY, this.width,
+					this.height);
+		}
+		render(g2D, firstOverlayRecord, this.noOfRecords, alpha, cameraX, cameraY, sprites);
+
+		if (this.overlayDrawn) {
+			g2D.drawImage(this.overlay, 0, 0, null);
+		}
+	}
+
+	/**
+	 * Draws a range of records through Java2D.
+	 */
+	private void render(Graphics2D g2D, int first, int last, double alpha, float cameraX, float cameraY,
+			SpriteCache sprites) {
+		for (int i = first; i < last; i++) {
+			int x = screenX(i, alpha, cameraX);
+			int y = screenY(i, alpha, cameraY);
+
+			switch (this.kinds[i]) {
+			case SPRITE:
+				sprites.draw(g2D, this.images[i], this.offsetX[i], this.offsetY[i],
+						turn(this.fromRotations[i], this.toRotations[i], alpha), x, y);
+				break;
+			case IMAGE:
+				if (this.values[i] < 1) {
+					Composite original = g2D.getComposite();
+					g2D.setComposite(AlphaComposite.SrcOver.derive((float) this.values[i]));
+					g2D.drawImage(this.images[i], x + this.offsetX[i], y + this.offsetY[i], null);
+					g2D.setComposite(original);
+				} else {
+					g2D.drawImage(this.images[i], x + this.offsetX[i], y + this.offsetY[i], null);
+				}
+				break;
+			case BAR:
+				g2D.setColor(Color.BLACK);
+				g2D.drawRect(x + this.offsetX[i], y + this.offsetY[i], 44, 6);
+				g2D.setColor(Color.RED);
+				g2D.fillRect(x + this.offsetX[i] + 1, y + this.offsetY[i] + 1, (int) (42 * this.values[i]), 5);
+				break;
+			case CIRCLE:
+				int radius = (int) this.values[i];
+				g2D.setColor(Color.BLACK);
+				g2D.drawOval(x - radius, y - radius, 2 * radius, 2 * radius);
+				break;
+			case FILL:
+				g2D.setColor(this.colours[i]);
+				g2D.fillRect(x + this.offsetX[i], y + this.offsetY[i], this.widths[i], this.heights[i]);
+				break;
+			case OUTLINE:
+				g2D.setColor(this.colours[i]);
+				g2D.drawRect(x + this.offsetX[i], y + this.offsetY[i], this.widths[i], this.heights[i]);
+				break;
+			case TEXT:
+				drawText(g2D, i, x, y);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Draws the snapshot the same way as
+	 * {@link #render(Graphics2D, double, SpriteCache)}, but straight into the
+	 * frame of a software rasterizer instead of through Java2D. Only the
+	 * render thread may call this.
+	 *
+	 * @param rasterizer
+	 *            the rasterizer to draw the snapshot with.
+	 * @param alpha
+	 *            how far to draw between the previous snapshot (0) and this
+	 *            tick (1).
+	 * @param sprites
+	 *            the cache to take the rotated images from.
+	 */
+	public void rasterize(Rasterizer rasterizer, double alpha, SpriteCache sprites) {
+		float cameraX = cameraX(alpha);
+		float cameraY = cameraY(alpha);
+		int firstOverlayRecord = this.firstOverlayRecord >= 0 ? this.firstOverlayRecord : this.noOfRecords;
+
+		// Draw the tiles and decals under the entities
+		rasterizer.clear(0x000000);
+		if (this.map != null) {
+			this.map.getChunkImageCache().rasterize(rasterizer, ChunkImageCache.LOWER, cameraX, cameraY, this.width,
+					this.height);
+			this.map.getDecalLayer().rasterize(rasterizer, this.minChunkX, this.maxChunkX, this.minChunkY,
+					this.maxChunkY, cameraX, cameraY);
+		}
+		rasterize(rasterizer, 0, firstOverlayRecord, alpha, cameraX, cameraY, sprites);
+
+		// Draw the tiles over the entities (such as the trees), then
+		// everything over the world
+		if (this.map != null) {
+			this.map.getChunkImageCache().rasterize(rasterizer, ChunkImageCache.UPPER, cameraX, cameraY, this.width,
+					this.height);
+		}
+		rasterize(rasterizer, firstOverlayRecord, this.noOfRecords, alpha, cameraX, cameraY, sprites);
+
+		if (this.overlayDrawn) {
+			rasterizer.drawImage(this.overlay, 0, 0);
+		}
+	}
+
+	/**
+	 * Draws a range of records with a software rasterizer.
+	 */
+	private void rasterize(Rasterizer rasterizer, int first, int last, double alpha, float cameraX, float cameraY,
+			SpriteCache sprites) {
+		for (int i = first; i < last; i++) {
+			int x = screenX(i, alpha, cameraX);
+			int y = screenY(i, alpha, cameraY);
+
+			switch (this.kinds[i]) {
+			case SPRITE:
+				// The point is in the centre of the rotated frame
+				BufferedImage frame = sprites.getFrame(this.images[i], this.offsetX[i], this.offsetY[i],
+						turn(this.fromRotations[i], this.toRotations[i], alpha));
+				rasterizer.drawImage(frame, x - frame.getWidth() / 2, y - frame.getHeight() / 2);
+				break;
+			case IMAGE:
+				rasterizer.drawImage(this.images[i], x + this.offsetX[i], y + this.offsetY[i],
+						(int) Math.round(this.values[i] * 255));
+				break;
+			case BAR:
+				rasterizer.drawRect(x + this.offsetX[i], y + this.offsetY[i], 44, 6, 0xFF000000);
+				rasterizer.fillRect(x + this.offsetX[i] + 1, y + this.offsetY[i] + 1, (int) (42 * this.values[i]), 5,
+						0xFFFF0000);
+				break;
+			case CIRCLE:
+				rasterizer.drawCircle(x, y, (int) this.values[i], 0xFF000000);
+				break;
+			case FILL:
+				rasterizer.fillRect(x + this.offsetX[i], y + this.offsetY[i], this.widths[i], this.heights[i],
+						this.colours[i].getRGB());
+				break;
+			case OUTLINE:
+				rasterizer.drawRect(x + this.offsetX[i], y + this.offsetY[i], this.widths[i], this.heights[i],
+						this.colours[i].getRGB());
+				break;
+			case TEXT:
+				// Text is drawn by Java2D into the rasterizer's frame
+				drawText(rasterizer.getGraphics(), i, x, y);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Draws the text of a record.
+	 */
+	private void drawText(Graphics2D g2D, int record, int x, int y) {
+		g2D.setColor(this.colours[record]);
+		g2D.setFont(this.fonts[record]);
+		g2D.drawString(this.texts[record], x + this.offsetX[record], y + this.offsetY[record]);
+	}
+
+	/**
+	 * Gets the x offset of the camera part of the way to this tick from the
+	 * previous snapshot.
+	 */
+	private float cameraX(double alpha) {
+		return this.fromCameraX + (float) ((this.toCameraX - this.fromCameraX) * alpha);
+	}
+
+	/**
+	 * Gets the y offset of the camera part of the way to this tick from the
+	 * previous snapshot.
+	 */
+	private float cameraY(double alpha) {
+		return this.fromCameraY + (float) ((this.toCameraY - this.fromCameraY) * alpha);
+	}
+
+	/**
+	 * Gets where a record is drawn on the screen, moved to the whole pixel
+	 * between the two ticks and drawn relative to the camera the same way as
+	 * the tiles. Records drawn on the screen are drawn at their offset.
+	 *
+	 * @param record
+	 *            the record.
+	 * @param alpha
+	 *            how far to move between the previous snapshot (0) and this
+	 *            tick (1).
+	 * @param cameraX
+	 *            the x offset of the camera in pixels.
+	 * @return the x coordinate on the screen.
+	 */
+	private int screenX(int record, double alpha, float cameraX) {
+		if (this.onScreen[record]) {
+			return 0;
+		}
+		return (int) ((int) Math.round(this.fromXs[record] + (this.toXs[record] - this.fromXs[record]) * alpha)
+				- cameraX);
+	}
+
+	/**
+	 * Gets where a record is drawn on the screen, moved to the whole pixel
+	 * between the two ticks and drawn relative to the camera the same way as
+	 * the tiles. Records drawn on the screen are drawn at their offset.
+	 *
+	 * @param record
+	 *            the record.
+	 * @param alpha
+	 *            how far to move between the previous snapshot (0) and this
+	 *            tick (1).
+	 * @param cameraY
+	 *            the y offset of the camera in pixels.
+	 * @return the y coordinate on the screen.
+	 */
+	private int screenY(int record, double alpha, float cameraY) {
+		if (this.onScreen[record]) {
+			return 0;
+		}
+		return (int) ((int) Math.round(this.fromYs[record] + (this.toYs[record] - this.fromYs[record]) * alpha)
+				- cameraY);
+	}
+
+	/**
+	 * Turns part of the way from one rotation to another, the short way
+	 * around.
+	 *
+	 * @param from
+	 *            the rotation to turn from in radians.
+	 * @param to
+	 *            the rotation to turn to in radians.
+	 * @param alpha
+	 *            how far to turn (from 0 to 1).
+	 * @return the rotation in between.
+	 */
+	private static double turn(double from, double to, double alpha) {
+		double difference = Math.IEEEremainder(to - from, 2 * Math.PI);
+		return from + difference * alpha;
+	}
+
+	/**
+	 * Checks whether something was captured in the snapshot before this one,
+	 * so that it can be drawn moving from where it was then. The game may run
+	 * several ticks between two snapshots, so this compares against the tick
+	 * of the previous snapshot rather than the tick before this one.
+	 *
+	 * @param capturedTick
+	 *            the tick that the thing was last captured on.
+	 * @return whether or not it was captured in the previous snapshot.
+	 */
+	public boolean follows(long capturedTick) {
+		return capturedTick >= 0 && capturedTick == this.previousTick;
+	}
+
+	/**
+	 * Checks whether something moved little enough between two snapshots to
+	 * be drawn moving between the two positions.
+	 *
+	 * @param fromX
+	 *            the x coordinate in the previous snapshot in pixels.
+	 * @param fromY
+	 *            the y coordinate in the previous snapshot in pixels.
+	 * @param toX
+	 *            the x coordinate in this snapshot in pixels.
+	 * @param toY
+	 *            the y coordinate in this snapshot in pixels.
+	 * @return whether or not to draw it moving.
+	 */
+	public static boolean isStep(float fromX, float fromY, float toX, float toY) {
+		return Math.abs(toX - fromX) <= MAX_STEP && Math.abs(toY - fromY) <= MAX_STEP;
+	}
+
+	public long getTick() {
+		return this.tick;
+	}
+
+	public long getTime() {
+		return this.time;
+	}
+}
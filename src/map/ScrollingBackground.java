@@ -0,0 +1,161 @@
+package map;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.image.VolatileImage;
+
+/**
+ * Screen-sized buffer holding the tiles drawn under the entities.<br>
+ * The camera only moves a few pixels per tick, so instead of drawing the
+ * whole background every frame, the pixels already in the buffer are shifted
+ * by the camera's movement with {@link Graphics2D#copyArea} and only the rows
+ * and columns of pixels that come into view are drawn from the
+ * {@link ChunkImageCache}. The whole buffer is drawn again when the camera
+ * jumps further than the screen, when tiles change, and when the buffer's
+ * contents are lost.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see ChunkImageCache
+ * @since 1.0
+ * @version 1.0
+ */
+public class ScrollingBackground {
+	private ChunkImageCache cache;
+	private Image buffer;
+	private int width;
+	private int height;
+
+	/**
+	 * The pixel of the map shown in the buffer's top left corner.
+	 */
+	private int bufferX;
+	private int bufferY;
+
+	/**
+	 * Whether or not the buffer shows the background at its position.
+	 */
+	private boolean valid;
+
+	/**
+	 * The number of tile changes in the cache that the buffer shows.
+	 */
+	private int noOfChanges;
+
+	/**
+	 * Constructs a new ScrollingBackground object.
+	 *
+	 * @param cache
+	 *            the cache to draw the chunks from.
+	 */
+	public ScrollingBackground(ChunkImageCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Renders the background for the camera's position.
+	 *
+	 * @param g2D
+	 *            the graphics variable to draw the background.
+	 * @param xOffset
+	 *            the x offset of the camera in pixels.
+	 * @param yOffset
+	 *            the y offset of the camera in pixels.
+	 * @param width
+	 *            the width of the screen in pixels.
+	 * @param height
+	 *            the height of the screen in pixels.
+	 */
+	public void render(Graphics2D g2D, float xOffset, float yOffset, int width, int height) {
+		GraphicsConfiguration configuration = g2D.getDeviceConfiguration();
+		if (this.buffer == null || this.width != width || this.height != height) {
+			if (this.buffer != null) {
+				this.buffer.flush();
+			}
+			this.buffer = ChunkImageCache.createImage(configuration, width, height);
+			this.width = width;
+			this.height = height;
+			this.valid = false;
+		}
+
+		// Make a new volatile buffer if the old one no longer suits the screen,
+		// and draw all of it again if its contents were lost
+		if (this.buffer instanceof VolatileImage) {
+			int status = ((VolatileImage) this.buffer).validate(configuration);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				this.buffer.flush();
+				this.buffer = ChunkImageCache.createImage(configuration, width, height);
+				this.valid = false;
+			} else if (status == VolatileImage.IMAGE_RESTORED) {
+				this.valid = false;
+			}
+		}
+
+		// Round the camera the same way as the entities drawn over the
+		// background
+		int x = (int) Math.ceil(xOffset);
+		int y = (int) Math.ceil(yOffset);
+		int dx = x - this.bufferX;
+		int dy = y - this.bufferY;
+
+		Graphics2D buffer = (Graphics2D) this.buffer.getGraphics();
+		if (!this.valid || this.noOfChanges != this.cache.getNoOfChanges() || Math.abs(dx) >= width
+				|| Math.abs(dy) >= height) {
+			// Draw everything after a jump or a change
+			this.noOfChanges = this.cache.getNoOfChanges();
+			drawArea(buffer, x, y, 0, 0, width, height);
+		} else if (dx != 0 || dy != 0) {
+			// Shift the pixels still in view, then draw the strips that came
+			// into view
+			buffer.copyArea(0, 0, width, height, -dx, -dy);
+			if (dx > 0) {
+				drawArea(buffer, x, y, width - dx, 0, dx, height);
+			} else if (dx < 0) {
+				drawArea(buffer, x, y, 0, 0, -dx, height);
+			}
+			if (dy > 0) {
+				drawArea(buffer, x, y, 0, height - dy, width, dy);
+			} else if (dy < 0) {
+				drawArea(buffer, x, y, 0, 0, width, -dy);
+			}
+		}
+		buffer.dispose();
+		this.bufferX = x;
+		this.bufferY = y;
+		this.valid = !(this.buffer instanceof VolatileImage) || !((VolatileImage) this.buffer).contentsLost();
+
+		g2D.drawImage(this.buffer, 0, 0, null);
+	}
+
+	/**
+	 * Draws part of the buffer from the chunk images.
+	 *
+	 * @param buffer
+	 *            the graphics variable of the buffer.
+	 * @param x
+	 *            the pixel of the map shown in the buffer's left column.
+	 * @param y
+	 *            the pixel of the map shown in the buffer's top row.
+	 * @param areaX
+	 *            the left edge of the part to draw in the buffer.
+	 * @param areaY
+	 *            the top edge of the part to draw in the buffer.
+	 * @param areaWidth
+	 *            the width of the part to draw.
+	 * @param areaHeight
+	 *            the height of the part to draw.
+	 */
+	private void drawArea(Graphics2D buffer, int x, int y, int areaX, int areaY, int areaWidth, int areaHeight) {
+		buffer.setClip(areaX, areaY, areaWidth, areaHeight);
+		// Clear the part first, since there are no tiles outside of the map
+		buffer.setComposite(AlphaComposite.Clear);
+		buffer.fillRect(areaX, areaY, areaWidth, areaHeight);
+		buffer.setComposite(AlphaComposite.SrcOver);
+		// Only draw the chunks that overlap the part
+		buffer.translate(areaX, areaY);
+		this.cache.render(buffer, ChunkImageCache.LOWER, x + areaX, y + areaY, areaWidth, areaHeight);
+		buffer.translate(-areaX, -areaY);
+		buffer.setClip(null);
+	}
+}
@@ -0,0 +1,176 @@
+package map;
+
+/**
+ * Adjusts how much of the map is simulated in detail from the measured time
+ * of each tick.<br>
+ * The simulation runs at one of several detail levels, each made of a radius
+ * of chunks around the player that is updated in detail and an interval (in
+ * ticks) between the times that zombies think, which is when they pass their
+ * noise on and check on their horde (which may find them a new path). Once
+ * every {@link #WINDOW} ticks the average tick time is compared against the
+ * {@link #TICK_BUDGET} of a 60 tick per second game. The level drops when
+ * ticks use most of the budget and rises when they use little of it. The gap
+ * between the two thresholds and a cooldown after every change keep the level
+ * from switching back and forth. The reason for the last change is kept so
+ * that it can be read along with the level.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @since 1.0
+ * @version 1.0
+ */
+public class SimulationBudget {
+	/**
+	 * The time available for each tick in nanoseconds.
+	 */
+	public static final long TICK_BUDGET = 16600000;
+
+	/**
+	 * The number of ticks that are averaged before the level is checked.
+	 */
+	public static final int WINDOW = 60;
+
+	/**
+	 * The share of the budget above which the level drops.
+	 */
+	private static final double HIGH_LOAD = 0.75;
+
+	/**
+	 * The share of the budget below which the level rises.
+	 */
+	private static final double LOW_LOAD = 0.35;
+
+	/**
+	 * The number of windows to wait after a change before changing again.
+	 */
+	private static final int COOLDOWN = 3;
+
+	/**
+	 * The chunk radius of each detail level, from least to most detailed.
+	 */
+	private static final int[] RADII = { 1, 1, 2, 2, 3, 4 };
+
+	/**
+	 * The think interval of each detail level, from least to most detailed.
+	 */
+	private static final int[] THINK_INTERVALS = { 4, 2, 2, 1, 1, 1 };
+
+	/**
+	 * The level that the simulation starts at (a 5x5 chunk area with zombies
+	 * thinking every tick).
+	 */
+	private static final int DEFAULT_LEVEL = 3;
+
+	private int level;
+	private long totalTime;
+	private int noOfTicks;
+	private int cooldown;
+
+	private long averageTickTime;
+	private int noOfChanges;
+	private String lastChangeReason;
+
+	/**
+	 * Constructs a new SimulationBudget object at the default level.
+	 */
+	public SimulationBudget() {
+		this.level = DEFAULT_LEVEL;
+		this.lastChangeReason = "Started at the default level";
+	}
+
+	/**
+	 * Records how long a tick took and adjusts the level at the end of each
+	 * window.
+	 *
+	 * @param nanoseconds
+	 *            the time the tick took in nanoseconds.
+	 */
+	public void recordTick(long nanoseconds) {
+		this.totalTime += nanoseconds;
+		this.noOfTicks++;
+		if (this.noOfTicks < WINDOW) {
+			return;
+		}
+
+		this.averageTickTime = this.totalTime / this.noOfTicks;
+		this.totalTime = 0;
+		this.noOfTicks = 0;
+		if (this.cooldown > 0) {
+			this.cooldown--;
+			return;
+		}
+
+		double load = this.averageTickTime / (double) TICK_BUDGET;
+		if (load > HIGH_LOAD && this.level > 0) {
+			changeLevel(this.level - 1, "Dropped detail: average tick took " + percent(load) + " of the budget");
+		} else if (load < LOW_LOAD && this.level < RADII.length - 1) {
+			changeLevel(this.level + 1, "Raised detail: average tick took " + percent(load) + " of the budget");
+		}
+	}
+
+	/**
+	 * Moves the simulation to another detail level.
+	 *
+	 * @param level
+	 *            the new level.
+	 * @param reason
+	 *            the reason for the change.
+	 */
+	private void changeLevel(int level, String reason) {
+		this.level = level;
+		this.cooldown = COOLDOWN;
+		this.noOfChanges++;
+		this.lastChangeReason = reason + " (radius " + getRadius() + ", thinking every " + getThinkInterval()
+				+ " ticks)";
+	}
+
+	/**
+	 * Formats a share of the budget as a percentage.
+	 *
+	 * @param load
+	 *            the share of the budget.
+	 * @return the percentage.
+	 */
+	private static String percent(double load) {
+		return Math.round(load * 100) + "%";
+	}
+
+	/**
+	 * Gets the number of chunks around the player's chunk that are updated in
+	 * detail in each direction.
+	 *
+	 * @return the radius in chunks.
+	 */
+	public int getRadius() {
+		return RADII[this.level];
+	}
+
+	/**
+	 * Gets the number of ticks between the times that each zombie thinks.
+	 *
+	 * @return the interval in ticks.
+	 */
+	public int getThinkInterval() {
+		return THINK_INTERVALS[this.level];
+	}
+
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Gets the average time of a tick during the last full window.
+	 *
+	 * @return the average tick time in nanoseconds.
+	 */
+	public long getAverageTickTime() {
+		return this.averageTickTime;
+	}
+
+	public int getNoOfChanges() {
+		return this.noOfChanges;
+	}
+
+	public String getLastChangeReason() {
+		return this.lastChangeReason;
+	}
+}
@@ -0,0 +1,201 @@
+package map;
+
+import java.util.Arrays;
+
+import entities.Entity;
+
+/**
+ * Uniform grid of 64x64 pixel cells used to find entities that are close to a
+ * point without checking every entity in the surrounding chunks.<br>
+ * The grid is rebuilt every tick: {@link #clear()} empties it and
+ * {@link #insert(Entity)} buckets each entity by its current position.
+ * The grid keeps a snapshot of each entity's position when it was inserted,
+ * and queries only read that snapshot. Entities can therefore move while the
+ * grid is being queried, and queries from several threads see the same
+ * positions.<br>
+ * Clearing, inserting and querying do not allocate once the grid has grown to
+ * fit the number of entities.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Map
+ * @since 1.0
+ * @version 1.0
+ */
+public class SpatialHash {
+	/**
+	 * The width and height of a cell in pixels.
+	 */
+	public static final int CELL_SIZE = 64;
+
+	/**
+	 * Callback used to visit the entities found by a query.
+	 */
+	public interface Visitor {
+		/**
+		 * Visits an entity found by a query.
+		 *
+		 * @param entity
+		 *            the entity found.
+		 * @param x
+		 *            the x coordinate of the entity when it was inserted.
+		 * @param y
+		 *            the y coordinate of the entity when it was inserted.
+		 */
+		public void visit(Entity entity, int x, int y);
+	}
+
+	private int columns;
+	private int rows;
+
+	/**
+	 * The first entry of each cell (-1 if the cell is empty).
+	 */
+	private int[] heads;
+
+	/**
+	 * The next entry in the same cell as each entry (-1 if it is the last).
+	 */
+	private int[] next;
+	private Entity[] entries;
+
+	/**
+	 * The position of each entry's entity when it was inserted.
+	 */
+	private int[] entryX;
+	private int[] entryY;
+	private int size;
+
+	/**
+	 * The cells that have entries, so that clearing only touches those cells.
+	 */
+	private int[] usedCells;
+	private int noOfUsedCells;
+
+	/**
+	 * Constructs a new SpatialHash object.
+	 *
+	 * @param width
+	 *            the width of the area covered in pixels.
+	 * @param height
+	 *            the height of the area covered in pixels.
+	 */
+	public SpatialHash(int width, int height) {
+		this.columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+		this.rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+		this.heads = new int[this.columns * this.rows];
+		Arrays.fill(this.heads, -1);
+
+		this.next = new int[64];
+		this.entries = new Entity[64];
+		this.entryX = new int[64];
+		this.entryY = new int[64];
+		this.usedCells = new int[64];
+	}
+
+	/**
+	 * Removes every entity from the grid.
+	 */
+	public void clear() {
+		for (int cell = 0; cell < this.noOfUsedCells; cell++) {
+			this.heads[this.usedCells[cell]] = -1;
+		}
+		Arrays.fill(this.entries, 0, this.size, null);
+		this.noOfUsedCells = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Adds an entity to the cell that contains its position.
+	 *
+	 * @param entity
+	 *            the entity to add.
+	 */
+	public void insert(Entity entity) {
+		if (this.size == this.entries.length) {
+			this.entries = Arrays.copyOf(this.entries, this.size * 2);
+			this.next = Arrays.copyOf(this.next, this.size * 2);
+			this.entryX = Arrays.copyOf(this.entryX, this.size * 2);
+			this.entryY = Arrays.copyOf(this.entryY, this.size * 2);
+			this.usedCells = Arrays.copyOf(this.usedCells, this.size * 2);
+		}
+
+		int x = entity.getX();
+		int y = entity.getY();
+		int cell = cellRow(y) * this.columns + cellColumn(x);
+		if (this.heads[cell] == -1) {
+			this.usedCells[this.noOfUsedCells++] = cell;
+		}
+		this.entries[this.size] = entity;
+		this.entryX[this.size] = x;
+		this.entryY[this.size] = y;
+		this.next[this.size] = this.heads[cell];
+		this.heads[cell] = this.size;
+		this.size++;
+	}
+
+	/**
+	 * Visits every entity whose inserted position is strictly within a radius
+	 * of a point. Queries do not change the grid, so they can run on several
+	 * threads at once.
+	 *
+	 * @param x
+	 *            the x coordinate of the point in pixels.
+	 * @param y
+	 *            the y coordinate of the point in pixels.
+	 * @param radius
+	 *            the radius in pixels.
+	 * @param visitor
+	 *            the callback to visit each entity found with.
+	 */
+	public void forEachWithin(int x, int y, int radius, Visitor visitor) {
+		int minColumn = cellColumn(x - radius);
+		int maxColumn = cellColumn(x + radius);
+		int minRow = cellRow(y - radius);
+		int maxRow = cellRow(y + radius);
+		int radiusSquared = radius * radius;
+
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				for (int entry = this.heads[row * this.columns + column]; entry != -1; entry = this.next[entry]) {
+					int dx = this.entryX[entry] - x;
+					int dy = this.entryY[entry] - y;
+					if (dx * dx + dy * dy < radiusSquared) {
+						visitor.visit(this.entries[entry], this.entryX[entry], this.entryY[entry]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of entities in the grid.
+	 *
+	 * @return the number of entities.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the column of the cell containing an x coordinate, clamped to the
+	 * grid.
+	 *
+	 * @param x
+	 *            the x coordinate in pixels.
+	 * @return the column of the cell.
+	 */
+	private int cellColumn(int x) {
+		return Math.min(Math.max(x / CELL_SIZE, 0), this.columns - 1);
+	}
+
+	/**
+	 * Gets the row of the cell containing a y coordinate, clamped to the grid.
+	 *
+	 * @param y
+	 *            the y coordinate in pixels.
+	 * @return the row of the cell.
+	 */
+	private int cellRow(int y) {
+		return Math.min(Math.max(y / CELL_SIZE, 0), this.rows - 1);
+	}
+}
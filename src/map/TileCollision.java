@@ -0,0 +1,192 @@
+package map;
+
+/**
+ * Tests boxes in world coordinates against the solid tiles of a map.<br>
+ * Boxes are checked directly against the solid bit of the tiles they overlap,
+ * so a 32x32 box only looks at two to four tiles and collisions do not depend
+ * on what has been rendered. Tiles outside of the map are not solid.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Map
+ * @since 1.0
+ * @version 1.0
+ */
+public class TileCollision {
+	/**
+	 * The width and height of a tile in pixels.
+	 */
+	public static final int TILE_SIZE = 32;
+
+	private short[][] tiles;
+
+	/**
+	 * Constructs a new TileCollision object.
+	 *
+	 * @param tiles
+	 *            the tiles of the map.
+	 */
+	public TileCollision(short[][] tiles) {
+		this.tiles = tiles;
+	}
+
+	/**
+	 * Checks if a tile is solid.
+	 *
+	 * @param tileX
+	 *            the column of the tile.
+	 * @param tileY
+	 *            the row of the tile.
+	 * @return whether or not the tile is solid. Returns false for tiles outside
+	 *         of the map.
+	 */
+	public boolean isSolid(int tileX, int tileY) {
+		if (tileX < 0 || tileY < 0 || tileX >= this.tiles.length || tileY >= this.tiles[0].length) {
+			return false;
+		}
+		return (this.tiles[tileX][tileY] & (1 << 14)) != 0;
+	}
+
+	/**
+	 * Checks if a box overlaps any solid tile.
+	 *
+	 * @param x
+	 *            the x coordinate of the box in pixels.
+	 * @param y
+	 *            the y coordinate of the box in pixels.
+	 * @param width
+	 *            the width of the box in pixels.
+	 * @param height
+	 *            the height of the box in pixels.
+	 * @return whether or not the box overlaps a solid tile.
+	 */
+	public boolean overlapsSolid(int x, int y, int width, int height) {
+		int maxTileX = Math.floorDiv(x + width - 1, TILE_SIZE);
+		int maxTileY = Math.floorDiv(y + height - 1, TILE_SIZE);
+		for (int tileX = Math.floorDiv(x, TILE_SIZE); tileX <= maxTileX; tileX++) {
+			for (int tileY = Math.floorDiv(y, TILE_SIZE); tileY <= maxTileY; tileY++) {
+				if (isSolid(tileX, tileY)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sweeps a box along the x axis and stops it at the first solid tile in
+	 * its way.
+	 *
+	 * @param x
+	 *            the x coordinate of the box in pixels.
+	 * @param y
+	 *            the y coordinate of the box in pixels.
+	 * @param width
+	 *            the width of the box in pixels.
+	 * @param height
+	 *            the height of the box in pixels.
+	 * @param dx
+	 *            the distance to move the box by in pixels.
+	 * @return the distance that the box can move by before touching a solid
+	 *         tile.
+	 */
+	public int sweepX(int x, int y, int width, int height, int dx) {
+		int minTileY = Math.floorDiv(y, TILE_SIZE);
+		int maxTileY = Math.floorDiv(y + height - 1, TILE_SIZE);
+		if (dx > 0) {
+			// Check the columns that the right edge enters, nearest first
+			int right = x + width - 1;
+			for (int tileX = Math.floorDiv(right, TILE_SIZE) + 1; tileX <= Math.floorDiv(right + dx, TILE_SIZE); tileX++) {
+				if (isSolidColumn(tileX, minTileY, maxTileY)) {
+					return tileX * TILE_SIZE - 1 - right;
+				}
+			}
+		} else if (dx < 0) {
+			// Check the columns that the left edge enters, nearest first
+			for (int tileX = Math.floorDiv(x, TILE_SIZE) - 1; tileX >= Math.floorDiv(x + dx, TILE_SIZE); tileX--) {
+				if (isSolidColumn(tileX, minTileY, maxTileY)) {
+					return (tileX + 1) * TILE_SIZE - x;
+				}
+			}
+		}
+		return dx;
+	}
+
+	/**
+	 * Sweeps a box along the y axis and stops it at the first solid tile in
+	 * its way.
+	 *
+	 * @param x
+	 *            the x coordinate of the box in pixels.
+	 * @param y
+	 *            the y coordinate of the box in pixels.
+	 * @param width
+	 *            the width of the box in pixels.
+	 * @param height
+	 *            the height of the box in pixels.
+	 * @param dy
+	 *            the distance to move the box by in pixels.
+	 * @return the distance that the box can move by before touching a solid
+	 *         tile.
+	 */
+	public int sweepY(int x, int y, int width, int height, int dy) {
+		int minTileX = Math.floorDiv(x, TILE_SIZE);
+		int maxTileX = Math.floorDiv(x + width - 1, TILE_SIZE);
+		if (dy > 0) {
+			// Check the rows that the bottom edge enters, nearest first
+			int bottom = y + height - 1;
+			for (int tileY = Math.floorDiv(bottom, TILE_SIZE) + 1; tileY <= Math.floorDiv(bottom + dy, TILE_SIZE); tileY++) {
+				if (isSolidRow(tileY, minTileX, maxTileX)) {
+					return tileY * TILE_SIZE - 1 - bottom;
+				}
+			}
+		} else if (dy < 0) {
+			// Check the rows that the top edge enters, nearest first
+			for (int tileY = Math.floorDiv(y, TILE_SIZE) - 1; tileY >= Math.floorDiv(y + dy, TILE_SIZE); tileY--) {
+				if (isSolidRow(tileY, minTileX, maxTileX)) {
+					return (tileY + 1) * TILE_SIZE - y;
+				}
+			}
+		}
+		return dy;
+	}
+
+	/**
+	 * Checks if any tile in part of a column is solid.
+	 *
+	 * @param tileX
+	 *            the column.
+	 * @param minTileY
+	 *            the first row (inclusive).
+	 * @param maxTileY
+	 *            the last row (inclusive).
+	 * @return whether or not a tile is solid.
+	 */
+	private boolean isSolidColumn(int tileX, int minTileY, int maxTileY) {
+		for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+			if (isSolid(tileX, tileY)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if any tile in part of a row is solid.
+	 *
+	 * @param tileY
+	 *            the row.
+	 * @param minTileX
+	 *            the first column (inclusive).
+	 * @param maxTileX
+	 *            the last column (inclusive).
+	 * @return whether or not a tile is solid.
+	 */
+	private boolean isSolidRow(int tileY, int minTileX, int maxTileX) {
+		for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+			if (isSolid(tileX, tileY)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
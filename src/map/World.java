@@ -1,17 +1,9 @@
 package map;
 
-import java.awt.AlphaComposite;
 import java.awt.Color;
-import java.awt.Composite;
 import java.awt.FontMetrics;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
-import java.awt.geom.AffineTransform;
-import java.util.ArrayList;
-import java.util.ListIterator;
 
 import entities.Entity;
 import entities.Inventory;
@@ -33,33 +25,82 @@ import utilities.MouseHandler;
 public class World {
 	private Game game;
 	private Player player;
-	private AffineTransform originalTransform;
 	private GameCamera camera;
 	private MouseHandler mouse;
 	private int width;
 	private int height;
 	private Item hoverItem;
 
-	private ArrayList<Entity> entitiesDamaged;
-	private ArrayList<Integer> damage;
-	private ArrayList<Long> damageTicks;
+	/**
+	 * The most damage indicators shown at once. Once there are more, the
+	 * oldest indicator is replaced.
+	 */
+	private static final int MAX_DAMAGE_INDICATORS = 64;
+
+	/**
+	 * The number of ticks that a damage indicator is shown for.
+	 */
+	private static final int DAMAGE_INDICATOR_TICKS = 90;
+
+	/**
+	 * The colour of a damage indicator on each tick that it is shown, fading
+	 * out as time goes on.
+	 */
+	private static final Color[] DAMAGE_COLOURS = new Color[DAMAGE_INDICATOR_TICKS];
+	static {
+		for (int tick = 0; tick < DAMAGE_INDICATOR_TICKS; tick++) {
+			DAMAGE_COLOURS[tick] = new Color(200, 200, 200, 255 - tick * 2);
+		}
+	}
+
+	/**
+	 * The text of each damage amount below 1000, created the first time the
+	 * amount is shown.
+	 */
+	private static final String[] DAMAGE_LABELS = new String[1000];
+
+	/**
+	 * A ring buffer of the damage indicators being shown, oldest first: the
+	 * handles of the entities damaged, the last known positions of those
+	 * entities, the damage dealt and the tick of the damage. Entities that
+	 * have been killed keep their indicator at the position they died in.
+	 */
+	private int[] damagedHandles;
+	private int[] damageX;
+	private int[] damageY;
+	private int[] damage;
+	private long[] damageTicks;
+	private int firstDamage;
+	private int noOfDamages;
+
+	/**
+	 * The colours drawn every frame, created once so that rendering does not
+	 * allocate them.
+	 */
+	private static final Color NIGHT = new Color(0f, 0f, 0f, .6f);
+	private static final Color LABEL_BACKGROUND = new Color(100, 100, 100, 150);
 
 	private Map map;
-	private short[][] baseTiles;
-	private short[][] upperTiles;
 	private Chunk[][] chunkMap;
-	private Rectangle[][] solidTiles;
+
+	/**
+	 * The buffer that the tiles under the player are scrolled in.
+	 */
+	private ScrollingBackground background;
+
+	/**
+	 * The camera's offset in the last snapshot that the world was captured in.
+	 */
+	private float capturedCameraX;
+	private float capturedCameraY;
+	private long capturedTick = -1;
+
+	/**
+	 * The area of the checkpoint flag in the map in terms of pixels (null if
+	 * the map has no flag).
+	 */
 	private Rectangle flag;
 
-	// Controls what is being rendered
-	private int row;
-	private int col;
-	private final int renderControl = 32;
-	private float previousXOffset;
-	private float previousYOffset;
-	private int yChange;
-	private int xChange;
-	private boolean initializeOffset;
 
 	/**
 	 * Constructs a new World object.
@@ -79,338 +120,180 @@ public class World {
 		// Try to generate the map
 		map = new Map(mapWidth, mapHeight, this.game);
 		chunkMap = map.getChunkMap();
-
-		// Gets the tiles that are rendered below the player
-		baseTiles = map.getMap();
-
-		// Gets the tiles that are rendered above the player
-		upperTiles = map.getUpperTileMap();
+		background = new ScrollingBackground(map.getChunkImageCache());
 
 		// Spawns the player in the map
 		if (inventory == null)
 			player = new Player(
-					new Point((int) map.getPlayerCoordinate().getX() * 32, (int) map.getPlayerCoordinate().getY() * 32),
-					null, true, game, map, (int) Math.floor((Math.random() * 6)));
+					(int) map.getPlayerCoordinate().getX() * 32, (int) map.getPlayerCoordinate().getY() * 32,
+					null, true, game, map, (int) Math.floor((map.getRandom().nextDouble() * 6)));
 		else {
 			player = new Player(
-					new Point((int) map.getPlayerCoordinate().getX() * 32, (int) map.getPlayerCoordinate().getY() * 32),
+					(int) map.getPlayerCoordinate().getX() * 32, (int) map.getPlayerCoordinate().getY() * 32,
 					inventory, true, game, map, skinNo);
 		}
 		// Sets the player's image
 		player.setImages(game.getPlayerImages()[0]);
 
-		// Creates rectangles which will be used for collisions
-		solidTiles = new Rectangle[26][34];
+		// Gives the player a handle so that it can be referred to like the
+		// entities in chunks
+		map.getEntityRegistry().register(player);
+
+		// Creates the rectangle used to check if the player reached the flag
+		if (map.getFlagLocation() != null) {
+			flag = new Rectangle(map.getFlagLocation().x * Assets.TILE_WIDTH,
+					map.getFlagLocation().y * Assets.TILE_HEIGHT, Assets.TILE_WIDTH, Assets.TILE_HEIGHT);
+		}
 
 		// Saves various references to objects that will be used
 		this.camera = game.getCamera();
 		this.mouse = game.getDisplay().getMouseHandler();
 
-		this.entitiesDamaged = new ArrayList<Entity>();
-		this.damage = new ArrayList<Integer>();
-		this.damageTicks = new ArrayList<Long>();
+		this.damagedHandles = new int[MAX_DAMAGE_INDICATORS];
+		this.damageX = new int[MAX_DAMAGE_INDICATORS];
+		this.damageY = new int[MAX_DAMAGE_INDICATORS];
+		this.damage = new int[MAX_DAMAGE_INDICATORS];
+		this.damageTicks = new long[MAX_DAMAGE_INDICATORS];
 	}
 
 	/**
-	 * Renders the world
+	 * Adds the world to the snapshot of the tick to be drawn.
 	 * 
-	 * @param g
-	 *            the graphics object used to render to the screen
+	 * @param snapshot
+	 *            the snapshot being filled.
 	 */
-	public void render(Graphics g) {
-		// Initializes the offsets of the map
-		if (!initializeOffset) {
-			initializeOffsets();
-			initializeOffset = true;
-
-		}
-
-		// Converts the graphics object to graphics 2D so we can use methods in
-		// graphics 2D
-		Graphics2D g2D = (Graphics2D) g;
-
-		g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-		// Sets the original transformation of the map without any rotations
-		if (originalTransform == null) {
-			originalTransform = g2D.getTransform();
-		}
-
-		// Renders the part of the map that is below the player
-		renderLower(g2D);
-		// Updates the map being rendered based on the player's movement
-		updateMapOffset();
-		g2D.setTransform(originalTransform);
-
+	public void capture(RenderSnapshot snapshot) {
 		// Find chunk player is located in
-		int chunkX = Math.max((int) player.getPosition().getX() / 512, 2);
-		int chunkY = Math.max((int) player.getPosition().getY() / 512, 2);
-
-		// Cycle through a 5x5 chunk area around the player to render
-		for (int x = chunkX - 2; x < Math.min(chunkX + 3, map.getWidth() / 16); x++) {
-			for (int y = chunkY - 2; y < Math.min(chunkY + 3, map.getHeight() / 16); y++) {
-				// Render all items
+		int chunkX = Math.max(player.getX() / 512, 2);
+		int chunkY = Math.max(player.getY() / 512, 2);
+
+		int maxChunkX = Math.min(chunkX + 3, map.getWidth() / 16);
+		int maxChunkY = Math.min(chunkY + 3, map.getHeight() / 16);
+
+		// The tiles and the corpses stamped onto the ground
+		snapshot.setWorld(map, background, chunkX - 2, maxChunkX, chunkY - 2, maxChunkY);
+
+		// Move the camera from where it was in the last snapshot, unless it
+		// jumped
+		float xOffset = camera.getxOffset();
+		float yOffset = camera.getyOffset();
+		if (snapshot.follows(capturedTick)
+				&& RenderSnapshot.isStep(capturedCameraX, capturedCameraY, xOffset, yOffset)) {
+			snapshot.setCamera(capturedCameraX, capturedCameraY, xOffset, yOffset);
+		} else {
+			snapshot.setCamera(xOffset, yOffset, xOffset, yOffset);
+		}
+		capturedCameraX = xOffset;
+		capturedCameraY = yOffset;
+		capturedTick = snapshot.getTick();
+
+		// Cycle through a 5x5 chunk area around the player to capture
+		for (int x = chunkX - 2; x < maxChunkX; x++) {
+			for (int y = chunkY - 2; y < maxChunkY; y++) {
+				// Skip chunks with nothing to capture
+				if (chunkMap[x][y].isEmpty()) {
+					continue;
+				}
 
+				// Capture all items
 				for (int i = 0; i < chunkMap[x][y].getItems().size(); i++) {
 					Item item = chunkMap[x][y].getItems().get(i);
-					item.render(g);
+					item.capture(snapshot, item == this.hoverItem);
 				}
-				// Render all passible entities
+				// Capture all passible entities
 				for (int i = 0; i < chunkMap[x][y].getPassibleEntities().size(); i++) {
 					Entity entity = chunkMap[x][y].getPassibleEntities().get(i);
-					entity.render(g);
+					entity.capture(snapshot);
 				}
-				// Render all sold entities
+				// Capture all sold entities
 				for (int i = 0; i < chunkMap[x][y].getSolidEntities().size(); i++) {
 					Entity entity = chunkMap[x][y].getSolidEntities().get(i);
-					entity.render(g);
+					entity.capture(snapshot);
 				}
-				// Render all zombies
+				// Capture all zombies
 				for (int i = 0; i < chunkMap[x][y].getZombies().size(); i++) {
 					Zombie zombie = chunkMap[x][y].getZombies().get(i);
-					zombie.render(g);
+					zombie.capture(snapshot);
 				}
 			}
 		}
-		g2D.setTransform(originalTransform);
-		// Renders the player
-		player.render(g2D);
-		// Renders the upper layer of tiles over the player (such as the trees)
-		renderUpper(g2D);
+		// Captures the player
+		player.capture(snapshot);
+	}
 
+	/**
+	 * Adds what is drawn over the world to the snapshot: the night, the labels,
+	 * the damage indicators and the blood outline. Must be captured after
+	 * {@link #capture(RenderSnapshot)}, so that the damage indicators move
+	 * with their entities.
+	 * 
+	 * @param snapshot
+	 *            the snapshot being filled.
+	 */
+	public void captureOverlay(RenderSnapshot snapshot) {
 		// Makes the map darker to simulate night
-		g2D.setTransform(originalTransform);
-		g2D.setColor(new Color(0f, 0f, 0f, .6f));
-		g2D.fillRect(0, 0, game.getDisplay().getFrame().getWidth(), game.getDisplay().getFrame().getHeight());
+		snapshot.setColor(NIGHT);
+		snapshot.fillRect(0, 0, game.getDisplay().getWidth(), game.getDisplay().getHeight());
 
-		g2D.setFont(this.game.getUiFontXS());
+		snapshot.setFont(this.game.getUiFontXS());
 
 		// Update the item that is currently being hovered over
 		this.hoverItem = this.hoverItem();
 
 		// Render the item's label if there is something being hovered over
 		if (this.hoverItem != null) {
-			FontMetrics fm = g.getFontMetrics();
+			FontMetrics fm = snapshot.getFontMetrics();
+			int nameWidth = fm.stringWidth(this.hoverItem.getName());
 
-			// Draw a rectangle above the item relative to the camera
-			g.setColor(new Color(100, 100, 100, 150));
-			g.fillRect(
-					(int) (this.hoverItem.getPosition().x - camera.getxOffset()) + 15
-							- fm.stringWidth(this.hoverItem.getName()) / 2 - 15,
-					(int) (this.hoverItem.getPosition().y - camera.getyOffset()) - 30,
-					fm.stringWidth(this.hoverItem.getName()) + 30, 20);
+			// Draw a rectangle above the item
+			snapshot.setMotion(this.hoverItem.getX(), this.hoverItem.getY(), 0, this.hoverItem.getX(),
+					this.hoverItem.getY(), 0);
+			snapshot.setColor(LABEL_BACKGROUND);
+			snapshot.addFilledRect(-nameWidth / 2, -30, nameWidth + 30, 20);
 
 			// Draw the item's name in the rectangle depending on its rarity
-			g.setColor(this.hoverItem.getColour());
-			g.drawString(this.hoverItem.getName(),
-					(int) (this.hoverItem.getPosition().x - camera.getxOffset()) + 15
-							- fm.stringWidth(this.hoverItem.getName()) / 2,
-					(int) (this.hoverItem.getPosition().y - camera.getyOffset()) - 15);
+			snapshot.setColor(this.hoverItem.getColour());
+			snapshot.addText(this.hoverItem.getName(), 15 - nameWidth / 2, -15);
+		}
+
+		// Remove the damage indicators that have been shown for 90 ticks,
+		// which are always the oldest
+		long currentTick = game.getTickCount();
+		while (this.noOfDamages > 0
+				&& currentTick - this.damageTicks[this.firstDamage] >= DAMAGE_INDICATOR_TICKS) {
+			this.firstDamage = (this.firstDamage + 1) % MAX_DAMAGE_INDICATORS;
+			this.noOfDamages--;
 		}
 
 		// Go through each entity that is still being damaged (for damage
 		// indicators)
-		for (int entity = 0; entity < this.entitiesDamaged.size(); entity++) {
-			// Make sure that it's within 90 ticks of when the entity was first
-			// damaged
-			long currentTick = game.getTickCount();
-			long difference = currentTick - this.damageTicks.get(entity);
-			if (difference < 90) {
-				// Draw a damage indicator that becomes more transparent as time
-				// goes on
-				g.setColor(new Color(200, 200, 200, (int) (255 - difference * 2)));
-				g.drawString(this.damage.get(entity).toString(),
-						(int) (this.entitiesDamaged.get(entity).getPosition().x - camera.getxOffset()) + 16,
-						(int) (this.entitiesDamaged.get(entity).getPosition().y - camera.getyOffset()) - 32
-								- (int) (difference / 5));
-				g.setColor(Color.BLACK);
+		for (int i = 0; i < this.noOfDamages; i++) {
+			int entity = (this.firstDamage + i) % MAX_DAMAGE_INDICATORS;
+			int difference = (int) (currentTick - this.damageTicks[entity]);
+
+			// Follow the entity if it is still alive, moving with it between
+			// ticks
+			Entity damagedEntity = map.getEntityRegistry().get(this.damagedHandles[entity]);
+			if (damagedEntity != null) {
+				this.damageX[entity] = damagedEntity.getX();
+				this.damageY[entity] = damagedEntity.getY();
+				damagedEntity.captureFollowing(snapshot);
 			} else {
-				// If 90 ticks have passed, remove the entity from the
-				// list/queue and its accompanying data
-				this.entitiesDamaged.remove(entity);
-				this.damage.remove(entity);
-				this.damageTicks.remove(entity);
+				snapshot.setMotion(this.damageX[entity], this.damageY[entity], 0, this.damageX[entity],
+						this.damageY[entity], 0);
 			}
+
+			// Draw a damage indicator that becomes more transparent as time
+			// goes on
+			snapshot.setColor(DAMAGE_COLOURS[difference]);
+			snapshot.addText(damageLabel(this.damage[entity]), 16, -32 - difference / 5);
 		}
 
 		// Draw a blood outline on the screen depending on how badly damaged the
 		// player is
-		if (player.getHealth() >= 0) {
-			Composite original = g2D.getComposite();
+		if (player.getHealth() >= 0 && player.getHealth() < 100) {
 			float transparency = (float) ((100.0 - player.getHealth()) / 100);
-			g2D.setComposite(AlphaComposite.SrcOver.derive(transparency));
-			g.drawImage(game.getBloodVisual(), 0, 0, null);
-			g2D.setComposite(original);
-		}
-	}
-
-	/**
-	 * Initializes the offsets for the map.
-	 */
-	private void initializeOffsets() {
-		camera.centerOnEntity(player);
-		while ((camera.getxOffset() - xChange) >= renderControl) {
-			col++;
-			xChange += renderControl;
-		}
-		while ((camera.getyOffset() - yChange) >= renderControl) {
-			row++;
-			yChange += renderControl;
-		}
-	}
-
-	/**
-	 * Updates the map offsets based on the player's movement to keep the player
-	 * in the map.
-	 */
-	private void updateMapOffset() {
-		// Updates the x offset of the map
-		if (previousXOffset < camera.getxOffset()) {
-			if (xChange < 0) {
-				xChange = -xChange;
-			} else {
-				if ((camera.getxOffset() - xChange) >= renderControl) {
-					col++;
-					xChange += renderControl;
-				}
-			}
-		} else if (previousXOffset > camera.getxOffset()) {
-			if (xChange > 0) {
-				if ((camera.getxOffset() - xChange) <= -(renderControl - 31)) {
-					col--;
-					xChange -= renderControl;
-				}
-			}
-		}
-		// Updates the y offset of the map
-		if (previousYOffset < camera.getyOffset()) {
-			if (yChange < 0) {
-				yChange = -yChange;
-			} else {
-				if ((camera.getyOffset() - yChange) >= renderControl) {
-					row++;
-					yChange += renderControl;
-				}
-			}
-		} else if (previousYOffset > camera.getyOffset()) {
-			if (yChange > 0) {
-				if ((camera.getyOffset() - yChange) <= -(renderControl - 31)) {
-					row--;
-					yChange -= renderControl;
-				}
-			}
-
-		}
-		// Stores the previous offsets
-		previousXOffset = camera.getxOffset();
-		previousYOffset = camera.getyOffset();
-	}
-
-	/**
-	 * Renders the part of the map under the player.
-	 * 
-	 * @param g2D
-	 *            the graphics 2D object.
-	 */
-	private void renderLower(Graphics2D g2D) {
-		int tileY = 0;
-		int tileX = 0;
-		for (int i = row; i < row + 26; i++) {
-			tileX = 0;
-			for (int j = col; j < col + 34; j++) {
-				if (j >= baseTiles[0].length || i >= baseTiles.length) {
-					break;
-				}
-				g2D.setTransform(originalTransform);
-				// Rotates the tiles 180 decrease
-				if ((baseTiles[j][i] & (1 << 12)) != 0 && ((baseTiles[j][i] & (1 << 13)) != 0)) {
-					g2D.rotate(Math.toRadians(180),
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange + Assets.TILE_WIDTH / 2,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange
-									+ Assets.TILE_HEIGHT / 2));
-				}
-				// Rotates the tile 90 degrees
-				else if ((baseTiles[j][i] & (1 << 12)) != 0) {
-					g2D.rotate(Math.toRadians(90),
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange + Assets.TILE_WIDTH / 2,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange
-									+ Assets.TILE_HEIGHT / 2));
-				} else if ((baseTiles[j][i] & (1 << 13)) != 0) {
-					// Rotates the tiles 270 degrees
-					g2D.rotate(Math.toRadians(-90),
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange + Assets.TILE_WIDTH / 2,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange
-									+ Assets.TILE_HEIGHT / 2));
-				}
-				if ((baseTiles[j][i] & (1 << 14)) != 0) {
-					// Sets the collision tiles which are solid
-					solidTiles[tileY][tileX] = new Rectangle(
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange), Assets.TILE_WIDTH,
-							Assets.TILE_HEIGHT);
-				} else {
-					solidTiles[tileY][tileX] = null;
-				}
-				// Gets the tile ID
-				int id = (baseTiles[j][i] & 0xFFF);
-				// Draws the tile to the screen
-				g2D.drawImage(game.getTileImages()[(id / 100) - 1][(id % 100)],
-						(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange,
-						(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange), null);
-
-				// Special collision rectangle for the checkpoint
-				if (id == 211) {
-					flag = new Rectangle((int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange), Assets.TILE_WIDTH,
-							Assets.TILE_HEIGHT);
-				}
-				tileX++;
-			}
-			tileY++;
-		}
-	}
-
-	/**
-	 * Render the part of the map over the player.
-	 * 
-	 * @param g2D
-	 *            the graphics 2D object used to draw everything.
-	 */
-	private void renderUpper(Graphics2D g2D) {
-		int tileY = 0;
-		int tileX = 0;
-		for (int i = row; i < row + 26; i++) {
-			tileX = 0;
-			for (int j = col; j < col + 34; j++) {
-				if (j >= upperTiles[0].length || i >= upperTiles.length) {
-					break;
-				}
-				g2D.setTransform(originalTransform);
-				if ((upperTiles[j][i] & (1 << 12)) != 0 && ((upperTiles[j][i] & (1 << 13)) != 0)) {
-					g2D.rotate(Math.toRadians(180),
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange + 16,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange + 16));
-				}
-
-				else if ((upperTiles[j][i] & (1 << 12)) != 0) {
-					g2D.rotate(Math.toRadians(90),
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange + 16,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange + 16));
-				} else if ((upperTiles[j][i] & (1 << 13)) != 0) {
-					g2D.rotate(Math.toRadians(-90),
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange + 16,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange + 16));
-				}
-				// Gets the tile id
-				int id = (upperTiles[j][i] & 0xFFF);
-				// Draws the tile to the screen
-				if (id != 0)
-					g2D.drawImage(game.getTileImages()[(id / 100) - 1][(id % 100)],
-							(int) (tileX * Assets.TILE_WIDTH - camera.getxOffset()) + xChange,
-							(int) (tileY * Assets.TILE_HEIGHT - camera.getyOffset() + yChange), null);
-				tileX++;
-			}
-			tileY++;
+			snapshot.drawImage(game.getBloodVisual(), 0, 0, transparency);
 		}
 	}
 
@@ -420,44 +303,20 @@ public class World {
 	 * @return the item currently being hovered over.
 	 */
 	public Item hoverItem() {
-		// Go through each chunk around the player
-		int chunkX = Math.max((int) player.getPosition().getX() / 512, 2);
-		int chunkY = Math.max((int) player.getPosition().getY() / 512, 2);
-		for (int x = chunkX - 2; x < Math.min(chunkX + 3, map.getWidth() / 16); x++) {
-			for (int y = chunkY - 2; y < Math.min(chunkY + 3, map.getHeight() / 16); y++) {
-				// Go through each item in the chunk backwards (to find the
-				// uppermost item)
-				for (ListIterator<Item> iterator = chunkMap[x][y].getItems()
-						.listIterator(chunkMap[x][y].getItems().size()); iterator.hasPrevious();) {
-					Item item = iterator.previous();
-
-					// Check if the mouse is hovering over the item and the
-					// player is within 8 blocks
-					// Otherwise, check if the player is standing on top of the
-					// item
-					// Set the field hover of the item that is being hovered
-					// over to true
-					// Otherwise, the item is not being hovered over and set it
-					// to false
-					Rectangle itemHitbox = new Rectangle((int) (item.getPosition().x - camera.getxOffset()),
-							(int) (item.getPosition().y - camera.getyOffset()), 32, 32);
-					if (itemHitbox.contains(mouse.getMouseLocation()) && Point.distance(player.getPosition().x,
-							player.getPosition().y, item.getPosition().x, item.getPosition().y) <= 256) {
-						item.setHover(true);
-						return item;
-					} else if (itemHitbox.intersects(new Rectangle((int) (player.getPosition().x - camera.getxOffset()),
-							(int) (player.getPosition().y - camera.getyOffset()), 32, 32))) {
-						item.setHover(true);
-						return item;
-					} else {
-						item.setHover(false);
-					}
-				}
-			}
+		ItemIndex items = map.getItemIndex();
+
+		// Check if the mouse is hovering over an item and the player is within
+		// 8 blocks
+		Point mouseLocation = mouse.getMouseLocation();
+		Item item = items.queryPoint((int) (mouseLocation.x + camera.getxOffset()),
+				(int) (mouseLocation.y + camera.getyOffset()));
+		if (item != null && Point.distance(player.getX(), player.getY(), item.getX(), item.getY()) <= 256) {
+			return item;
 		}
 
-		// If nothing is being hovered over, return null
-		return null;
+		// Otherwise, check if the player is standing on top of an item
+		// If nothing is being hovered over, this returns null
+		return items.queryRect(player.getX(), player.getY(), 32, 32);
 	}
 
 	/**
@@ -469,11 +328,38 @@ public class World {
 	 *            the entity damaged.
 	 */
 	public void damage(int damage, Entity entity) {
+		// Replace the oldest indicator if there is no room for another
+		if (this.noOfDamages == MAX_DAMAGE_INDICATORS) {
+			this.firstDamage = (this.firstDamage + 1) % MAX_DAMAGE_INDICATORS;
+			this.noOfDamages--;
+		}
+
 		// Add the entity, the health decrease, and the tick that the damage
-		// happened to each respective list
-		this.entitiesDamaged.add(entity);
-		this.damage.add(damage);
-		this.damageTicks.add(this.game.getTickCount());
+		// happened after the newest indicator
+		int index = (this.firstDamage + this.noOfDamages) % MAX_DAMAGE_INDICATORS;
+		this.damagedHandles[index] = entity.getHandle();
+		this.damageX[index] = entity.getX();
+		this.damageY[index] = entity.getY();
+		this.damage[index] = damage;
+		this.damageTicks[index] = this.game.getTickCount();
+		this.noOfDamages++;
+	}
+
+	/**
+	 * Gets the text shown by a damage indicator.
+	 * 
+	 * @param damage
+	 *            the damage dealt.
+	 * @return the damage as text.
+	 */
+	private static String damageLabel(int damage) {
+		if (damage < 0 || damage >= DAMAGE_LABELS.length) {
+			return Integer.toString(damage);
+		}
+		if (DAMAGE_LABELS[damage] == null) {
+			DAMAGE_LABELS[damage] = Integer.toString(damage);
+		}
+		return DAMAGE_LABELS[damage];
 	}
 
 	public Item getHoverItem() {
@@ -499,8 +385,4 @@ public class World {
 	public Map getMap() {
 		return this.map;
 	}
-
-	public Rectangle[][] getSolid() {
-		return this.solidTiles;
-	}
 }
\ No newline at end of file
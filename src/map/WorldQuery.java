@@ -0,0 +1,86 @@
+package map;
+
+import entities.Zombie;
+
+/**
+ * Answers queries about what is inside an area of a map.<br>
+ * Queries only look at the chunks that the area touches and use integer
+ * arithmetic, and they do not allocate.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see Map
+ * @since 1.0
+ * @version 1.0
+ */
+public class WorldQuery {
+	/**
+	 * The width and height of a chunk in pixels.
+	 */
+	public static final int CHUNK_SIZE = 512;
+
+	/**
+	 * Callback used to visit the zombies found by a query.
+	 */
+	public interface ZombieVisitor {
+		/**
+		 * Visits a zombie found by a query.
+		 *
+		 * @param zombie
+		 *            the zombie found.
+		 */
+		public void visit(Zombie zombie);
+	}
+
+	private Chunk[][] chunkMap;
+
+	/**
+	 * Constructs a new WorldQuery object.
+	 *
+	 * @param chunkMap
+	 *            the chunks of the map to query.
+	 */
+	public WorldQuery(Chunk[][] chunkMap) {
+		this.chunkMap = chunkMap;
+	}
+
+	/**
+	 * Visits every zombie whose position is strictly within a radius of a
+	 * point.<br>
+	 * Zombies must not be added to or removed from the chunks while the query
+	 * is running.
+	 *
+	 * @param x
+	 *            the x coordinate of the point in pixels.
+	 * @param y
+	 *            the y coordinate of the point in pixels.
+	 * @param radius
+	 *            the radius in pixels.
+	 * @param visitor
+	 *            the callback to visit each zombie found with.
+	 */
+	public void forEachZombieWithin(int x, int y, int radius, ZombieVisitor visitor) {
+		// Only check the chunks that the bounding box of the circle touches
+		int minChunkX = Math.max(Math.floorDiv(x - radius, CHUNK_SIZE), 0);
+		int maxChunkX = Math.min(Math.floorDiv(x + radius, CHUNK_SIZE), this.chunkMap.length - 1);
+		int minChunkY = Math.max(Math.floorDiv(y - radius, CHUNK_SIZE), 0);
+		int maxChunkY = Math.min(Math.floorDiv(y + radius, CHUNK_SIZE), this.chunkMap[0].length - 1);
+		long radiusSquared = (long) radius * radius;
+
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+				if (!this.chunkMap[chunkX][chunkY].hasZombies()) {
+					continue;
+				}
+				EntityList<Zombie> zombies = this.chunkMap[chunkX][chunkY].getZombies();
+				for (int i = 0; i < zombies.size(); i++) {
+					Zombie zombie = zombies.get(i);
+					long dx = zombie.getX() - x;
+					long dy = zombie.getY() - y;
+					if (dx * dx + dy * dy < radiusSquared) {
+						visitor.visit(zombie);
+					}
+				}
+			}
+		}
+	}
+}
@@ -1,9 +1,8 @@
 package utilities;
 
-import javax.swing.JFrame;
-
 import main.Game;
 import entities.Entity;
+import gui.Display;
 import gui.GameScreen;
 
 /**
@@ -14,7 +13,7 @@ import gui.GameScreen;
  */
 public class GameCamera {
 	private float xOffset, yOffset;
-	private JFrame frame;
+	private Display display;
 	private GameScreen panel;
 
 	/**
@@ -30,7 +29,7 @@ public class GameCamera {
 	public GameCamera(Game game, float xOffset, float yOffset) {
 		this.xOffset = xOffset;
 		this.yOffset = yOffset;
-		this.frame = game.getDisplay().getFrame();
+		this.display = game.getDisplay();
 		this.panel = game.getDisplay().getGameScreen();
 	}
 
@@ -42,25 +41,25 @@ public class GameCamera {
 	 */
 	public void centerOnEntity(Entity entity) {
 		// Calculates the amount to offset based on the player's position
-		xOffset = (float) (entity.getPosition().getX() - frame.getWidth() / 2 + Assets.TILE_WIDTH / 2);
-		yOffset = (float) (entity.getPosition().getY() - frame.getHeight() / 2 + Assets.TILE_HEIGHT / 2);
+		xOffset = (float) (entity.getX() - display.getWidth() / 2 + Assets.TILE_WIDTH / 2);
+		yOffset = (float) (entity.getY() - display.getHeight() / 2 + Assets.TILE_HEIGHT / 2);
 		// Checks the boundaries to ensure that the y offset doesn't set the
 		// camera off the screen
 		if (xOffset < 0) {
 			xOffset = 0;
 		} else if (xOffset > panel.getWorld().getWidth() * Assets.TILE_WIDTH
-				- frame.getWidth()) {
+				- display.getWidth()) {
 			xOffset = panel.getWorld().getWidth() * Assets.TILE_WIDTH
-					- frame.getWidth();
+					- display.getWidth();
 		}
 		// Checks the boundaries to ensure that the x offset doesn't set the
 		// camera off the screen
 		if (yOffset < 0) {
 			yOffset = 0;
 		} else if (yOffset > panel.getWorld().getHeight() * Assets.TILE_HEIGHT
-				- frame.getHeight()) {
+				- display.getHeight()) {
 			yOffset = panel.getWorld().getHeight() * Assets.TILE_HEIGHT
-					- frame.getHeight();
+					- display.getHeight();
 		}
 	}
 
@@ -1,5 +1,9 @@
 package utilities;
 
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -15,7 +19,7 @@ import javax.imageio.ImageIO;
  */
 public class ImageLoader {
 	/**
-	 * Loads in an image.
+	 * Loads in an image, converted to the format of the screen.
 	 * 
 	 * @param path
 	 *            location of the image.
@@ -24,7 +28,7 @@ public class ImageLoader {
 	public static BufferedImage loadImage(String path) {
 		// In case of errors (e.g. image not found)
 		try {
-			return ImageIO.read(new File(path));
+			return toCompatibleImage(ImageIO.read(new File(path)));
 		} catch (IOException e) {
 			e.printStackTrace();
 			// Do not run the game if images are not loaded properly
@@ -32,4 +36,41 @@ public class ImageLoader {
 		}
 		return null;
 	}
+
+	/**
+	 * Creates a transparent image in the format of the screen, so that
+	 * drawing it does not need to convert its pixels. When running headless,
+	 * an INT_ARGB image is created instead.
+	 * 
+	 * @param width
+	 *            the width of the image in pixels.
+	 * @param height
+	 *            the height of the image in pixels.
+	 * @return the image.
+	 */
+	public static BufferedImage createCompatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
+	/**
+	 * Copies an image into a new image in the format of the screen. Images
+	 * decoded from files are often indexed or of a custom type, which are
+	 * converted pixel by pixel every time they are drawn.
+	 * 
+	 * @param image
+	 *            the image to copy.
+	 * @return the copy.
+	 */
+	public static BufferedImage toCompatibleImage(BufferedImage image) {
+		BufferedImage copy = createCompatibleImage(image.getWidth(), image.getHeight());
+		Graphics2D g2D = copy.createGraphics();
+		g2D.setComposite(AlphaComposite.Src);
+		g2D.drawImage(image, 0, 0, null);
+		g2D.dispose();
+		return copy;
+	}
 }
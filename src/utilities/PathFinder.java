@@ -44,6 +44,18 @@ public class PathFinder {
 		}
 	}
 
+	/**
+	 * Reads whether a tile is solid again after it has been changed
+	 * 
+	 * @param x
+	 *            Tile x coordinate
+	 * @param y
+	 *            Tile y coordinate
+	 */
+	public void updateTile(int x, int y) {
+		this.tiles[y][x] = ((this.tileMap[x][y] & (1 << 14)) != 0);
+	}
+
 	/**
 	 * Finds path based on starting and ending points
 	 * 
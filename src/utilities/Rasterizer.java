@@ -0,0 +1,302 @@
+package utilities;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.util.Arrays;
+import java.util.WeakHashMap;
+
+/**
+ * Software renderer that draws images straight into the pixels of a frame.<br>
+ * Every Java2D draw call sets up its transform, composite and clip before it
+ * copies any pixels, which adds up with hundreds of sprites a frame. The
+ * rasterizer instead blends the pixels of each image into the
+ * {@code int[]} behind an INT_ARGB frame with plain loops, and the finished
+ * frame is shown with a single image draw. Rotated sprites come from the
+ * frames of the {@link SpriteCache}. Text is the one thing still drawn by
+ * Java2D, into the same frame.
+ * <p>
+ * Images that are INT_ARGB and own their whole pixel array (such as the
+ * decal and overlay images) are read directly, so changes to them are seen.
+ * Any other image is converted to INT_ARGB the first time it is drawn and
+ * the copy is kept, so those images must not change after they are first
+ * drawn. Reading an image's pixels directly stops Java2D from accelerating
+ * it, so the rasterizer should only be used in place of Java2D, not
+ * alongside it.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @see SpriteCache
+ * @since 1.0
+ * @version 1.0
+ */
+public class Rasterizer {
+	private BufferedImage frame;
+	private int[] pixels;
+	private int width;
+	private int height;
+
+	/**
+	 * The graphics variable that text is drawn into the frame with (null
+	 * until text is first drawn).
+	 */
+	private Graphics2D graphics;
+
+	/**
+	 * The pixels of each image drawn so far, indexed by the image. Images
+	 * are only compared by identity, and the pixels of images that are no
+	 * longer used (such as those of an old map) are dropped.
+	 */
+	private WeakHashMap<BufferedImage, int[]> imagePixels;
+
+	/**
+	 * Constructs a new Rasterizer object.
+	 *
+	 * @param width
+	 *            the width of the frame in pixels.
+	 * @param height
+	 *            the height of the frame in pixels.
+	 */
+	public Rasterizer(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		this.pixels = ((DataBufferInt) this.frame.getRaster().getDataBuffer()).getData();
+		this.imagePixels = new WeakHashMap<BufferedImage, int[]>();
+	}
+
+	/**
+	 * Fills the whole frame with an opaque colour.
+	 *
+	 * @param rgb
+	 *            the colour in 0xRRGGBB form.
+	 */
+	public void clear(int rgb) {
+		Arrays.fill(this.pixels, 0xFF000000 | rgb);
+	}
+
+	/**
+	 * Draws an image with its top left corner at a point, blending its
+	 * translucent pixels over the frame.
+	 *
+	 * @param image
+	 *            the image to draw.
+	 * @param x
+	 *            the x coordinate of the image's top left corner in the frame.
+	 * @param y
+	 *            the y coordinate of the image's top left corner in the frame.
+	 */
+	public void drawImage(BufferedImage image, int x, int y) {
+		drawImage(image, x, y, 255);
+	}
+
+	/**
+	 * Draws a partly transparent image with its top left corner at a point.
+	 *
+	 * @param image
+	 *            the image to draw.
+	 * @param x
+	 *            the x coordinate of the image's top left corner in the frame.
+	 * @param y
+	 *            the y coordinate of the image's top left corner in the frame.
+	 * @param opacity
+	 *            how opaque to draw the image (from 0 to 255).
+	 */
+	public void drawImage(BufferedImage image, int x, int y, int opacity) {
+		if (opacity <= 0) {
+			return;
+		}
+		int imageWidth = image.getWidth();
+		int imageHeight = image.getHeight();
+
+		// Clip the image to the frame
+		int left = Math.max(x, 0);
+		int top = Math.max(y, 0);
+		int right = Math.min(x + imageWidth, this.width);
+		int bottom = Math.min(y + imageHeight, this.height);
+		if (left >= right || top >= bottom) {
+			return;
+		}
+
+		int[] source = pixelsOf(image);
+		for (int row = top; row < bottom; row++) {
+			int from = (row - y) * imageWidth + (left - x);
+			int to = row * this.width + left;
+			int end = row * this.width + right;
+			while (to < end) {
+				int colour = source[from++];
+				int alpha = colour >>> 24;
+				if (opacity < 255) {
+					alpha = (alpha * opacity + 127) / 255;
+				}
+				if (alpha == 255) {
+					this.pixels[to] = colour;
+				} else if (alpha != 0) {
+					this.pixels[to] = blend(this.pixels[to], colour, alpha);
+				}
+				to++;
+			}
+		}
+	}
+
+	/**
+	 * Fills a rectangle with a colour.
+	 *
+	 * @param x
+	 *            the x coordinate of the rectangle's top left corner.
+	 * @param y
+	 *            the y coordinate of the rectangle's top left corner.
+	 * @param rectWidth
+	 *            the width of the rectangle in pixels.
+	 * @param rectHeight
+	 *            the height of the rectangle in pixels.
+	 * @param argb
+	 *            the colour in 0xAARRGGBB form.
+	 */
+	public void fillRect(int x, int y, int rectWidth, int rectHeight, int argb) {
+		int left = Math.max(x, 0);
+		int top = Math.max(y, 0);
+		int right = Math.min(x + rectWidth, this.width);
+		int bottom = Math.min(y + rectHeight, this.height);
+		int alpha = argb >>> 24;
+		for (int row = top; row < bottom; row++) {
+			for (int to = row * this.width + left; to < row * this.width + right; to++) {
+				this.pixels[to] = alpha == 255 ? argb : blend(this.pixels[to], argb, alpha);
+			}
+		}
+	}
+
+	/**
+	 * Draws the outline of a rectangle, covering the same pixels as
+	 * {@link java.awt.Graphics#drawRect(int, int, int, int)}.
+	 *
+	 * @param x
+	 *            the x coordinate of the rectangle's top left corner.
+	 * @param y
+	 *            the y coordinate of the rectangle's top left corner.
+	 * @param rectWidth
+	 *            the width of the rectangle in pixels.
+	 * @param rectHeight
+	 *            the height of the rectangle in pixels.
+	 * @param argb
+	 *            the colour in 0xAARRGGBB form.
+	 */
+	public void drawRect(int x, int y, int rectWidth, int rectHeight, int argb) {
+		fillRect(x, y, rectWidth + 1, 1, argb);
+		fillRect(x, y + rectHeight, rectWidth + 1, 1, argb);
+		fillRect(x, y + 1, 1, rectHeight - 1, argb);
+		fillRect(x + rectWidth, y + 1, 1, rectHeight - 1, argb);
+	}
+
+	/**
+	 * Draws the outline of a circle one pixel wide.
+	 *
+	 * @param centreX
+	 *            the x coordinate of the circle's centre.
+	 * @param centreY
+	 *            the y coordinate of the circle's centre.
+	 * @param radius
+	 *            the radius of the circle in pixels.
+	 * @param argb
+	 *            the colour in 0xAARRGGBB form.
+	 */
+	public void drawCircle(int centreX, int centreY, int radius, int argb) {
+		// Walk one eighth of the circle and mirror each point into the others
+		int x = radius;
+		int y = 0;
+		int error = 1 - radius;
+		while (x >= y) {
+			plot(centreX + x, centreY + y, argb);
+			plot(centreX + y, centreY + x, argb);
+			plot(centreX - y, centreY + x, argb);
+			plot(centreX - x, centreY + y, argb);
+			plot(centreX - x, centreY - y, argb);
+			plot(centreX - y, centreY - x, argb);
+			plot(centreX + y, centreY - x, argb);
+			plot(centreX + x, centreY - y, argb);
+			y++;
+			if (error < 0) {
+				error += 2 * y + 1;
+			} else {
+				x--;
+				error += 2 * (y - x) + 1;
+			}
+		}
+	}
+
+	/**
+	 * Colours one pixel if it is in the frame.
+	 */
+	private void plot(int x, int y, int argb) {
+		if (x >= 0 && x < this.width && y >= 0 && y < this.height) {
+			this.pixels[y * this.width + x] = argb;
+		}
+	}
+
+	/**
+	 * Blends a colour over an opaque pixel.
+	 *
+	 * @param under
+	 *            the pixel in the frame.
+	 * @param over
+	 *            the colour drawn over it.
+	 * @param alpha
+	 *            the alpha of the colour drawn over it (from 0 to 255).
+	 * @return the blended opaque pixel.
+	 */
+	private static int blend(int under, int over, int alpha) {
+		int inverse = 255 - alpha;
+		int red = (((over >> 16) & 0xFF) * alpha + ((under >> 16) & 0xFF) * inverse + 127) / 255;
+		int green = (((over >> 8) & 0xFF) * alpha + ((under >> 8) & 0xFF) * inverse + 127) / 255;
+		int blue = ((over & 0xFF) * alpha + (under & 0xFF) * inverse + 127) / 255;
+		return 0xFF000000 | (red << 16) | (green << 8) | blue;
+	}
+
+	/**
+	 * Gets the pixels of an image as INT_ARGB, one row after another.
+	 *
+	 * @param image
+	 *            the image.
+	 * @return the pixels.
+	 */
+	private int[] pixelsOf(BufferedImage image) {
+		int[] pixels = this.imagePixels.get(image);
+		if (pixels == null) {
+			Raster raster = image.getRaster();
+			if (image.getType() == BufferedImage.TYPE_INT_ARGB && raster.getSampleModelTranslateX() == 0
+					&& raster.getSampleModelTranslateY() == 0
+					&& raster.getDataBuffer().getSize() == image.getWidth() * image.getHeight()) {
+				// Read the image's own pixels, so changes to it are seen
+				pixels = ((DataBufferInt) raster.getDataBuffer()).getData();
+			} else {
+				pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+			}
+			this.imagePixels.put(image, pixels);
+		}
+		return pixels;
+	}
+
+	/**
+	 * Gets the graphics variable to draw text into the frame with, using the
+	 * same hints as the Java2D renderer.
+	 *
+	 * @return the graphics variable. It must not be disposed.
+	 */
+	public Graphics2D getGraphics() {
+		if (this.graphics == null) {
+			this.graphics = this.frame.createGraphics();
+			this.graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		}
+		return this.graphics;
+	}
+
+	/**
+	 * Gets the frame to show once drawing is done.
+	 *
+	 * @return the frame.
+	 */
+	public BufferedImage getImage() {
+		return this.frame;
+	}
+}
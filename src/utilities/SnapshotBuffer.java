@@ -0,0 +1,95 @@
+package utilities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer for handing snapshots from one thread to another.<br>
+ * The writing thread fills the slot returned by {@link #getWriteSlot()} and
+ * then publishes it. The reading thread calls {@link #acquire()} to get the
+ * newest published slot. Neither thread waits for the other: the writer
+ * always has a slot of its own to fill, and the reader keeps the slot it
+ * acquired until it asks for a newer one. Snapshots that are published
+ * faster than they are read are skipped.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @param <T>
+ *            the type of snapshot held.
+ * @since 1.0
+ * @version 1.0
+ */
+public class SnapshotBuffer<T> {
+	/**
+	 * The bit of the middle slot that shows it holds a snapshot the reader
+	 * has not taken yet.
+	 */
+	private static final int FRESH = 4;
+	private static final int INDEX = 3;
+
+	private Object[] slots;
+
+	/**
+	 * The slot only the writer uses.
+	 */
+	private int writeIndex;
+
+	/**
+	 * The slot only the reader uses.
+	 */
+	private int readIndex;
+
+	/**
+	 * The slot passed between the two threads, with the fresh bit.
+	 */
+	private AtomicInteger middle;
+
+	/**
+	 * Constructs a new SnapshotBuffer object. The reader starts with the
+	 * first slot.
+	 *
+	 * @param first
+	 *            the first slot.
+	 * @param second
+	 *            the second slot.
+	 * @param third
+	 *            the third slot.
+	 */
+	public SnapshotBuffer(T first, T second, T third) {
+		this.slots = new Object[] { first, second, third };
+		this.readIndex = 0;
+		this.middle = new AtomicInteger(1);
+		this.writeIndex = 2;
+	}
+
+	/**
+	 * Gets the slot for the writer to fill. Only the writing thread may call
+	 * this.
+	 *
+	 * @return the slot to fill.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getWriteSlot() {
+		return (T) this.slots[this.writeIndex];
+	}
+
+	/**
+	 * Publishes the slot the writer filled and gives the writer a new slot to
+	 * fill. Only the writing thread may call this.
+	 */
+	public void publish() {
+		this.writeIndex = this.middle.getAndSet(this.writeIndex | FRESH) & INDEX;
+	}
+
+	/**
+	 * Gets the newest published slot, or the slot the reader already has if
+	 * nothing was published since. Only the reading thread may call this.
+	 *
+	 * @return the slot to read.
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+		if ((this.middle.get() & FRESH) != 0) {
+			this.readIndex = this.middle.getAndSet(this.readIndex) & INDEX;
+		}
+		return (T) this.slots[this.readIndex];
+	}
+}
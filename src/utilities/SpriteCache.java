@@ -0,0 +1,160 @@
+package utilities;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+
+/**
+ * Cache of sprites pre-rendered at {@link #NO_OF_ANGLES} rotations.<br>
+ * Drawing a rotated image through a rotated graphics transform is slow, so
+ * the first time a sprite is drawn at an angle, a copy of it rotated to the
+ * nearest of the cached angles is rendered once and kept. Later draws copy
+ * that frame with a plain image draw. A sprite is an image together with the
+ * point it rotates around, so the same image held in the player's hand and
+ * lying on the ground are cached separately.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @since 1.0
+ * @version 1.0
+ */
+public class SpriteCache {
+	/**
+	 * The number of rotations that each sprite is rendered at (about 5.6
+	 * degrees apart). Must be a power of two.
+	 */
+	public static final int NO_OF_ANGLES = 64;
+
+	private IdentityHashMap<BufferedImage, Sprite> sprites;
+
+	/**
+	 * Constructs a new empty SpriteCache object.
+	 */
+	public SpriteCache() {
+		this.sprites = new IdentityHashMap<BufferedImage, Sprite>();
+	}
+
+	/**
+	 * Draws an image rotated around a point, as if the graphics were rotated
+	 * by the given angle around the point before drawing the image.
+	 *
+	 * @param g2D
+	 *            the graphics variable to draw the image.
+	 * @param image
+	 *            the image to draw.
+	 * @param offsetX
+	 *            the x coordinate of the image's top left corner relative to
+	 *            the point it rotates around, before rotating.
+	 * @param offsetY
+	 *            the y coordinate of the image's top left corner relative to
+	 *            the point it rotates around, before rotating.
+	 * @param rotation
+	 *            the rotation in radians.
+	 * @param pivotX
+	 *            the x coordinate of the point to rotate around.
+	 * @param pivotY
+	 *            the y coordinate of the point to rotate around.
+	 */
+	public void draw(Graphics2D g2D, BufferedImage image, int offsetX, int offsetY, double rotation, int pivotX,
+			int pivotY) {
+		Sprite sprite = get(image, offsetX, offsetY);
+		BufferedImage frame = sprite.getFrame(frameOf(rotation));
+		g2D.drawImage(frame, pivotX - sprite.radius, pivotY - sprite.radius, null);
+	}
+
+	/**
+	 * Gets the frame that an image rotated around a point is drawn with. The
+	 * point is in the centre of the frame.
+	 *
+	 * @param image
+	 *            the image.
+	 * @param offsetX
+	 *            the x coordinate of the image's top left corner relative to
+	 *            the point it rotates around, before rotating.
+	 * @param offsetY
+	 *            the y coordinate of the image's top left corner relative to
+	 *            the point it rotates around, before rotating.
+	 * @param rotation
+	 *            the rotation in radians.
+	 * @return the frame.
+	 */
+	public BufferedImage getFrame(BufferedImage image, int offsetX, int offsetY, double rotation) {
+		return get(image, offsetX, offsetY).getFrame(frameOf(rotation));
+	}
+
+	/**
+	 * Gets the frame that a rotation is drawn with.
+	 *
+	 * @param rotation
+	 *            the rotation in radians.
+	 * @return the frame number (from 0 to NO_OF_ANGLES - 1).
+	 */
+	public static int frameOf(double rotation) {
+		return (int) Math.round(rotation * (NO_OF_ANGLES / (2 * Math.PI))) & (NO_OF_ANGLES - 1);
+	}
+
+	/**
+	 * Gets the sprite of an image rotating around a point, creating it if it
+	 * is not cached yet.
+	 */
+	private Sprite get(BufferedImage image, int offsetX, int offsetY) {
+		Sprite first = this.sprites.get(image);
+		for (Sprite sprite = first; sprite != null; sprite = sprite.next) {
+			if (sprite.offsetX == offsetX && sprite.offsetY == offsetY) {
+				return sprite;
+			}
+		}
+		Sprite sprite = new Sprite(image, offsetX, offsetY, first);
+		this.sprites.put(image, sprite);
+		return sprite;
+	}
+
+	/**
+	 * An image rotating around a point, and its frames rendered so far.
+	 */
+	private static class Sprite {
+		private BufferedImage image;
+		private int offsetX;
+		private int offsetY;
+
+		/**
+		 * Half of the width and height of the frames. The point the image
+		 * rotates around is in the centre of each frame.
+		 */
+		private int radius;
+		private BufferedImage[] frames;
+
+		/**
+		 * The sprite of the same image rotating around another point.
+		 */
+		private Sprite next;
+
+		Sprite(BufferedImage image, int offsetX, int offsetY, Sprite next) {
+			this.image = image;
+			this.offsetX = offsetX;
+			this.offsetY = offsetY;
+			this.next = next;
+			this.frames = new BufferedImage[NO_OF_ANGLES];
+
+			// Make the frames big enough to hold the corner of the image
+			// furthest from the point at any rotation
+			int farthestX = Math.max(Math.abs(offsetX), Math.abs(offsetX + image.getWidth()));
+			int farthestY = Math.max(Math.abs(offsetY), Math.abs(offsetY + image.getHeight()));
+			this.radius = (int) Math.ceil(Math.sqrt(farthestX * farthestX + farthestY * farthestY));
+		}
+
+		/**
+		 * Gets a frame, rendering it the first time it is needed.
+		 */
+		BufferedImage getFrame(int frame) {
+			if (this.frames[frame] == null) {
+				BufferedImage rotated = ImageLoader.createCompatibleImage(this.radius * 2, this.radius * 2);
+				Graphics2D g2D = rotated.createGraphics();
+				g2D.rotate(frame * (2 * Math.PI / NO_OF_ANGLES), this.radius, this.radius);
+				g2D.drawImage(this.image, this.radius + this.offsetX, this.radius + this.offsetY, null);
+				g2D.dispose();
+				this.frames[frame] = rotated;
+			}
+			return this.frames[frame];
+		}
+	}
+}
@@ -27,7 +27,8 @@ public class SpriteSheet {
 	}
 
 	/**
-	 * Crops the correct sprite from the image.
+	 * Crops the correct sprite from the image. The sprite is copied into an
+	 * image of its own, so that it does not keep the whole sheet in memory.
 	 * 
 	 * @param x
 	 *            the x position of the sprite.
@@ -40,7 +41,7 @@ public class SpriteSheet {
 	 * @return
 	 */
 	public BufferedImage crop(int x, int y, int width, int height) {
-		return sheet.getSubimage(x, y, width, height);
+		return ImageLoader.toCompatibleImage(sheet.getSubimage(x, y, width, height));
 	}
 
 	/**
@@ -0,0 +1,250 @@
+package utilities;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * Packs the game's sprites into one image.<br>
+ * Groups of sprites (such as the tiles or the skins of the player) are added
+ * by name, then {@link #pack()} copies all of them into a single image in the
+ * format of the screen. Every sprite in the added arrays is replaced by a
+ * view of its region in the atlas, so the rest of the game keeps drawing the
+ * same arrays while all of the sprites share one accelerated image. The
+ * region of a sprite can be looked up by its group, row and column, or by the
+ * sprite itself.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @since 1.0
+ * @version 1.0
+ */
+public class TextureAtlas {
+	/**
+	 * The widest that the atlas can be in pixels.
+	 */
+	public static final int MAX_WIDTH = 4096;
+
+	private BufferedImage image;
+	private HashMap<String, BufferedImage[][]> groups;
+	private HashMap<String, Region[][]> regions;
+	private IdentityHashMap<BufferedImage, Region> regionOf;
+
+	/**
+	 * The area of the atlas covered by sprites in pixels.
+	 */
+	private long usedArea;
+	private int noOfRegions;
+
+	/**
+	 * Constructs a new empty TextureAtlas object.
+	 */
+	public TextureAtlas() {
+		this.groups = new HashMap<String, BufferedImage[][]>();
+		this.regions = new HashMap<String, Region[][]>();
+		this.regionOf = new IdentityHashMap<BufferedImage, Region>();
+	}
+
+	/**
+	 * Adds a group of sprites to be packed. The sprites in the array are
+	 * replaced when the atlas is packed.
+	 *
+	 * @param name
+	 *            the name of the group.
+	 * @param sprites
+	 *            the sprites, indexed by row and column.
+	 */
+	public void add(String name, BufferedImage[][] sprites) {
+		this.groups.put(name, sprites);
+	}
+
+	/**
+	 * Adds a row of sprites to be packed. The sprites in the array are
+	 * replaced when the atlas is packed.
+	 *
+	 * @param name
+	 *            the name of the group.
+	 * @param sprites
+	 *            the sprites.
+	 */
+	public void add(String name, BufferedImage[] sprites) {
+		add(name, new BufferedImage[][] { sprites });
+	}
+
+	/**
+	 * Packs every sprite added into the atlas image and replaces each sprite
+	 * with a view of its region. Sprites are placed in rows (shelves), tallest
+	 * first, so sprites of the same size sit next to each other.
+	 */
+	public void pack() {
+		// Gather every sprite and the total area they need
+		ArrayList<Region> pending = new ArrayList<Region>();
+		long area = 0;
+		int widest = 0;
+		for (String name : this.groups.keySet()) {
+			BufferedImage[][] sprites = this.groups.get(name);
+			Region[][] regions = new Region[sprites.length][];
+			for (int row = 0; row < sprites.length; row++) {
+				regions[row] = new Region[sprites[row].length];
+				for (int col = 0; col < sprites[row].length; col++) {
+					BufferedImage sprite = sprites[row][col];
+					if (sprite != null) {
+						Region region = new Region(sprite, sprites[row], col);
+						regions[row][col] = region;
+						pending.add(region);
+						area += (long) region.width * region.height;
+						widest = Math.max(widest, region.width);
+					}
+				}
+			}
+			this.regions.put(name, regions);
+		}
+
+		// Aim for a square atlas, but make it wide enough for every sprite
+		int width = 1;
+		while (width < widest || (long) width * width < area) {
+			width *= 2;
+		}
+		width = Math.min(Math.max(width, widest), Math.max(MAX_WIDTH, widest));
+
+		Collections.sort(pending, new Comparator<Region>() {
+			@Override
+			public int compare(Region first, Region second) {
+				if (first.height != second.height) {
+					return second.height - first.height;
+				}
+				return second.width - first.width;
+			}
+		});
+
+		// Place the sprites left to right, starting a new shelf when a row is
+		// full
+		int shelfX = 0;
+		int shelfY = 0;
+		int shelfHeight = 0;
+		for (Region region : pending) {
+			if (shelfX + region.width > width) {
+				shelfX = 0;
+				shelfY += shelfHeight;
+				shelfHeight = 0;
+			}
+			region.x = shelfX;
+			region.y = shelfY;
+			shelfX += region.width;
+			shelfHeight = Math.max(shelfHeight, region.height);
+		}
+		int height = Math.max(shelfY + shelfHeight, 1);
+
+		// Copy the sprites in and hand out views of the atlas in their place
+		this.image = ImageLoader.createCompatibleImage(width, height);
+		Graphics2D g2D = this.image.createGraphics();
+		g2D.setComposite(AlphaComposite.Src);
+		for (Region region : pending) {
+			g2D.drawImage(region.image, region.x, region.y, null);
+			region.image = this.image.getSubimage(region.x, region.y, region.width, region.height);
+			region.owner[region.index] = region.image;
+			this.regionOf.put(region.image, region);
+		}
+		g2D.dispose();
+
+		this.usedArea = area;
+		this.noOfRegions = pending.size();
+		this.groups.clear();
+	}
+
+	/**
+	 * Gets the region of a sprite by its group and position in the group.
+	 *
+	 * @param name
+	 *            the name of the group.
+	 * @param row
+	 *            the row of the sprite.
+	 * @param col
+	 *            the column of the sprite.
+	 * @return the region. Returns null if there is no such sprite.
+	 */
+	public Region getRegion(String name, int row, int col) {
+		Region[][] regions = this.regions.get(name);
+		if (regions == null || row < 0 || row >= regions.length || col < 0 || col >= regions[row].length) {
+			return null;
+		}
+		return regions[row][col];
+	}
+
+	/**
+	 * Gets the region of a sprite from the atlas.
+	 *
+	 * @param sprite
+	 *            the sprite, as replaced by {@link #pack()}.
+	 * @return the region. Returns null if the sprite is not in the atlas.
+	 */
+	public Region getRegion(BufferedImage sprite) {
+		return this.regionOf.get(sprite);
+	}
+
+	/**
+	 * Gets a summary of how full the atlas is.
+	 *
+	 * @return the size of the atlas, the number of sprites and the share of
+	 *         its area covered by sprites.
+	 */
+	public String getReport() {
+		long totalArea = (long) this.image.getWidth() * this.image.getHeight();
+		return String.format("Texture atlas: %dx%d, %d sprites, %.1f%% occupied", this.image.getWidth(),
+				this.image.getHeight(), this.noOfRegions, this.usedArea * 100.0 / totalArea);
+	}
+
+	public BufferedImage getImage() {
+		return this.image;
+	}
+
+	/**
+	 * The rectangle of the atlas that holds one sprite.
+	 */
+	public static class Region {
+		private int x;
+		private int y;
+		private int width;
+		private int height;
+		private BufferedImage image;
+
+		/**
+		 * The array the sprite came from and its index, so it can be
+		 * replaced once packed.
+		 */
+		private BufferedImage[] owner;
+		private int index;
+
+		Region(BufferedImage image, BufferedImage[] owner, int index) {
+			this.image = image;
+			this.width = image.getWidth();
+			this.height = image.getHeight();
+			this.owner = owner;
+			this.index = index;
+		}
+
+		public int getX() {
+			return this.x;
+		}
+
+		public int getY() {
+			return this.y;
+		}
+
+		public int getWidth() {
+			return this.width;
+		}
+
+		public int getHeight() {
+			return this.height;
+		}
+
+		public BufferedImage getImage() {
+			return this.image;
+		}
+	}
+}
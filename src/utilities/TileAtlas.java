@@ -0,0 +1,83 @@
+package utilities;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Holds every tile image in all four orientations.<br>
+ * A tile in a map is a short whose lowest 12 bits are the tile's ID and whose
+ * bits 12 and 13 give its rotation (bit 12 for 90 degrees, bit 13 for -90
+ * degrees and both for 180 degrees). The atlas rotates each tile image once
+ * when it is built, so maps can be drawn with plain image copies instead of
+ * rotating the graphics for every tile.
+ *
+ * @author Allen Han, Alosha Reymer, Eric Chee, Patrick Liu
+ * @since 1.0
+ * @version 1.0
+ */
+public class TileAtlas {
+	/**
+	 * The bits of a tile that hold its ID and rotation.
+	 */
+	private static final int MASK = 0x3FFF;
+
+	/**
+	 * The image of each tile ID and rotation, indexed by the tile's ID and
+	 * rotation bits.
+	 */
+	private BufferedImage[] images;
+
+	/**
+	 * Constructs a new TileAtlas object.
+	 *
+	 * @param tileImages
+	 *            the tile images, where the tile with ID (row + 1) * 100 +
+	 *            column is found at [row][column].
+	 */
+	public TileAtlas(BufferedImage[][] tileImages) {
+		this.images = new BufferedImage[MASK + 1];
+		for (int row = 0; row < tileImages.length; row++) {
+			for (int col = 0; col < tileImages[row].length; col++) {
+				int id = (row + 1) * 100 + col;
+				if (id > 0xFFF) {
+					continue;
+				}
+				this.images[id] = rotate(tileImages[row][col], 0);
+				this.images[id | (1 << 12)] = rotate(tileImages[row][col], Math.PI / 2);
+				this.images[id | (1 << 13)] = rotate(tileImages[row][col], -Math.PI / 2);
+				this.images[id | (1 << 12) | (1 << 13)] = rotate(tileImages[row][col], Math.PI);
+			}
+		}
+	}
+
+	/**
+	 * Gets the image of a tile, already rotated.
+	 *
+	 * @param tile
+	 *            the tile from a map's tiles.
+	 * @return the image of the tile. Returns null if there is no tile with
+	 *         its ID.
+	 */
+	public BufferedImage get(short tile) {
+		return this.images[tile & MASK];
+	}
+
+	/**
+	 * Copies a tile image into a new image made for the screen, rotated around
+	 * its centre.
+	 *
+	 * @param image
+	 *            the tile image.
+	 * @param rotation
+	 *            the rotation in radians.
+	 * @return the rotated copy.
+	 */
+	private static BufferedImage rotate(BufferedImage image, double rotation) {
+		BufferedImage rotated = ImageLoader.createCompatibleImage(image.getWidth(), image.getHeight());
+		Graphics2D g2D = rotated.createGraphics();
+		g2D.rotate(rotation, image.getWidth() / 2, image.getHeight() / 2);
+		g2D.drawImage(image, 0, 0, null);
+		g2D.dispose();
+		return rotated;
+	}
+}